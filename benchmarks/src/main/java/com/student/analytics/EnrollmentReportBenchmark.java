@@ -0,0 +1,96 @@
+package com.student.analytics;
+
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enrollment group-bys over a List<Student> (what a report had to do after
+ * loading every row) against the same reports from StudentColumnStore.
+ * Setup prints the heap each representation holds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class EnrollmentReportBenchmark {
+
+    @Param({"1000000"})
+    public int students;
+
+    private List<Student> rows;
+    private StudentColumnStore store;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        rows = new SyntheticData(42).students(students);
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).setId(i + 1);
+        }
+        long listBytes = usedHeap() - before;
+
+        store = new StudentColumnStore();
+        store.rebuild(rows::forEach);
+        System.out.printf("%n%d students: List<Student> ~%d MB, column store %d MB%n",
+                students, listBytes >> 20, store.getFootprintBytes() >> 20);
+    }
+
+    @Benchmark
+    public SortedMap<String, Integer> listCountByMajor() {
+        SortedMap<String, Integer> counts = new TreeMap<>();
+        for (Student student : rows) {
+            counts.merge(student.getMajor(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public SortedMap<String, Integer> storeCountByMajor() {
+        return store.countByMajor(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public SortedMap<YearMonth, Integer> listCountByMonth() {
+        SortedMap<YearMonth, Integer> counts = new TreeMap<>();
+        for (Student student : rows) {
+            counts.merge(YearMonth.from(student.getCreatedAt().toLocalDateTime()), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public SortedMap<YearMonth, Integer> storeCountByMonth() {
+        return store.countByMonth(null);
+    }
+
+    @Benchmark
+    public int[] storeHistogram() {
+        return store.histogram("Data Science", Long.MIN_VALUE, Long.MAX_VALUE, 52).getCounts();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
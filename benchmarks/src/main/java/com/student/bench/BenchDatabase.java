@@ -0,0 +1,83 @@
+package com.student.bench;
+
+import com.student.dao.ConnectionPool;
+import com.student.dao.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+
+/**
+ * Named in-memory H2 database in MySQL mode, shared by everything in the JVM
+ * (benchmarks and the embedded web app) through the same JDBC URL.
+ */
+public final class BenchDatabase {
+
+    private BenchDatabase() {
+    }
+
+    // IGNORECASE matches the case-insensitive LIKE of the MySQL _ci collations
+    public static String url(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    /**
+     * Point ConnectionPool at the database via db.* system properties, so a
+     * web app started later in this JVM uses it too.
+     */
+    public static void useForApp(String name, int poolSize) {
+        System.setProperty("db.url", url(name));
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.pool.maxSize", String.valueOf(poolSize));
+        System.setProperty("db.pool.minIdle", String.valueOf(Math.min(2, poolSize)));
+        System.setProperty("db.pool.leakDetectionThresholdMs", "0");
+    }
+
+    /**
+     * Route the app's read-only queries to these databases as replicas of
+     * the one given to useForApp. Nothing copies writes to them, so they
+     * behave like replicas with unbounded lag.
+     */
+    public static void useReplicasForApp(String... names) {
+        StringBuilder urls = new StringBuilder();
+        for (String name : names) {
+            if (urls.length() > 0) {
+                urls.append(',');
+            }
+            urls.append(url(name));
+        }
+        System.setProperty("db.replica.urls", urls.toString());
+    }
+
+    // Start this JVM's ConnectionPool against the database
+    public static void startPool(String name, int poolSize) {
+        useForApp(name, poolSize);
+        Properties props = new Properties();
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+        ConnectionPool.start(props);
+    }
+
+    public static Connection open(String name) throws SQLException {
+        return DriverManager.getConnection(url(name), "sa", "");
+    }
+
+    // Create the students and users tables and their indexes (idempotent)
+    public static void createSchema(Connection conn) throws SQLException {
+        SchemaMigrator.migrate(conn);
+    }
+
+    public static void truncate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM students");
+            stmt.execute("DELETE FROM users");
+        }
+    }
+}
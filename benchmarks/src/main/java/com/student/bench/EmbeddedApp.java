@@ -0,0 +1,199 @@
+package com.student.bench;
+
+import com.student.security.SessionTokenCodec;
+import com.student.security.UserPrincipal;
+import org.eclipse.jetty.ee10.webapp.WebAppContext;
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.VirtualThreads;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * The built WAR (../target/student-management-mvc.war, or -Dapp.war) running
+ * in embedded Jetty 12 with its real web.xml, listeners, filters and JSPs.
+ *
+ * Extra context-params and servlets are applied through an override
+ * descriptor. The app runs in signed-token session mode with a known
+ * secret, so callers can mint login cookies without going through BCrypt.
+ */
+public final class EmbeddedApp implements AutoCloseable {
+
+    public static final String TOKEN_SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private final Server server;
+    private final LocalConnector local;
+    private final ServerConnector http;
+    private final SessionTokenCodec codec = new SessionTokenCodec(SessionTokenCodec.secretBytes(TOKEN_SECRET));
+
+    private EmbeddedApp(Server server, LocalConnector local, ServerConnector http) {
+        this.server = server;
+        this.local = local;
+        this.http = http;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // In-memory connector: raw HTTP in, raw HTTP out, no sockets
+    public LocalConnector getLocalConnector() {
+        return local;
+    }
+
+    // Port of the HTTP connector, or -1 when started without one
+    public int getPort() {
+        return http != null ? http.getLocalPort() : -1;
+    }
+
+    // Cookie header value that logs the given user in for the next hour
+    public String loginCookie(int id, String username, String role, String fullName) {
+        long now = System.currentTimeMillis() / 1000;
+        return "SM_AUTH=" + codec.encode(new UserPrincipal(id, username, role, fullName), now, now + 3600);
+    }
+
+    // No checked exception, so try-with-resources callers need not handle InterruptedException
+    @Override
+    public void close() {
+        try {
+            server.stop();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not stop the embedded server", e);
+        }
+    }
+
+    static Path defaultWar() {
+        String configured = System.getProperty("app.war");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        Path war = Paths.get("..", "target", "student-management-mvc.war");
+        if (!Files.exists(war)) {
+            war = Paths.get("target", "student-management-mvc.war");
+        }
+        return war.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Startup options.
+     */
+    public static final class Builder {
+        private Path war = defaultWar();
+        private int httpPort = -1;
+        private int maxThreads = 200;
+        private boolean virtualThreads;
+        private final Map<String, String> contextParams = new LinkedHashMap<>();
+        private final Map<String, Class<?>> servlets = new LinkedHashMap<>();
+
+        private Builder() {
+            contextParams.put("session.mode", "token");
+        }
+
+        public Builder war(Path war) {
+            this.war = war;
+            return this;
+        }
+
+        // Also listen on a real socket (0 picks a free port)
+        public Builder httpPort(int port) {
+            this.httpPort = port;
+            return this;
+        }
+
+        public Builder maxThreads(int maxThreads) {
+            this.maxThreads = maxThreads;
+            return this;
+        }
+
+        // Run requests on virtual threads (JDK 21+), as the virtual-threads profile does
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        public Builder contextParam(String name, String value) {
+            contextParams.put(name, value);
+            return this;
+        }
+
+        // Register an extra servlet (loaded from this module's classpath)
+        public Builder servlet(String urlPattern, Class<?> servletClass) {
+            servlets.put(urlPattern, servletClass);
+            return this;
+        }
+
+        public EmbeddedApp start() throws Exception {
+            if (!Files.exists(war)) {
+                throw new IllegalStateException("WAR not found: " + war + " (run mvn package in the project root)");
+            }
+            System.setProperty("session.token.secret", TOKEN_SECRET);
+
+            QueuedThreadPool threads = new QueuedThreadPool(maxThreads);
+            threads.setName("app");
+            if (virtualThreads) {
+                Executor executor = VirtualThreads.getDefaultVirtualThreadsExecutor();
+                if (executor == null) {
+                    throw new IllegalStateException("Virtual threads need JDK 21+, running on "
+                            + System.getProperty("java.version"));
+                }
+                threads.setVirtualThreadsExecutor(executor);
+            }
+            Server server = new Server(threads);
+            LocalConnector local = new LocalConnector(server);
+            server.addConnector(local);
+            ServerConnector http = null;
+            if (httpPort >= 0) {
+                http = new ServerConnector(server);
+                http.setPort(httpPort);
+                server.addConnector(http);
+            }
+
+            WebAppContext webapp = new WebAppContext();
+            webapp.setContextPath("/");
+            webapp.setWar(war.toString());
+            webapp.addOverrideDescriptor(writeOverrideDescriptor().toString());
+            // Let Jasper and the annotation scanner see the container jars (JSP initializer)
+            webapp.setAttribute("org.eclipse.jetty.server.webapp.ContainerIncludeJarPattern", ".*\\.jar$");
+            server.setHandler(webapp);
+            server.start();
+            if (!webapp.isAvailable()) {
+                server.stop();
+                throw new IllegalStateException("Web app failed to start", webapp.getUnavailableException());
+            }
+            return new EmbeddedApp(server, local, http);
+        }
+
+        private Path writeOverrideDescriptor() throws IOException {
+            StringBuilder xml = new StringBuilder();
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+               .append("<web-app xmlns=\"https://jakarta.ee/xml/ns/jakartaee\" version=\"6.0\">\n");
+            for (Map.Entry<String, String> param : contextParams.entrySet()) {
+                xml.append("  <context-param><param-name>").append(param.getKey())
+                   .append("</param-name><param-value>").append(param.getValue())
+                   .append("</param-value></context-param>\n");
+            }
+            int i = 0;
+            for (Map.Entry<String, Class<?>> servlet : servlets.entrySet()) {
+                String name = "bench-servlet-" + i++;
+                xml.append("  <servlet><servlet-name>").append(name).append("</servlet-name><servlet-class>")
+                   .append(servlet.getValue().getName()).append("</servlet-class></servlet>\n")
+                   .append("  <servlet-mapping><servlet-name>").append(name).append("</servlet-name><url-pattern>")
+                   .append(servlet.getKey()).append("</url-pattern></servlet-mapping>\n");
+            }
+            xml.append("</web-app>\n");
+            Path file = Files.createTempFile("override-web", ".xml");
+            file.toFile().deleteOnExit();
+            Files.write(file, xml.toString().getBytes(StandardCharsets.UTF_8));
+            return file;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.student.bench;
+
+import com.student.model.Page;
+import com.student.model.Student;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Forwards prepared rows straight to student-list.jsp, isolating render time
+ * from the DAO. GET /bench/render?rows=N (N <= 100); GET /bench/noop is the
+ * same round trip without the JSP, to subtract the HTTP and filter cost.
+ */
+public class RenderListServlet extends HttpServlet {
+
+    private static final int MAX_ROWS = 100;
+
+    private List<Student> students;
+
+    @Override
+    public void init() {
+        students = new SyntheticData(42).students(MAX_ROWS);
+        for (int i = 0; i < students.size(); i++) {
+            students.get(i).setId(i + 1);
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (request.getRequestURI().endsWith("/noop")) {
+            response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+            return;
+        }
+        String rowsParam = request.getParameter("rows");
+        int rows = rowsParam == null ? 20 : Math.min(MAX_ROWS, Integer.parseInt(rowsParam));
+        List<Student> items = students.subList(0, rows);
+
+        request.setAttribute("students", items);
+        request.setAttribute("page", new Page<>(items, rows, "cHJldg", "bmV4dA"));
+        request.setAttribute("pageSize", rows);
+        request.setAttribute("listAction", "list");
+        request.setAttribute("sortBy", "id");
+        request.setAttribute("order", "desc");
+        request.getRequestDispatcher("/views/student-list.jsp").forward(request, response);
+    }
+}
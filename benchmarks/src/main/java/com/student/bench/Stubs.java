@@ -0,0 +1,251 @@
+package com.student.bench;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal in-memory servlet objects for benchmarking filters and controller
+ * helpers without a container. Unsupported methods return null/0/false.
+ */
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static ServletContext context(Map<String, Object> attributes) {
+        Map<String, Object> attrs = new HashMap<>(attributes);
+        return proxy(ServletContext.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getAttribute":
+                    return attrs.get(a[0]);
+                case "setAttribute":
+                    attrs.put((String) a[0], a[1]);
+                    return null;
+                case "getContextPath":
+                    return "";
+                default:
+                    return defaultValue(m);
+            }
+        });
+    }
+
+    public static FilterConfig filterConfig(ServletContext context) {
+        return proxy(FilterConfig.class, (p, m, a) -> "getServletContext".equals(m.getName()) ? context : defaultValue(m));
+    }
+
+    public static HttpSession session(Map<String, Object> attributes) {
+        Map<String, Object> attrs = new HashMap<>(attributes);
+        return proxy(HttpSession.class, (p, m, a) -> {
+            switch (m.getName()) {
+                case "getAttribute":
+                    return attrs.get(a[0]);
+                case "setAttribute":
+                    attrs.put((String) a[0], a[1]);
+                    return null;
+                default:
+                    return defaultValue(m);
+            }
+        });
+    }
+
+    /**
+     * Mutable request: call {@link Request#reset()} between uses to drop
+     * attributes set by the code under test.
+     */
+    public static final class Request {
+        private final Map<String, Object> attributes = new HashMap<>();
+        private final Map<String, String> parameters = new HashMap<>();
+        private final HttpServletRequest proxy;
+        private final String method;
+        private final String uri;
+        private final String query;
+        private final Cookie[] cookies;
+        private final HttpSession session;
+
+        public Request(String method, String uri, String query, Cookie[] cookies, HttpSession session) {
+            this.method = method;
+            this.uri = uri;
+            this.query = query;
+            this.cookies = cookies;
+            this.session = session;
+            if (query != null) {
+                for (String pair : query.split("&")) {
+                    int eq = pair.indexOf('=');
+                    String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                    String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                    parameters.putIfAbsent(name, value);
+                }
+            }
+            this.proxy = proxy(HttpServletRequest.class, this::invoke);
+        }
+
+        public HttpServletRequest get() {
+            return proxy;
+        }
+
+        public void setParameter(String name, String value) {
+            parameters.put(name, value);
+        }
+
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        public void reset() {
+            attributes.clear();
+        }
+
+        private Object invoke(Object p, Method m, Object[] a) {
+            switch (m.getName()) {
+                case "getMethod":
+                    return method;
+                case "getRequestURI":
+                    return uri;
+                case "getServletPath":
+                    int slash = uri.indexOf('/', 1);
+                    return slash < 0 ? uri : uri.substring(0, slash);
+                case "getPathInfo":
+                    int rest = uri.indexOf('/', 1);
+                    return rest < 0 ? null : uri.substring(rest);
+                case "getContextPath":
+                    return "";
+                case "getQueryString":
+                    return query;
+                case "getParameter":
+                    return parameters.get(a[0]);
+                case "getAttribute":
+                    return attributes.get(a[0]);
+                case "setAttribute":
+                    attributes.put((String) a[0], a[1]);
+                    return null;
+                case "removeAttribute":
+                    attributes.remove(a[0]);
+                    return null;
+                case "getCookies":
+                    return cookies;
+                case "getSession":
+                    return session;
+                case "getDispatcherType":
+                    return DispatcherType.REQUEST;
+                default:
+                    return defaultValue(m);
+            }
+        }
+    }
+
+    /**
+     * Response that discards its body and remembers status and redirect.
+     */
+    public static final class Response {
+        private final HttpServletResponse proxy;
+        private final PrintWriter writer = new PrintWriter(OutputStream.nullOutputStream());
+        private final ServletOutputStream output = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+
+            @Override
+            public void write(int b) {
+            }
+        };
+        private int status = 200;
+        private String redirect;
+
+        public Response() {
+            this.proxy = proxy(HttpServletResponse.class, this::invoke);
+        }
+
+        public HttpServletResponse get() {
+            return proxy;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getRedirect() {
+            return redirect;
+        }
+
+        public void reset() {
+            status = 200;
+            redirect = null;
+        }
+
+        private Object invoke(Object p, Method m, Object[] a) {
+            switch (m.getName()) {
+                case "setStatus":
+                    status = (Integer) a[0];
+                    return null;
+                case "getStatus":
+                    return status;
+                case "sendRedirect":
+                    status = 302;
+                    redirect = (String) a[0];
+                    return null;
+                case "sendError":
+                    status = (Integer) a[0];
+                    return null;
+                case "getWriter":
+                    return writer;
+                case "getOutputStream":
+                    return output;
+                default:
+                    return defaultValue(m);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, (p, m, a) -> {
+            if (m.getDeclaringClass() == Object.class) {
+                switch (m.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(p);
+                    case "equals":
+                        return p == a[0];
+                    default:
+                        return type.getSimpleName() + " stub";
+                }
+            }
+            return handler.invoke(p, m, a);
+        });
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
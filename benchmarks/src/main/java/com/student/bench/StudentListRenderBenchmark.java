@@ -0,0 +1,80 @@
+package com.student.bench;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * student-list.jsp render time through the real web app (filters included).
+ * Compare "render" with "noop" to get the JSP's own cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StudentListRenderBenchmark {
+
+    @Param({"20", "100"})
+    public int rows;
+
+    private EmbeddedApp app;
+    private LocalConnector connector;
+    private String renderRequest;
+    private String noopRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        BenchDatabase.useForApp("render", 4);
+        try (Connection conn = BenchDatabase.open("render")) {
+            BenchDatabase.createSchema(conn);
+        }
+        app = EmbeddedApp.builder()
+                .contextParam("search.index.enabled", "false")
+                .servlet("/bench/*", RenderListServlet.class)
+                .start();
+        connector = app.getLocalConnector();
+
+        String cookie = app.loginCookie(1, "admin", "admin", "Admin User");
+        renderRequest = request("/bench/render?rows=" + rows, cookie);
+        noopRequest = request("/bench/noop", cookie);
+        String response = connector.getResponse(renderRequest);
+        if (!response.startsWith("HTTP/1.1 200")) {
+            throw new IllegalStateException("Render request failed:\n" + response);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        app.close();
+    }
+
+    @Benchmark
+    public String render() throws Exception {
+        return connector.getResponse(renderRequest);
+    }
+
+    @Benchmark
+    public String noop() throws Exception {
+        return connector.getResponse(noopRequest);
+    }
+
+    private static String request(String path, String cookie) {
+        return "GET " + path + " HTTP/1.1\r\nHost: localhost\r\nCookie: " + cookie + "\r\n\r\n";
+    }
+}
@@ -0,0 +1,166 @@
+package com.student.bench;
+
+import com.student.model.Student;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic students and users: the same seed always yields the
+ * same rows, so runs on different machines and commits are comparable.
+ *
+ * Names mix accented Vietnamese and plain English names (exercising search
+ * folding), majors are skewed like a real faculty, and created_at is spread
+ * over the last two years.
+ */
+public final class SyntheticData {
+
+    public static final String PASSWORD = "password123";
+
+    static final String[] MAJORS = {
+        "Computer Science", "Information Technology", "Software Engineering", "Business Administration",
+        "Data Science", "Electrical Engineering", "Mathematics", "Biotechnology"
+    };
+    // Relative weights of MAJORS
+    private static final int[] MAJOR_WEIGHTS = {30, 25, 15, 10, 8, 6, 4, 2};
+
+    private static final String[] FAMILY_NAMES = {
+        "Nguyễn", "Trần", "Lê", "Phạm", "Hoàng", "Huỳnh", "Phan", "Vũ", "Võ", "Đặng",
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis"
+    };
+    private static final String[] MIDDLE_NAMES = {"Văn", "Thị", "Minh", "Thanh", "Ngọc", "Đức", "Quốc", ""};
+    private static final String[] GIVEN_NAMES = {
+        "An", "Bình", "Châu", "Dũng", "Giang", "Hà", "Hải", "Hùng", "Khoa", "Linh", "Long", "Mai",
+        "Nam", "Phúc", "Quân", "Sơn", "Tâm", "Thảo", "Trang", "Tuấn", "Vy", "Yến",
+        "John", "Jane", "Alice", "Bob", "Charlie", "Emma", "Olivia", "Liam"
+    };
+
+    private static final long TWO_YEARS_MILLIS = 2L * 365 * 24 * 3600 * 1000;
+    private static final int BATCH = 1000;
+
+    private final Random random;
+    private final long now;
+
+    public SyntheticData(long seed) {
+        this.random = new Random(seed);
+        // Fixed reference time keeps created_at identical between runs
+        this.now = Timestamp.valueOf("2025-01-01 00:00:00").getTime();
+    }
+
+    // The i-th student (1-based) of this generator's sequence
+    public Student nextStudent(int i) {
+        String family = FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)];
+        String middle = MIDDLE_NAMES[random.nextInt(MIDDLE_NAMES.length)];
+        String given = GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)];
+        String fullName = middle.isEmpty() ? family + " " + given : family + " " + middle + " " + given;
+
+        Student student = new Student();
+        student.setStudentCode(String.format("SV%07d", i));
+        student.setFullName(fullName);
+        // One in twenty students has no email (exercises NULL ordering)
+        student.setEmail(random.nextInt(20) == 0 ? null
+                : ascii(given + "." + family).toLowerCase() + i + "@example.edu");
+        student.setMajor(pickMajor());
+        student.setCreatedAt(new Timestamp(now - (long) (random.nextDouble() * TWO_YEARS_MILLIS)));
+        return student;
+    }
+
+    public List<Student> students(int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            students.add(nextStudent(i));
+        }
+        return students;
+    }
+
+    // Insert count students with JDBC batches
+    public void insertStudents(Connection conn, int count) throws SQLException {
+        String sql = "INSERT INTO students (student_code, full_name, email, major, created_at) VALUES (?, ?, ?, ?, ?)";
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= count; i++) {
+                Student s = nextStudent(i);
+                pstmt.setString(1, s.getStudentCode());
+                pstmt.setString(2, s.getFullName());
+                pstmt.setString(3, s.getEmail());
+                pstmt.setString(4, s.getMajor());
+                pstmt.setTimestamp(5, s.getCreatedAt());
+                pstmt.addBatch();
+                if (i % BATCH == 0) {
+                    pstmt.executeBatch();
+                    conn.commit();
+                }
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Insert "admin" plus user00001..userNNNNN, all with PASSWORD. The hash
+     * is computed once with the given BCrypt cost (10 in production).
+     */
+    public void insertUsers(Connection conn, int count, int bcryptCost) throws SQLException {
+        String hash = BCrypt.hashpw(PASSWORD, BCrypt.gensalt(bcryptCost));
+        String sql = "INSERT INTO users (username, password, full_name, role) VALUES (?, ?, ?, ?)";
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, "admin");
+            pstmt.setString(2, hash);
+            pstmt.setString(3, "Admin User");
+            pstmt.setString(4, "admin");
+            pstmt.addBatch();
+            for (int i = 1; i <= count; i++) {
+                pstmt.setString(1, username(i));
+                pstmt.setString(2, hash);
+                pstmt.setString(3, "Load User " + i);
+                pstmt.setString(4, "user");
+                pstmt.addBatch();
+                if (i % BATCH == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    public static String username(int i) {
+        return String.format("user%05d", i);
+    }
+
+    public static String[] majors() {
+        return MAJORS.clone();
+    }
+
+    private String pickMajor() {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < MAJORS.length; i++) {
+            roll -= MAJOR_WEIGHTS[i];
+            if (roll < 0) {
+                return MAJORS[i];
+            }
+        }
+        return MAJORS[0];
+    }
+
+    private static String ascii(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .replace('đ', 'd').replace('Đ', 'D')
+                .replace(' ', '.');
+    }
+}
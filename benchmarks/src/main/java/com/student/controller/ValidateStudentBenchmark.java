@@ -0,0 +1,82 @@
+package com.student.controller;
+
+import com.student.bench.Stubs;
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+import com.student.validation.BatchValidation;
+import com.student.validation.StudentValidator;
+import com.student.validation.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Student validation: StudentController.validateStudent for a valid and an
+ * all-invalid form, the validator alone with a reused result, and the batch
+ * API over 1000 synthetic rows (every 10th made invalid), as used by import.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidateStudentBenchmark {
+
+    private StudentController controller;
+    private Stubs.Request request;
+    private Student valid;
+    private Student invalid;
+    private final ValidationResult result = new ValidationResult();
+    private List<Student> rows;
+    private BatchValidation batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        controller = new StudentController();
+        request = new Stubs.Request("POST", "/student", null, null, null);
+
+        valid = new Student("SV0001234", "Nguyễn Văn An", "an.nguyen@example.edu", "Computer Science");
+        invalid = new Student("x", "", "not-an-email", null);
+
+        rows = new SyntheticData(42).students(1000);
+        for (int i = 0; i < rows.size(); i += 10) {
+            rows.get(i).setStudentCode("bad");
+        }
+        batch = new BatchValidation(StudentValidator.DEFAULT);
+    }
+
+    @Benchmark
+    public boolean validStudent() {
+        request.reset();
+        return controller.validateStudent(valid, request.get());
+    }
+
+    @Benchmark
+    public boolean invalidStudent() {
+        request.reset();
+        return controller.validateStudent(invalid, request.get());
+    }
+
+    @Benchmark
+    public boolean validatorReusedResult() {
+        return StudentValidator.DEFAULT.validate(valid, result);
+    }
+
+    // Per batch of 1000 rows
+    @Benchmark
+    public int validateAll1000() {
+        return StudentValidator.DEFAULT.validateAll(rows, batch).getInvalidCount();
+    }
+}
@@ -0,0 +1,335 @@
+package com.student.dao;
+
+import com.student.bench.BenchDatabase;
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs EXPLAIN on every query shape StudentListQuery can generate (each
+ * filter combination, sort column, direction, cursor kind and limit) and
+ * fails when one reads the whole table or has to sort its rows. Bound to the
+ * benchmarks module's verify phase (mvn verify), so a failing shape fails
+ * the build; it can also be run by hand:
+ *
+ *   java -cp target/benchmarks.jar com.student.dao.ExplainAudit students=20000
+ *   java -cp target/benchmarks.jar com.student.dao.ExplainAudit \
+ *        url=jdbc:mysql://localhost:3306/student_management user=root password=admin
+ *
+ * Without url= (or with an empty one) it seeds an in-memory H2 database
+ * (MySQL mode) through the migrations; with url= it audits an existing,
+ * already migrated database. Exempt shapes are still printed: keyword
+ * searches (a leading-wildcard LIKE cannot use a B-tree index; the trigram
+ * search index serves those) and whole-table lists (no filter, cursor or
+ * limit), which read every row by definition.
+ *
+ * A shape avoids a sort only when an index starts with its equality filter
+ * followed by its ORDER BY columns; MySQL reads such an index forwards or
+ * backwards. Every other shape is checked for that index, ASC and DESC alike,
+ * and on MySQL its plan must also show no filesort. H2 cannot read an index
+ * backwards, nor keep an index's order under an equality filter, so on H2
+ * the index check alone decides ordering, and a DESC shape's table scan
+ * (H2's only way to serve it) is not counted against it. Exits with status
+ * 1 when any shape fails.
+ */
+public final class ExplainAudit {
+
+    private static final String[] COLUMNS = {"id", "student_code", "full_name", "email", "major", "created_at"};
+    private static final String KEYWORD = "nguyen";
+    private static final String MAJOR = "Data Science";
+    private static final int PAGE_LIMIT = StudentDAO.DEFAULT_PAGE_SIZE + 1;
+
+    private static final Pattern H2_INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+    private static final Pattern EQUALITY = Pattern.compile("\\b(\\w+) = \\?");
+    private static final Pattern ORDER_BY = Pattern.compile(" ORDER BY (.+?)(?: LIMIT \\?)?$");
+
+    private ExplainAudit() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        options.put("students", "20000");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        Connection conn;
+        if (!options.getOrDefault("url", "").isEmpty()) {
+            conn = DriverManager.getConnection(options.get("url"), options.get("user"), options.get("password"));
+        } else {
+            conn = BenchDatabase.open("explain");
+            BenchDatabase.createSchema(conn);
+            BenchDatabase.truncate(conn);
+            new SyntheticData(42).insertStudents(conn, Integer.parseInt(options.get("students")));
+        }
+
+        int failures;
+        try {
+            failures = audit(conn);
+        } finally {
+            conn.close();
+        }
+        System.out.println();
+        System.out.println(failures == 0 ? "Every shape uses an index for its filter and order"
+                : failures + " shape(s) read the whole table or sort");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static int audit(Connection conn) throws SQLException {
+        boolean mysql = conn.getMetaData().getDriverName().startsWith("MySQL");
+        Map<String, List<String>> indexes = indexes(conn);
+        Student anyRow = boundaryRow(conn, null);
+        Student majorRow = boundaryRow(conn, MAJOR);
+
+        Map<String, Shape> shapes = new LinkedHashMap<>();
+        for (String keyword : Arrays.asList(null, KEYWORD)) {
+            for (String major : Arrays.asList(null, MAJOR)) {
+                Student row = major == null ? anyRow : majorRow;
+                for (String column : COLUMNS) {
+                    for (boolean descending : new boolean[] {false, true}) {
+                        List<Shape> variants = new ArrayList<>();
+                        variants.add(new Shape(keyword, major, column, descending, null, "", 0));
+                        variants.add(new Shape(keyword, major, column, descending, null, "", PAGE_LIMIT));
+                        variants.add(new Shape(keyword, major, column, descending,
+                                PageCursor.after(column, row), "after", PAGE_LIMIT));
+                        if ("email".equals(column) || "created_at".equals(column)) {
+                            variants.add(new Shape(keyword, major, column, descending,
+                                    PageCursor.after(column, nullProbe(row)), "after NULL", PAGE_LIMIT));
+                        }
+                        for (Shape shape : variants) {
+                            // Different inputs can yield the same SQL (e.g. major sort within one major)
+                            shapes.putIfAbsent(shape.query.getSql(), shape);
+                        }
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%-6s %-60s %-45s %s%n", "result", "shape", "plan", "ordered by");
+        int failures = 0;
+        for (Shape shape : shapes.values()) {
+            Plan plan = explain(conn, mysql, shape.query);
+            String orderIndex = orderIndex(indexes, shape.query.getSql());
+            String problem = null;
+            if (plan.fullScan && (mysql || !shape.descending)) {
+                problem = "reads the whole table";
+            } else if (orderIndex == null) {
+                problem = "no index in filter + ORDER BY order";
+            } else if (mysql && plan.sorted) {
+                problem = "filesort";
+            }
+
+            String result;
+            if (shape.keyword != null || shape.isWholeTable()) {
+                result = "exempt";
+            } else if (problem == null) {
+                result = "ok";
+            } else {
+                result = "FAIL";
+                failures++;
+            }
+            System.out.printf("%-6s %-60s %-45s %s%n", result, shape, plan.summary,
+                    orderIndex != null ? orderIndex : "-");
+            if ("FAIL".equals(result)) {
+                System.out.println("       " + problem + ": " + shape.query.getSql());
+            }
+        }
+        System.out.println();
+        System.out.println(shapes.size() + " distinct shapes");
+        return failures;
+    }
+
+    // Index name -> lower-case column names in index order, from the JDBC metadata
+    private static Map<String, List<String>> indexes(Connection conn) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        String table = meta.storesUpperCaseIdentifiers() ? "STUDENTS" : "students";
+        Map<String, Map<Integer, String>> positions = new TreeMap<>();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), conn.getSchema(), table, false, false)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (name != null && column != null) {
+                    positions.computeIfAbsent(name, k -> new TreeMap<>())
+                            .put((int) rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        Map<String, List<String>> indexes = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<Integer, String>> entry : positions.entrySet()) {
+            indexes.put(entry.getKey(), new ArrayList<>(entry.getValue().values()));
+        }
+        if (indexes.isEmpty()) {
+            throw new IllegalStateException("No indexes found on the students table");
+        }
+        return indexes;
+    }
+
+    // An index whose columns start with the query's equality filters, then its ORDER BY columns
+    private static String orderIndex(Map<String, List<String>> indexes, String sql) {
+        List<String> wanted = new ArrayList<>();
+        Matcher equality = EQUALITY.matcher(sql.substring(0, sql.indexOf(" ORDER BY ")));
+        while (equality.find()) {
+            wanted.add(equality.group(1).toLowerCase(Locale.ROOT));
+        }
+        Matcher orderBy = ORDER_BY.matcher(sql);
+        if (!orderBy.find()) {
+            throw new IllegalStateException("No ORDER BY in " + sql);
+        }
+        for (String term : orderBy.group(1).split(",")) {
+            wanted.add(term.trim().split(" ")[0].toLowerCase(Locale.ROOT));
+        }
+        for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+            List<String> columns = index.getValue();
+            if (columns.size() >= wanted.size() && columns.subList(0, wanted.size()).equals(wanted)) {
+                return index.getKey();
+            }
+        }
+        return null;
+    }
+
+    private static Plan explain(Connection conn, boolean mysql, StudentListQuery query) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + query.getSql())) {
+            List<Object> params = query.getParams();
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return mysql ? mysqlPlan(rs, query) : h2Plan(rs);
+            }
+        }
+    }
+
+    // One PLAN column holding the rewritten statement with /* index */ comments
+    private static Plan h2Plan(ResultSet rs) throws SQLException {
+        String plan = rs.next() ? rs.getString(1) : "";
+        boolean scan = plan.contains(".tableScan");
+        Matcher matcher = H2_INDEX.matcher(plan);
+        String access = matcher.find() ? matcher.group(1) : "?";
+        boolean sorted = !plan.contains("/* index sorted */");
+        return new Plan(scan, sorted, access + ", " + (sorted ? "sort" : "index sorted"));
+    }
+
+    // type ALL is a table scan; type index is a full index scan unless a LIMIT stops it early
+    private static Plan mysqlPlan(ResultSet rs, StudentListQuery query) throws SQLException {
+        if (!rs.next()) {
+            return new Plan(false, false, "?");
+        }
+        String type = rs.getString("type");
+        String key = rs.getString("key");
+        String extra = rs.getString("Extra");
+        boolean limited = query.getSql().endsWith("LIMIT ?");
+        boolean scan = "ALL".equals(type) || ("index".equals(type) && !limited);
+        boolean sorted = extra != null && extra.contains("Using filesort");
+        return new Plan(scan, sorted, "type=" + type + " key=" + key + ", " + (sorted ? "filesort" : "index order"));
+    }
+
+    // A row from the middle of the table (or of one major) to build cursors from
+    private static Student boundaryRow(Connection conn, String major) throws SQLException {
+        String sql = major == null
+                ? "SELECT * FROM students ORDER BY id LIMIT 1 OFFSET (SELECT COUNT(*) / 2 FROM students)"
+                : "SELECT * FROM students WHERE major = ? ORDER BY id LIMIT 1";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (major != null) {
+                pstmt.setString(1, major);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("The students table is empty");
+                }
+                return new StudentDAO().mapStudent(rs);
+            }
+        }
+    }
+
+    // Same id, NULL email and created_at: the cursor of a row sorted among the NULLs
+    private static Student nullProbe(Student row) {
+        Student probe = new Student();
+        probe.setId(row.getId());
+        probe.setStudentCode(row.getStudentCode());
+        probe.setFullName(row.getFullName());
+        probe.setMajor(row.getMajor());
+        return probe;
+    }
+
+    /**
+     * One generated query and the inputs that produced it.
+     */
+    private static final class Shape {
+        final String keyword;
+        final String major;
+        final String column;
+        final boolean descending;
+        final PageCursor position;
+        final String cursorKind;
+        final int limit;
+        final StudentListQuery query;
+
+        Shape(String keyword, String major, String column, boolean descending,
+              PageCursor position, String cursorKind, int limit) {
+            this.keyword = keyword;
+            this.major = major;
+            this.column = column;
+            this.descending = descending;
+            this.position = position;
+            this.cursorKind = cursorKind;
+            this.limit = limit;
+            this.query = limit > 0
+                    ? StudentListQuery.page(keyword, major, column, descending, position, limit)
+                    : StudentListQuery.list(keyword, major, column, descending);
+        }
+
+        boolean isWholeTable() {
+            return keyword == null && major == null && position == null && limit == 0;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            if (keyword != null) {
+                text.append("keyword ");
+            }
+            if (major != null) {
+                text.append("major=? ");
+            }
+            text.append(column).append(descending ? " DESC" : " ASC");
+            if (position != null) {
+                text.append(' ').append(cursorKind);
+            }
+            if (limit > 0) {
+                text.append(" LIMIT ").append(limit);
+            }
+            return text.toString();
+        }
+    }
+
+    private static final class Plan {
+        final boolean fullScan;
+        final boolean sorted;
+        final String summary;
+
+        Plan(boolean fullScan, boolean sorted, String summary) {
+            this.fullScan = fullScan;
+            this.sorted = sorted;
+            this.summary = summary;
+        }
+    }
+}
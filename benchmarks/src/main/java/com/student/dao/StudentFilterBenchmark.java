@@ -0,0 +1,91 @@
+package com.student.dao;
+
+import com.student.bench.BenchDatabase;
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+import com.student.search.StudentSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getStudentsFiltered for every sort column and order, with and without a
+ * keyword and major filter. The query cache is disabled so each call hits
+ * the database (or the search index when searchIndex=true and a keyword is
+ * given). Narrow the matrix with -p, e.g. -p sortBy=full_name -p keyword=nguyen
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Ddb.cache.enabled=false")
+public class StudentFilterBenchmark {
+
+    @Param({"10000"})
+    public int students;
+
+    @Param({"id", "student_code", "full_name", "email", "major", "created_at"})
+    public String sortBy;
+
+    @Param({"asc", "desc"})
+    public String order;
+
+    // Empty string means no keyword
+    @Param({"", "nguyen"})
+    public String keyword;
+
+    @Param({"", "Data Science"})
+    public String major;
+
+    @Param({"false", "true"})
+    public boolean searchIndex;
+
+    private StudentDAO dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String db = "filter" + students;
+        BenchDatabase.startPool(db, 4);
+        try (Connection seed = BenchDatabase.open(db)) {
+            BenchDatabase.createSchema(seed);
+            BenchDatabase.truncate(seed);
+            new SyntheticData(42).insertStudents(seed, students);
+        }
+        dao = new StudentDAO();
+
+        if (searchIndex) {
+            StudentSearchIndex index = new StudentSearchIndex();
+            index.rebuild(dao::forEachStudent);
+            StudentDAO.setSearchIndex(index);
+        } else {
+            StudentDAO.setSearchIndex(null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StudentDAO.setSearchIndex(null);
+        ConnectionPool.shutdown();
+    }
+
+    @Benchmark
+    public List<Student> getStudentsFiltered() {
+        return dao.getStudentsFiltered(keyword, major, sortBy, order);
+    }
+}
@@ -0,0 +1,90 @@
+package com.student.dao;
+
+import com.student.bench.BenchDatabase;
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row mapping and the uncached query helper of StudentDAO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StudentMappingBenchmark {
+
+    @Param({"1000", "10000"})
+    public int students;
+
+    private StudentDAO dao;
+    private Connection conn;
+    private ResultSet rows;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String db = "mapping" + students;
+        BenchDatabase.startPool(db, 4);
+        try (Connection seed = BenchDatabase.open(db)) {
+            BenchDatabase.createSchema(seed);
+            BenchDatabase.truncate(seed);
+            new SyntheticData(42).insertStudents(seed, students);
+        }
+        dao = new StudentDAO();
+
+        // Scrollable result so mapStudent can be measured one row at a time
+        conn = BenchDatabase.open(db);
+        Statement stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        rows = stmt.executeQuery("SELECT * FROM students");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rows.close();
+        conn.close();
+        ConnectionPool.shutdown();
+    }
+
+    @Benchmark
+    public Student mapStudent() throws SQLException {
+        cursor = cursor % students + 1;
+        rows.absolute(cursor);
+        return dao.mapStudent(rows);
+    }
+
+    // One page of rows, straight from SQL (no cache, no index)
+    @Benchmark
+    public List<Student> executeStudentQueryPage() {
+        return dao.executeStudentQuery("SELECT * FROM students ORDER BY id DESC LIMIT 20",
+                Collections.emptyList());
+    }
+
+    // The whole table, as getAllStudents did before paging
+    @Benchmark
+    public List<Student> executeStudentQueryAll() {
+        return dao.executeStudentQuery("SELECT * FROM students ORDER BY id DESC", Collections.emptyList());
+    }
+}
@@ -0,0 +1,123 @@
+package com.student.filter;
+
+import com.student.bench.Stubs;
+import com.student.dao.UserDAO;
+import com.student.listener.AppContextListener;
+import com.student.security.AuthSessions;
+import com.student.security.RoutePolicy;
+import com.student.security.SessionTokenCodec;
+import com.student.security.UserPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthFilter followed by AdminFilter for typical requests, with the
+ * production route table, in both session modes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessDecisionBenchmark {
+
+    private static final byte[] SECRET = SessionTokenCodec.secretBytes("benchmark-secret-benchmark-secret-0123456789");
+
+    @Param({"staticAsset", "list", "adminAction", "deniedAction", "apiWrite"})
+    public String scenario;
+
+    @Param({"container", "token"})
+    public String sessionMode;
+
+    private AuthFilter authFilter;
+    private AdminFilter adminFilter;
+    private FilterChain chain;
+    private Stubs.Request request;
+    private Stubs.Response response;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, ServletException {
+        AuthSessions sessions = "token".equals(sessionMode)
+                ? AuthSessions.token(1800, 12 * 3600, SECRET, new UserDAO()) : AuthSessions.container(1800);
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put(AuthSessions.ATTRIBUTE, sessions);
+        attributes.put(RoutePolicy.ATTRIBUTE, AppContextListener.createRoutePolicy());
+        ServletContext context = Stubs.context(attributes);
+
+        authFilter = new AuthFilter();
+        authFilter.init(Stubs.filterConfig(context));
+        adminFilter = new AdminFilter();
+        adminFilter.init(Stubs.filterConfig(context));
+
+        boolean admin = "adminAction".equals(scenario) || "apiWrite".equals(scenario);
+        UserPrincipal user = admin
+                ? new UserPrincipal(1, "admin", "admin", "Admin User")
+                : new UserPrincipal(2, "john", "user", "John Doe");
+        request = newRequest(user);
+        response = new Stubs.Response();
+        chain = (req, res) -> adminFilter.doFilter(req, res, (r, s) -> { });
+
+        run();
+        if (response.getStatus() != 200 && !"deniedAction".equals(scenario)) {
+            throw new IllegalStateException(scenario + " was denied: " + response.getStatus());
+        }
+    }
+
+    @Benchmark
+    public int decide() throws IOException, ServletException {
+        return run();
+    }
+
+    private int run() throws IOException, ServletException {
+        request.reset();
+        response.reset();
+        authFilter.doFilter(request.get(), response.get(), chain);
+        return response.getStatus();
+    }
+
+    private Stubs.Request newRequest(UserPrincipal user) {
+        Cookie[] cookies = null;
+        HttpSession session = null;
+        if ("token".equals(sessionMode)) {
+            long now = System.currentTimeMillis() / 1000;
+            String token = new SessionTokenCodec(SECRET).encode(user, now, now + 3600);
+            cookies = new Cookie[]{new Cookie("JSESSIONID", "abc"), new Cookie(AuthSessions.COOKIE_NAME, token)};
+        } else {
+            Map<String, Object> attrs = new HashMap<>();
+            attrs.put("user", user);
+            session = Stubs.session(attrs);
+        }
+        switch (scenario) {
+            case "staticAsset":
+                return new Stubs.Request("GET", "/css/style.css", null, cookies, session);
+            case "list":
+                return new Stubs.Request("GET", "/student", "action=list&sortBy=full_name&order=asc", cookies, session);
+            case "adminAction":
+            case "deniedAction":
+                return new Stubs.Request("GET", "/student", "action=delete&id=42", cookies, session);
+            default:
+                return new Stubs.Request("POST", "/api/students", null, cookies, session);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.student.load;
+
+/**
+ * One kind of user interaction driven by the load harness. Write actions are
+ * only issued by admin virtual users (the route policy rejects them otherwise).
+ */
+public enum Action {
+    LOGIN(false),
+    LIST(false),
+    SEARCH(false),
+    FILTER(false),
+    SORT(false),
+    CREATE(true),
+    UPDATE(true),
+    DELETE(true);
+
+    private final boolean write;
+
+    Action(boolean write) {
+        this.write = write;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    public String label() {
+        return name().toLowerCase();
+    }
+
+    static Action fromLabel(String label) {
+        for (Action action : values()) {
+            if (action.label().equals(label.trim().toLowerCase())) {
+                return action;
+            }
+        }
+        throw new IllegalArgumentException("Unknown action in mix: " + label);
+    }
+}
@@ -0,0 +1,65 @@
+package com.student.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Raw per-action latency samples of one virtual user. Each recorder is
+ * written by a single thread and merged after the run, so percentiles are
+ * exact rather than bucketed.
+ */
+final class LatencyRecorder {
+
+    private final Map<Action, Samples> samples = new EnumMap<>(Action.class);
+    private final Map<Action, Long> errors = new EnumMap<>(Action.class);
+
+    void record(Action action, long nanos) {
+        samples.computeIfAbsent(action, a -> new Samples()).add(nanos);
+    }
+
+    void recordError(Action action) {
+        errors.merge(action, 1L, Long::sum);
+    }
+
+    // Fold another recorder's samples into this one
+    void merge(LatencyRecorder other) {
+        for (Map.Entry<Action, Samples> entry : other.samples.entrySet()) {
+            Samples mine = samples.computeIfAbsent(entry.getKey(), a -> new Samples());
+            Samples theirs = entry.getValue();
+            for (int i = 0; i < theirs.size; i++) {
+                mine.add(theirs.values[i]);
+            }
+        }
+        for (Map.Entry<Action, Long> entry : other.errors.entrySet()) {
+            errors.merge(entry.getKey(), entry.getValue(), Long::sum);
+        }
+    }
+
+    // Sorted copy of the samples for one action (empty if none)
+    long[] sorted(Action action) {
+        Samples s = samples.get(action);
+        if (s == null) {
+            return new long[0];
+        }
+        long[] copy = Arrays.copyOf(s.values, s.size);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    long errors(Action action) {
+        return errors.getOrDefault(action, 0L);
+    }
+
+    private static final class Samples {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.student.load;
+
+import com.student.bench.BenchDatabase;
+import com.student.bench.EmbeddedApp;
+import com.student.bench.SyntheticData;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end load test: boots the WAR in embedded Jetty against an in-memory
+ * H2 database, seeds it with deterministic synthetic data and drives a mix of
+ * login, list, search, filter, sort and CRUD traffic over real HTTP through
+ * the app's filters, servlets and JSPs. Prints throughput and exact latency
+ * percentiles per action.
+ *
+ *   java -cp target/benchmarks.jar com.student.load.LoadHarness \
+ *        students=100000 users=2000 concurrency=64 duration=60 warmup=10
+ *
+ * Every option is key=value; see {@link #DEFAULTS}.
+ */
+public final class LoadHarness {
+
+    static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("students", "10000");      // seeded student rows (10k - 1M)
+        DEFAULTS.put("users", "1000");          // seeded regular users, plus "admin"
+        DEFAULTS.put("concurrency", "32");      // closed-loop virtual users
+        DEFAULTS.put("admins", "4");            // virtual users logged in as admin (run the write actions)
+        DEFAULTS.put("duration", "60");         // measured seconds
+        DEFAULTS.put("warmup", "10");           // seconds of traffic discarded before measuring
+        DEFAULTS.put("mix", TrafficMix.DEFAULT);
+        DEFAULTS.put("thinkMs", "0");           // mean think time between requests
+        DEFAULTS.put("bcryptCost", "10");       // cost of the seeded password hash (production: 10)
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("poolSize", "10");         // db.pool.maxSize
+        DEFAULTS.put("replicas", "0");          // read replicas seeded with the same data (db.replica.urls)
+        DEFAULTS.put("serverThreads", "200");
+        DEFAULTS.put("threads", "platform");    // platform, virtual (JDK 21+), or platform,virtual to compare
+        DEFAULTS.put("csv", "");                // optional path for a per-action CSV report
+    }
+
+    private static final String DATABASE = "load";
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int students = intOption(options, "students");
+        int users = intOption(options, "users");
+        int concurrency = intOption(options, "concurrency");
+        int admins = Math.min(intOption(options, "admins"), concurrency);
+        int duration = intOption(options, "duration");
+        int warmup = intOption(options, "warmup");
+        long seed = Long.parseLong(options.get("seed"));
+        TrafficMix mix = TrafficMix.parse(options.get("mix"));
+        System.out.println("Load test options: " + options);
+
+        BenchDatabase.useForApp(DATABASE, intOption(options, "poolSize"));
+        long seedStart = System.nanoTime();
+        seed(DATABASE, seed, students, users, intOption(options, "bcryptCost"));
+        int replicas = intOption(options, "replicas");
+        if (replicas > 0) {
+            String[] names = new String[replicas];
+            for (int i = 0; i < replicas; i++) {
+                names[i] = DATABASE + "_replica" + (i + 1);
+                seed(names[i], seed, students, users, intOption(options, "bcryptCost"));
+            }
+            BenchDatabase.useReplicasForApp(names);
+        }
+        System.out.printf("Seeded %d students and %d users in %d ms%n",
+                students, users + 1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        // Each thread mode gets a fresh app on the same data; a read-only mix keeps runs comparable
+        String[] modes = options.get("threads").split(",");
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+        for (String mode : modes) {
+            mode = mode.trim();
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown thread mode " + mode + "; use platform or virtual");
+            }
+            String metricsToken = Long.toHexString(new Random().nextLong());
+            try (EmbeddedApp app = EmbeddedApp.builder()
+                    .httpPort(0)
+                    .maxThreads(intOption(options, "serverThreads"))
+                    .virtualThreads(mode.equals("virtual"))
+                    .contextParam("metrics.token", metricsToken)
+                    .start()) {
+                URI base = URI.create("http://localhost:" + app.getPort() + "/");
+                System.out.println();
+                System.out.println("Thread mode: " + mode);
+                LatencyRecorder total = run(base, options, mix, students, users, concurrency, admins,
+                        duration, warmup, seed);
+                report(total, duration, csvPath(options.get("csv"), mode, modes.length));
+                if (replicas > 0) {
+                    reportReadRoutes(base, metricsToken);
+                }
+                results.put(mode, total);
+            }
+        }
+        if (results.size() > 1) {
+            compare(results, duration);
+        }
+    }
+
+    // One CSV per mode when comparing: load.csv -> load-virtual.csv
+    private static String csvPath(String csv, String mode, int modes) {
+        if (csv == null || csv.isEmpty() || modes == 1) {
+            return csv;
+        }
+        int dot = csv.lastIndexOf('.');
+        return dot < 0 ? csv + "-" + mode : csv.substring(0, dot) + "-" + mode + csv.substring(dot);
+    }
+
+    // All actions together, one row per thread mode
+    private static void compare(Map<String, LatencyRecorder> results, int duration) {
+        System.out.println();
+        System.out.printf("%-9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "threads", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map.Entry<String, LatencyRecorder> result : results.entrySet()) {
+            List<long[]> perAction = new ArrayList<>();
+            long errors = 0;
+            for (Action action : Action.values()) {
+                perAction.add(result.getValue().sorted(action));
+                errors += result.getValue().errors(action);
+            }
+            long[] all = perAction.stream().flatMapToLong(LongStream::of).sorted().toArray();
+            System.out.printf("%-9s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", result.getKey(), all.length, errors,
+                    all.length / (double) duration, percentile(all, 0.50), percentile(all, 0.99),
+                    percentile(all, 0.999), all.length == 0 ? 0 : millis(all[all.length - 1]));
+        }
+    }
+
+    // Same seed, same rows: every database starts identical
+    private static void seed(String database, long seed, int students, int users, int bcryptCost)
+            throws SQLException {
+        try (Connection conn = BenchDatabase.open(database)) {
+            BenchDatabase.createSchema(conn);
+            SyntheticData data = new SyntheticData(seed);
+            data.insertStudents(conn, students);
+            data.insertUsers(conn, users, bcryptCost);
+        }
+    }
+
+    // The app's metrics live in the WAR's class loader, so read them over HTTP
+    private static void reportReadRoutes(URI base, String metricsToken) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("metrics"))
+                .header("Authorization", "Bearer " + metricsToken)
+                .build();
+        String metrics = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+        System.out.println();
+        System.out.println("Read routes (including warmup):");
+        for (String line : metrics.split("\n")) {
+            if (line.startsWith("db_read_routes_total{")) {
+                System.out.println("  " + line);
+            }
+        }
+    }
+
+    private static LatencyRecorder run(URI base, Map<String, String> options, TrafficMix mix, int students,
+                                       int users, int concurrency, int admins, int duration, int warmup,
+                                       long seed) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(4, daemon("load-client")))
+                .build();
+        TrafficMix readMix = mix.readOnly();
+        long thinkMillis = Long.parseLong(options.get("thinkMs"));
+        ConcurrentMap<String, LongAdder> errorReasons = new ConcurrentHashMap<>();
+
+        List<VirtualUser> virtualUsers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            boolean admin = i < admins;
+            // Spread regular virtual users over the seeded accounts
+            String username = admin ? "admin" : SyntheticData.username(1 + (i - admins) % Math.max(1, users));
+            virtualUsers.add(new VirtualUser(i, client, base, username, admin ? mix : readMix, students,
+                    thinkMillis, seed, errorReasons, BenchDatabase.open(DATABASE)));
+        }
+
+        long now = System.nanoTime();
+        long measureFrom = now + TimeUnit.SECONDS.toNanos(warmup);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(duration);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency, daemon("virtual-user"));
+        for (VirtualUser user : virtualUsers) {
+            user.window(measureFrom, deadline);
+            pool.execute(user);
+        }
+        System.out.printf("Running %d virtual users (%d admin): %ds warm-up, %ds measured%n",
+                concurrency, admins, warmup, duration);
+        pool.shutdown();
+        if (!pool.awaitTermination(warmup + duration + 60, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+            System.out.println("Some virtual users did not stop in time");
+        }
+
+        LatencyRecorder total = new LatencyRecorder();
+        for (VirtualUser user : virtualUsers) {
+            total.merge(user.getRecorder());
+        }
+        if (!errorReasons.isEmpty()) {
+            System.out.println("Errors:");
+            errorReasons.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()))
+                    .forEach(e -> System.out.printf("  %-50s %d%n", e.getKey(), e.getValue().sum()));
+        }
+        return total;
+    }
+
+    private static void report(LatencyRecorder total, int duration, String csvPath) throws IOException {
+        String header = String.format("%-8s %9s %7s %9s %9s %9s %9s %9s %9s %9s",
+                "action", "count", "errors", "req/s", "mean ms", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms");
+        StringBuilder csv = new StringBuilder("action,count,errors,rps,mean_ms,p50_ms,p90_ms,p95_ms,p99_ms,max_ms\n");
+        System.out.println();
+        System.out.println(header);
+
+        long allCount = 0;
+        long allErrors = 0;
+        for (Action action : Action.values()) {
+            long[] samples = total.sorted(action);
+            long errors = total.errors(action);
+            if (samples.length == 0 && errors == 0) {
+                continue;
+            }
+            allCount += samples.length;
+            allErrors += errors;
+            double rps = samples.length / (double) duration;
+            double[] row = {
+                mean(samples), percentile(samples, 0.50), percentile(samples, 0.90),
+                percentile(samples, 0.95), percentile(samples, 0.99),
+                samples.length == 0 ? 0 : millis(samples[samples.length - 1])
+            };
+            System.out.printf("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n", action.label(),
+                    samples.length, errors, rps, row[0], row[1], row[2], row[3], row[4], row[5]);
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                    action.label(), samples.length, errors, rps, row[0], row[1], row[2], row[3], row[4], row[5]));
+        }
+        System.out.printf("%-8s %9d %7d %9.1f%n", "total", allCount, allErrors, allCount / (double) duration);
+
+        if (csvPath != null && !csvPath.isEmpty()) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(csvPath), StandardCharsets.UTF_8))) {
+                out.print(csv);
+            }
+            System.out.println("Wrote " + csvPath);
+        }
+    }
+
+    // Nearest-rank percentile of sorted samples, in milliseconds
+    static double percentile(long[] sorted, double q) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(q * sorted.length);
+        return millis(sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))]);
+    }
+
+    private static double mean(long[] samples) {
+        if (samples.length == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (long sample : samples) {
+            sum += sample;
+        }
+        return millis(sum / samples.length);
+    }
+
+    private static double millis(double nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq < 0 ? arg : arg.substring(0, eq);
+            if (!DEFAULTS.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option " + key + "; known options: " + DEFAULTS.keySet());
+            }
+            options.put(key, eq < 0 ? "" : arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static int intOption(Map<String, String> options, String key) {
+        return Integer.parseInt(options.get(key).trim());
+    }
+
+    private static ThreadFactory daemon(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
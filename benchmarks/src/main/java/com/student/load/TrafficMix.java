@@ -0,0 +1,86 @@
+package com.student.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice between actions, parsed from "login=5,list=40,search=20".
+ * Weights are relative and need not add up to 100.
+ */
+public final class TrafficMix {
+
+    public static final String DEFAULT = "login=5,list=35,search=20,filter=15,sort=10,create=5,update=7,delete=3";
+
+    private final Action[] actions;
+    private final int[] cumulative;
+    private final int total;
+
+    private TrafficMix(Map<Action, Integer> weights) {
+        this.actions = new Action[weights.size()];
+        this.cumulative = new int[weights.size()];
+        int sum = 0;
+        int i = 0;
+        for (Map.Entry<Action, Integer> entry : weights.entrySet()) {
+            sum += entry.getValue();
+            actions[i] = entry.getKey();
+            cumulative[i] = sum;
+            i++;
+        }
+        this.total = sum;
+    }
+
+    public static TrafficMix parse(String spec) {
+        Map<Action, Integer> weights = new EnumMap<>(Action.class);
+        for (String part : spec.split(",")) {
+            if (part.trim().isEmpty()) {
+                continue;
+            }
+            String[] kv = part.split("=", 2);
+            int weight = kv.length == 2 ? Integer.parseInt(kv[1].trim()) : 1;
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in mix: " + part);
+            }
+            if (weight > 0) {
+                weights.put(Action.fromLabel(kv[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Empty traffic mix: " + spec);
+        }
+        return new TrafficMix(weights);
+    }
+
+    // The same mix without write actions (for non-admin users); this mix if it has no reads
+    public TrafficMix readOnly() {
+        Map<Action, Integer> weights = new EnumMap<>(Action.class);
+        for (int i = 0; i < actions.length; i++) {
+            if (!actions[i].isWrite()) {
+                weights.put(actions[i], cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]));
+            }
+        }
+        return weights.isEmpty() ? this : new TrafficMix(weights);
+    }
+
+    public Action next(Random random) {
+        int roll = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return actions[i];
+            }
+        }
+        return actions[actions.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < actions.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(actions[i].label()).append('=').append(cumulative[i] - (i == 0 ? 0 : cumulative[i - 1]));
+        }
+        return sb.toString();
+    }
+}
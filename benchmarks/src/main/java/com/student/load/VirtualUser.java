@@ -0,0 +1,260 @@
+package com.student.load;
+
+import com.student.bench.SyntheticData;
+import com.student.model.Student;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One closed-loop simulated browser: logs in through the login form, then
+ * issues actions from the traffic mix back to back (plus optional think
+ * time) until the deadline. Cookies are handled by hand, redirects are not
+ * followed, so every sample is exactly one servlet round trip.
+ *
+ * A request succeeds when it returns 200, or a redirect that does not carry
+ * an "error=" message (login must redirect to the dashboard).
+ */
+final class VirtualUser implements Runnable {
+
+    private static final String[] KEYWORDS = {
+        "nguyen", "tran", "linh", "minh", "john", "smith", "example.edu", "SV00012", "an", "thảo"
+    };
+    private static final String[] SORT_COLUMNS = {"id", "student_code", "full_name", "email", "major", "created_at"};
+    private static final String[] MAJORS = SyntheticData.majors();
+    private static final int LOGIN_RETRY_MILLIS = 250;
+
+    private final int index;
+    private final HttpClient client;
+    private final URI base;
+    private final String username;
+    private final TrafficMix mix;
+    private final int seededStudents;
+    private final long thinkMillis;
+    private final Random random;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final ConcurrentMap<String, LongAdder> errorReasons;
+    private final Connection lookup;
+
+    private volatile long measureFrom;
+    private volatile long deadline;
+
+    private String cookie;
+    private final List<Student> created = new ArrayList<>();
+    private int createdSeq;
+    private String pendingCode;
+
+    VirtualUser(int index, HttpClient client, URI base, String username, TrafficMix mix, int seededStudents,
+                long thinkMillis, long seed, ConcurrentMap<String, LongAdder> errorReasons, Connection lookup) {
+        this.index = index;
+        this.client = client;
+        this.base = base;
+        this.username = username;
+        this.mix = mix;
+        this.seededStudents = seededStudents;
+        this.thinkMillis = thinkMillis;
+        this.random = new Random(seed * 31 + index);
+        this.errorReasons = errorReasons;
+        this.lookup = lookup;
+    }
+
+    // Samples started before measureFrom are discarded (warm-up); nothing is issued after deadline
+    void window(long measureFrom, long deadline) {
+        this.measureFrom = measureFrom;
+        this.deadline = deadline;
+    }
+
+    LatencyRecorder getRecorder() {
+        return recorder;
+    }
+
+    @Override
+    public void run() {
+        try {
+            // The login pool sheds bursts with 503; back off and retry like a user would
+            while (!issue(Action.LOGIN) && System.nanoTime() < deadline) {
+                Thread.sleep(LOGIN_RETRY_MILLIS + random.nextInt(LOGIN_RETRY_MILLIS));
+            }
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                issue(mix.next(random));
+                if (thinkMillis > 0) {
+                    // Uniform think time averaging thinkMillis
+                    Thread.sleep((long) (random.nextDouble() * 2 * thinkMillis));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                lookup.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // True when the request succeeded
+    private boolean issue(Action action) throws InterruptedException {
+        // Deleting needs a row of our own; create one first
+        if (action == Action.DELETE && created.isEmpty()) {
+            action = Action.CREATE;
+        }
+        HttpRequest request = build(action);
+        long start = System.nanoTime();
+        String failure;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            failure = check(action, response);
+            if (start >= measureFrom) {
+                recorder.record(action, elapsed);
+            }
+            if (failure == null) {
+                afterSuccess(action);
+            }
+        } catch (IOException e) {
+            failure = e.getClass().getSimpleName();
+        }
+        if (failure != null && start >= measureFrom) {
+            recorder.recordError(action);
+            errorReasons.computeIfAbsent(action.label() + ": " + failure, k -> new LongAdder()).increment();
+        }
+        return failure == null;
+    }
+
+    private HttpRequest build(Action action) {
+        switch (action) {
+            case LOGIN:
+                return post("/login", "username=" + enc(username) + "&password=" + enc(SyntheticData.PASSWORD));
+            case LIST:
+                return get("/student?action=list");
+            case SEARCH:
+                return get("/student?action=search&keyword=" + enc(KEYWORDS[random.nextInt(KEYWORDS.length)]));
+            case FILTER:
+                return get("/student?action=filter&major=" + enc(MAJORS[random.nextInt(MAJORS.length)]));
+            case SORT:
+                return get("/student?action=sort&sortBy=" + SORT_COLUMNS[random.nextInt(SORT_COLUMNS.length)]
+                        + "&order=" + (random.nextBoolean() ? "asc" : "desc"));
+            case CREATE:
+                createdSeq++;
+                pendingCode = String.format("LT%03d%07d", index, createdSeq);
+                return post("/student", "action=insert&" + form(pendingCode, "Load Test " + index + "-" + createdSeq));
+            case UPDATE:
+                return post("/student", "action=update&" + updateForm());
+            case DELETE:
+                Student victim = created.remove(random.nextInt(created.size()));
+                return get("/student?action=delete&id=" + victim.getId());
+            default:
+                throw new IllegalArgumentException(action.name());
+        }
+    }
+
+    // Returns null on success, otherwise a short reason
+    private String check(Action action, HttpResponse<Void> response) {
+        int status = response.statusCode();
+        response.headers().allValues("Set-Cookie").forEach(this::rememberCookie);
+        if (status == 200) {
+            if (action == Action.LOGIN) {
+                return "login page re-rendered";
+            }
+            return action.isWrite() ? "form re-rendered (validation)" : null;
+        }
+        if (status == 302 || status == 303) {
+            String location = response.headers().firstValue("Location").orElse("");
+            if (location.contains("error=")) {
+                return "redirect with error";
+            }
+            if (location.contains("/login")) {
+                return "redirected to login";
+            }
+            if (action == Action.LOGIN && !location.contains("dashboard")) {
+                return "login redirected to " + location;
+            }
+            return null;
+        }
+        return "HTTP " + status;
+    }
+
+    private void afterSuccess(Action action) {
+        if (action != Action.CREATE) {
+            return;
+        }
+        // The redirect does not carry the new id; look it up outside the timed window
+        try (PreparedStatement pstmt = lookup.prepareStatement("SELECT id FROM students WHERE student_code = ?")) {
+            pstmt.setString(1, pendingCode);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Student student = new Student();
+                    student.setId(rs.getInt(1));
+                    student.setStudentCode(pendingCode);
+                    created.add(student);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void rememberCookie(String header) {
+        if (header.startsWith("SM_AUTH=")) {
+            String value = header.substring(0, header.indexOf(';') < 0 ? header.length() : header.indexOf(';'));
+            cookie = value.equals("SM_AUTH=") ? null : value;
+        }
+    }
+
+    private String updateForm() {
+        // Own rows change freely; seeded rows keep their code so the unique key holds
+        if (!created.isEmpty() && random.nextBoolean()) {
+            Student own = created.get(random.nextInt(created.size()));
+            return "id=" + own.getId() + "&" + form(own.getStudentCode(), "Load Test " + index + " updated");
+        }
+        int id = 1 + random.nextInt(seededStudents);
+        return "id=" + id + "&" + form(String.format("SV%07d", id), "Updated Student " + id);
+    }
+
+    private String form(String code, String fullName) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("studentCode=").append(code)
+          .append("&fullName=").append(enc(fullName))
+          .append("&email=").append(enc("load" + index + "." + createdSeq + "@example.edu"))
+          .append("&major=").append(enc(MAJORS[random.nextInt(MAJORS.length)]));
+        return sb.toString();
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String form) {
+        return builder(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(base.resolve(path));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private static String enc(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
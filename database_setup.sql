@@ -2,6 +2,9 @@
 -- Lab 6: Authentication & Session Management
 -- Run this script in MySQL to set up the complete database
 
+-- Indexes and later schema changes are applied by the app at startup
+-- (src/main/resources/db/migration); this script only creates the tables.
+
 -- Create database
 CREATE DATABASE IF NOT EXISTS student_management;
 USE student_management;
@@ -0,0 +1,522 @@
+package com.student.analytics;
+
+import com.student.dao.StudentChangeListener;
+import com.student.model.Student;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Columnar in-memory copy of the students table for enrollment reports.
+ *
+ * Only the columns reports group on are kept, one primitive array each:
+ * the id, the major as a code into a small dictionary, and created_at as
+ * epoch milliseconds. That is 16 bytes a row instead of a Student with a
+ * Timestamp and four Strings, and a group-by is a single pass over int and
+ * long arrays. Rows are unordered; an open-addressing id index finds a row
+ * for updates and deletes, and a delete moves the last row into the gap.
+ *
+ * Like StudentSearchIndex, the store is loaded once and then kept current
+ * through StudentDAO write notifications; writes made outside this
+ * application are not seen until the next rebuild.
+ */
+public class StudentColumnStore implements StudentChangeListener {
+
+    public static final String ATTRIBUTE = "studentColumnStore";
+
+    // created_at of a row without one
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    // Major code of a row without one
+    private static final int NO_MAJOR = -1;
+
+    // Major filter that keeps every row
+    private static final int ALL_MAJORS = -2;
+
+    // 365.2425 days / 12
+    private static final long AVERAGE_MONTH_MILLIS = 2629746000L;
+
+    // Months are cut in the server time zone, as Timestamp.toLocalDateTime() does
+    private final ZoneId zone;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Columns columns = new Columns(16);
+    private boolean building;
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    public StudentColumnStore() {
+        this(ZoneId.systemDefault());
+    }
+
+    public StudentColumnStore(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Replace the contents with the rows supplied by the loader. Writes
+     * notified while the rebuild runs are replayed on top of it.
+     */
+    public void rebuild(Consumer<Consumer<Student>> loader) {
+        lock.writeLock().lock();
+        try {
+            building = true;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns loaded = new Columns(1024);
+        try {
+            loader.accept(loaded::put);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            building = false;
+            for (Runnable change : pendingChanges) {
+                change.run();
+            }
+            pendingChanges.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Heap held by the column arrays, the id index and the dictionary
+    public long getFootprintBytes() {
+        lock.readLock().lock();
+        try {
+            return columns.footprintBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students per major, counting only those created in [from, to) epoch
+     * milliseconds (Long.MIN_VALUE / Long.MAX_VALUE for an open end; rows
+     * without created_at only match when both ends are open).
+     */
+    public SortedMap<String, Integer> countByMajor(long from, long to) {
+        boolean allTimes = from == Long.MIN_VALUE && to == Long.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            int[] counts = new int[c.majorNames.size()];
+            for (int i = 0; i < c.size; i++) {
+                int major = c.majors[i];
+                if (major == NO_MAJOR) {
+                    continue;
+                }
+                long time = c.createdAt[i];
+                if (allTimes || (time != NO_TIME && time >= from && time < to)) {
+                    counts[major]++;
+                }
+            }
+            SortedMap<String, Integer> result = new TreeMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    result.put(c.majorNames.get(code), counts[code]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Students created in each calendar month, for one major or all of
+     * them (major null). Months without enrollments inside the covered
+     * range are present with 0, so the result charts directly.
+     */
+    public SortedMap<YearMonth, Integer> countByMonth(String major) {
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            SortedMap<YearMonth, Integer> result = new TreeMap<>();
+            int code = c.filterCode(major);
+            long[] range = code == NO_MAJOR ? null : timeRange(c, code);
+            if (range == null) {
+                return result;
+            }
+
+            YearMonth first = YearMonth.from(toLocal(range[0]));
+            YearMonth last = YearMonth.from(toLocal(range[1]));
+            int months = (int) (last.getYear() * 12L + last.getMonthValue()
+                    - first.getYear() * 12L - first.getMonthValue()) + 1;
+            // starts[m] = first instant of month m; starts[months] closes the last one
+            long[] starts = new long[months + 1];
+            for (int m = 0; m <= months; m++) {
+                starts[m] = first.plusMonths(m).atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            }
+
+            int[] counts = new int[months];
+            long origin = starts[0];
+            for (int i = 0; i < c.size; i++) {
+                long time = c.createdAt[i];
+                if (time == NO_TIME || (code != ALL_MAJORS && c.majors[i] != code)) {
+                    continue;
+                }
+                // Estimate from the average month length, then step to the exact month
+                int month = (int) Math.min(months - 1, (time - origin) / AVERAGE_MONTH_MILLIS);
+                while (time < starts[month]) {
+                    month--;
+                }
+                while (time >= starts[month + 1]) {
+                    month++;
+                }
+                counts[month]++;
+            }
+            for (int m = 0; m < months; m++) {
+                result.put(first.plusMonths(m), counts[m]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * created_at histogram with equal-width buckets over [from, to) epoch
+     * milliseconds, for one major or all (major null). An open end
+     * (Long.MIN_VALUE / Long.MAX_VALUE) is taken from the data.
+     */
+    public TimeHistogram histogram(String major, long from, long to, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive");
+        }
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            int code = c.filterCode(major);
+            if (from == Long.MIN_VALUE || to == Long.MAX_VALUE) {
+                long[] range = code == NO_MAJOR ? null : timeRange(c, code);
+                if (range == null) {
+                    return new TimeHistogram(0, 0, new int[buckets]);
+                }
+                if (from == Long.MIN_VALUE) {
+                    from = range[0];
+                }
+                if (to == Long.MAX_VALUE) {
+                    // Exclusive end just past the newest row
+                    to = range[1] + 1;
+                }
+            }
+
+            int[] counts = new int[buckets];
+            if (to <= from) {
+                return new TimeHistogram(from, 0, counts);
+            }
+            long width = (to - from + buckets - 1) / buckets;
+            if (code != NO_MAJOR) {
+                for (int i = 0; i < c.size; i++) {
+                    long time = c.createdAt[i];
+                    if (time == NO_TIME || time < from || time >= to
+                            || (code != ALL_MAJORS && c.majors[i] != code)) {
+                        continue;
+                    }
+                    counts[(int) ((time - from) / width)]++;
+                }
+            }
+            return new TimeHistogram(from, width, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentAdded(Student student) {
+        apply(() -> columns.put(student));
+    }
+
+    @Override
+    public void onStudentUpdated(Student before, Student after) {
+        apply(() -> columns.put(after));
+    }
+
+    @Override
+    public void onStudentDeleted(Student student) {
+        apply(() -> columns.remove(student.getId()));
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingChanges.add(change);
+            } else {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Oldest and newest created_at of the rows with this major code, or null when there are none
+    private static long[] timeRange(Columns c, int code) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < c.size; i++) {
+            long time = c.createdAt[i];
+            if (time == NO_TIME || (code != ALL_MAJORS && c.majors[i] != code)) {
+                continue;
+            }
+            if (time < min) {
+                min = time;
+            }
+            if (time > max) {
+                max = time;
+            }
+        }
+        return min > max ? null : new long[]{min, max};
+    }
+
+    private LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+
+    /**
+     * Counts per equal-width created_at bucket; bucket i covers
+     * [from + i * bucketMillis, from + (i + 1) * bucketMillis).
+     */
+    public static final class TimeHistogram {
+        private final long from;
+        private final long bucketMillis;
+        private final int[] counts;
+
+        TimeHistogram(long from, long bucketMillis, int[] counts) {
+            this.from = from;
+            this.bucketMillis = bucketMillis;
+            this.counts = counts;
+        }
+
+        public long getFrom() {
+            return from;
+        }
+
+        public long getBucketMillis() {
+            return bucketMillis;
+        }
+
+        public int[] getCounts() {
+            return counts.clone();
+        }
+    }
+
+    /**
+     * The column arrays. Row i is (ids[i], majors[i], createdAt[i]) for
+     * i < size; idIndex maps a student id to its row.
+     */
+    private static final class Columns {
+        int size;
+        int[] ids;
+        int[] majors;
+        long[] createdAt;
+        final IdIndex idIndex;
+        final List<String> majorNames = new ArrayList<>();
+        final Map<String, Integer> majorCodes = new HashMap<>();
+
+        Columns(int capacity) {
+            ids = new int[capacity];
+            majors = new int[capacity];
+            createdAt = new long[capacity];
+            idIndex = new IdIndex(capacity);
+        }
+
+        // Insert the row, or overwrite it when the id is already present
+        void put(Student student) {
+            int row = idIndex.get(student.getId());
+            if (row < 0) {
+                if (size == ids.length) {
+                    int capacity = size * 2;
+                    ids = Arrays.copyOf(ids, capacity);
+                    majors = Arrays.copyOf(majors, capacity);
+                    createdAt = Arrays.copyOf(createdAt, capacity);
+                }
+                row = size++;
+                ids[row] = student.getId();
+                idIndex.put(student.getId(), row);
+            }
+            majors[row] = encode(student.getMajor());
+            createdAt[row] = student.getCreatedAt() == null ? NO_TIME : student.getCreatedAt().getTime();
+        }
+
+        void remove(int id) {
+            int row = idIndex.remove(id);
+            if (row < 0) {
+                return;
+            }
+            int last = --size;
+            if (row != last) {
+                ids[row] = ids[last];
+                majors[row] = majors[last];
+                createdAt[row] = createdAt[last];
+                idIndex.put(ids[row], row);
+            }
+        }
+
+        // ALL_MAJORS for no filter, NO_MAJOR for a major no row has
+        int filterCode(String major) {
+            if (major == null) {
+                return ALL_MAJORS;
+            }
+            Integer code = majorCodes.get(major);
+            return code == null ? NO_MAJOR : code;
+        }
+
+        // Majors are few, so the dictionary only grows
+        private int encode(String major) {
+            if (major == null) {
+                return NO_MAJOR;
+            }
+            Integer code = majorCodes.get(major);
+            if (code == null) {
+                code = majorNames.size();
+                majorNames.add(major);
+                majorCodes.put(major, code);
+            }
+            return code;
+        }
+
+        long footprintBytes() {
+            long bytes = ids.length * (4L + 4L + 8L) + idIndex.footprintBytes();
+            for (String name : majorNames) {
+                // Rough: the name twice (list and map key share it) plus map entry overhead
+                bytes += 64 + name.length() * 2L;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * int -> int hash map with open addressing and linear probing, so the
+     * id lookup needs no boxed Integer per row. Values are row numbers
+     * (never negative); keys are student ids (always positive, 0 marks a
+     * free slot).
+     */
+    private static final class IdIndex {
+        private int[] keys;
+        private int[] values;
+        private int count;
+
+        IdIndex(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+        }
+
+        int get(int key) {
+            int mask = keys.length - 1;
+            for (int slot = mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        void put(int key, int value) {
+            // Keep the load factor at or below one half
+            if ((count + 1) * 2 > keys.length) {
+                resize(keys.length * 2);
+            }
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = key;
+                count++;
+            }
+            values[slot] = value;
+        }
+
+        // Removes the key and returns its value, or -1 when absent
+        int remove(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != key) {
+                if (keys[slot] == 0) {
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int value = values[slot];
+            keys[slot] = 0;
+            count--;
+            // Re-insert the rest of the probe run so later lookups do not stop at the hole
+            for (int next = (slot + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+                int movedKey = keys[next];
+                int movedValue = values[next];
+                keys[next] = 0;
+                count--;
+                put(movedKey, movedValue);
+            }
+            return value;
+        }
+
+        long footprintBytes() {
+            return keys.length * 8L;
+        }
+
+        private void resize(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        // Sequential ids would otherwise fill one dense run of slots
+        private static int mix(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.student.controller;
+
+import com.student.analytics.StudentColumnStore;
+import com.student.util.JsonWriter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Enrollment reports from the columnar StudentColumnStore (read-only JSON):
+ *   GET /api/analytics/majors      students per major (from, to)
+ *   GET /api/analytics/months      new and cumulative students per month (major)
+ *   GET /api/analytics/histogram   created_at histogram (major, from, to, buckets)
+ *
+ * from and to are ISO dates, both inclusive. Counts cover the students that
+ * exist now: a deleted student no longer counts toward its enrollment month.
+ */
+@WebServlet("/api/analytics/*")
+public class AnalyticsController extends HttpServlet {
+
+    private static final String JSON_TYPE = "application/json;charset=UTF-8";
+
+    private static final int DEFAULT_BUCKETS = 20;
+    private static final int MAX_BUCKETS = 1000;
+
+    private StudentColumnStore store;
+
+    @Override
+    public void init() {
+        store = (StudentColumnStore) getServletContext().getAttribute(StudentColumnStore.ATTRIBUTE);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (store == null) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Analytics are disabled");
+            return;
+        }
+        if (!store.isReady()) {
+            response.setHeader("Retry-After", "5");
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Analytics are still loading");
+            return;
+        }
+
+        String path = request.getPathInfo();
+        String major = request.getParameter("major");
+        major = major == null || major.trim().isEmpty() ? null : major.trim();
+        long from;
+        long to;
+        try {
+            from = startOfDay(request.getParameter("from"), Long.MIN_VALUE);
+            LocalDate lastDay = parseDate(request.getParameter("to"));
+            to = lastDay == null ? Long.MAX_VALUE : epochMillis(lastDay.plusDays(1));
+        } catch (DateTimeParseException e) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "from and to must be dates (yyyy-MM-dd)");
+            return;
+        }
+
+        response.setHeader("Cache-Control", "private, no-cache");
+        if ("/majors".equals(path)) {
+            writeMajors(response, store.countByMajor(from, to));
+        } else if ("/months".equals(path)) {
+            writeMonths(response, major, store.countByMonth(major));
+        } else if ("/histogram".equals(path)) {
+            int buckets;
+            try {
+                String value = request.getParameter("buckets");
+                buckets = value == null || value.trim().isEmpty() ? DEFAULT_BUCKETS : Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                buckets = 0;
+            }
+            if (buckets < 1 || buckets > MAX_BUCKETS) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "buckets must be 1-" + MAX_BUCKETS);
+                return;
+            }
+            writeHistogram(response, store.histogram(major, from, to, buckets));
+        } else {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Unknown report");
+        }
+    }
+
+    private void writeMajors(HttpServletResponse response, Map<String, Integer> counts) throws IOException {
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        int total = 0;
+        out.write('{');
+        JsonWriter.writeName(out, "majors");
+        out.write('{');
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            JsonWriter.writeName(out, entry.getKey());
+            out.write(String.valueOf(entry.getValue()));
+            total += entry.getValue();
+        }
+        out.write("},");
+        JsonWriter.writeName(out, "total");
+        out.write(String.valueOf(total));
+        out.write('}');
+    }
+
+    // "total" is the running sum, i.e. the growth curve
+    private void writeMonths(HttpServletResponse response, String major, SortedMap<YearMonth, Integer> counts)
+            throws IOException {
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        out.write('{');
+        JsonWriter.writeName(out, "major");
+        JsonWriter.writeString(out, major);
+        out.write(',');
+        JsonWriter.writeName(out, "months");
+        out.write('[');
+        int total = 0;
+        boolean first = true;
+        for (Map.Entry<YearMonth, Integer> entry : counts.entrySet()) {
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            total += entry.getValue();
+            out.write('{');
+            JsonWriter.writeName(out, "month");
+            JsonWriter.writeString(out, entry.getKey().toString());
+            out.write(',');
+            JsonWriter.writeName(out, "added");
+            out.write(String.valueOf(entry.getValue()));
+            out.write(',');
+            JsonWriter.writeName(out, "total");
+            out.write(String.valueOf(total));
+            out.write('}');
+        }
+        out.write("]}");
+    }
+
+    private void writeHistogram(HttpServletResponse response, StudentColumnStore.TimeHistogram histogram)
+            throws IOException {
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        out.write('{');
+        JsonWriter.writeName(out, "from");
+        JsonWriter.writeString(out, LocalDateTime.ofInstant(Instant.ofEpochMilli(histogram.getFrom()),
+                ZoneId.systemDefault()).toString());
+        out.write(',');
+        JsonWriter.writeName(out, "bucketMillis");
+        out.write(String.valueOf(histogram.getBucketMillis()));
+        out.write(',');
+        JsonWriter.writeName(out, "counts");
+        out.write('[');
+        int[] counts = histogram.getCounts();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(String.valueOf(counts[i]));
+        }
+        out.write("]}");
+    }
+
+    private static long startOfDay(String value, long defaultValue) {
+        LocalDate day = parseDate(value);
+        return day == null ? defaultValue : epochMillis(day);
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null || value.trim().isEmpty() ? null : LocalDate.parse(value.trim());
+    }
+
+    private static long epochMillis(LocalDate day) {
+        return day.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        out.write('{');
+        JsonWriter.writeName(out, "error");
+        JsonWriter.writeString(out, message);
+        out.write('}');
+    }
+}
@@ -1,7 +1,8 @@
 package com.student.controller;
 
-import com.student.dao.StudentDAO;
-import com.student.model.User;
+import com.student.security.AuthSessions;
+import com.student.security.UserPrincipal;
+import com.student.service.StudentStatistics;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
@@ -11,31 +12,31 @@ import java.io.IOException;
 @WebServlet("/dashboard")
 public class DashboardController extends HttpServlet {
     
-    private StudentDAO studentDAO;
+    private StudentStatistics statistics;
     
     @Override
     public void init() {
-        studentDAO = new StudentDAO();
+        statistics = (StudentStatistics) getServletContext().getAttribute(StudentStatistics.ATTRIBUTE);
     }
     
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        // Get user from session
-        HttpSession session = request.getSession(false);
-        if (session == null || session.getAttribute("user") == null) {
+        // Get the user resolved by AuthFilter
+        UserPrincipal user = AuthSessions.current(request);
+        if (user == null) {
             response.sendRedirect("login");
             return;
         }
         
-        User user = (User) session.getAttribute("user");
-        
-        // Get statistics (total students)
-        int totalStudents = studentDAO.getAllStudents().size();
+        // Get statistics from the in-memory counters
+        request.setAttribute("totalStudents", statistics.getTotalStudents());
+        request.setAttribute("countsByMajor", statistics.getCountsByMajor());
+        request.setAttribute("enrolledLast7Days", statistics.getEnrolledInLastDays(7));
+        request.setAttribute("enrolledLast30Days", statistics.getEnrolledInLastDays(30));
         
         // Set attributes
-        request.setAttribute("totalStudents", totalStudents);
         request.setAttribute("user", user);
         
         // Forward to dashboard.jsp
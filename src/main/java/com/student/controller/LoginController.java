@@ -2,20 +2,34 @@ package com.student.controller;
 
 import com.student.dao.UserDAO;
 import com.student.model.User;
+import com.student.security.AuthSessions;
+import com.student.service.LoginExecutor;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
 
 import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-@WebServlet("/login")
+@WebServlet(urlPatterns = "/login", asyncSupported = true)
 public class LoginController extends HttpServlet {
     
+    // Seconds a client is asked to wait when the login pool is saturated
+    private static final String RETRY_AFTER_SECONDS = "2";
+    
     private UserDAO userDAO;
+    private LoginExecutor loginExecutor;
+    private AuthSessions authSessions;
     
     @Override
     public void init() {
         userDAO = new UserDAO();
+        loginExecutor = (LoginExecutor) getServletContext().getAttribute(LoginExecutor.ATTRIBUTE);
+        authSessions = (AuthSessions) getServletContext().getAttribute(AuthSessions.ATTRIBUTE);
     }
     
     @Override
@@ -23,8 +37,7 @@ public class LoginController extends HttpServlet {
             throws ServletException, IOException {
         
         // Check if already logged in
-        HttpSession session = request.getSession(false);
-        if (session != null && session.getAttribute("user") != null) {
+        if (authSessions.resolve(request, response) != null) {
             // Already logged in, redirect to dashboard
             response.sendRedirect("dashboard");
             return;
@@ -51,43 +64,117 @@ public class LoginController extends HttpServlet {
             return;
         }
         
-        // Authenticate user
-        User user = userDAO.authenticate(username.trim(), password);
+        // Without the shared pool (e.g. listener not deployed) verify inline
+        if (loginExecutor == null) {
+            User user = userDAO.authenticate(username.trim(), password);
+            if (user != null) {
+                authSessions.signIn(request, response, user);
+                response.sendRedirect("dashboard");
+            } else {
+                rejectCredentials(request, username);
+                request.getRequestDispatcher("/views/login.jsp").forward(request, response);
+            }
+            return;
+        }
         
-        if (user != null) {
-            // Authentication successful
-            // 1. Invalidate old session (security)
-            HttpSession oldSession = request.getSession(false);
-            if (oldSession != null) {
-                oldSession.invalidate();
+        // Release the request thread while BCrypt runs on the login pool
+        AsyncContext async = request.startAsync();
+        async.setTimeout(loginExecutor.getTimeoutMillis());
+        AtomicBoolean answered = new AtomicBoolean();
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                if (answered.compareAndSet(false, true)) {
+                    respondBusy(async);
+                }
             }
             
-            // 2. Create new session
-            HttpSession session = request.getSession(true);
-            
-            // 3. Store user data in session
-            session.setAttribute("user", user);
-            session.setAttribute("userId", user.getId());
-            session.setAttribute("username", user.getUsername());
-            session.setAttribute("role", user.getRole());
-            session.setAttribute("fullName", user.getFullName());
-            
-            // 4. Set session timeout (30 minutes)
-            session.setMaxInactiveInterval(30 * 60); // 30 minutes in seconds
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
             
-            // 5. Redirect based on role
-            if (user.isAdmin()) {
-                response.sendRedirect("dashboard");
-            } else {
-                response.sendRedirect("dashboard");
+            @Override
+            public void onError(AsyncEvent event) {
+                answered.set(true);
             }
             
-        } else {
-            // Authentication failed
-            request.setAttribute("error", "Invalid username or password");
-            request.setAttribute("username", username); // Remember username
-            request.getRequestDispatcher("/views/login.jsp").forward(request, response);
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        
+        try {
+            loginExecutor.execute(() -> {
+                // A request that timed out in the queue has been answered: skip the hash
+                if (answered.get()) {
+                    return;
+                }
+                User user;
+                try {
+                    user = userDAO.authenticate(username.trim(), password);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    if (answered.compareAndSet(false, true)) {
+                        respondError(async);
+                    }
+                    return;
+                }
+                if (answered.compareAndSet(false, true)) {
+                    finishLogin(async, user, username);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Pool and queue are full: fail fast instead of piling up requests
+            if (answered.compareAndSet(false, true)) {
+                respondBusy(async);
+            }
+        }
+    }
+    
+    // Runs on a login worker thread
+    private void finishLogin(AsyncContext async, User user, String username) {
+        HttpServletRequest request = (HttpServletRequest) async.getRequest();
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        
+        if (user == null) {
+            rejectCredentials(request, username);
+            async.dispatch("/views/login.jsp");
+            return;
+        }
+        try {
+            authSessions.signIn(request, response, user);
+            response.sendRedirect("dashboard");
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        } finally {
+            async.complete();
         }
     }
+    
+    private void rejectCredentials(HttpServletRequest request, String username) {
+        request.setAttribute("error", "Invalid username or password");
+        request.setAttribute("username", username); // Remember username
+    }
+    
+    // 500 when verification itself failed, so it is not reported as bad credentials
+    private void respondError(AsyncContext async) {
+        HttpServletRequest request = (HttpServletRequest) async.getRequest();
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        request.setAttribute("error", "Sign-in failed because of a server error, please try again");
+        request.setAttribute("username", request.getParameter("username"));
+        async.dispatch("/views/login.jsp");
+    }
+    
+    // 503 with Retry-After, rendered through the normal login page
+    private void respondBusy(AsyncContext async) {
+        HttpServletRequest request = (HttpServletRequest) async.getRequest();
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        request.setAttribute("error", "The server is busy, please try again in a moment");
+        request.setAttribute("username", request.getParameter("username"));
+        async.dispatch("/views/login.jsp");
+    }
 }
-
@@ -1,5 +1,6 @@
 package com.student.controller;
 
+import com.student.security.AuthSessions;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.*;
@@ -13,13 +14,9 @@ public class LogoutController extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        // Get session (don't create if doesn't exist)
-        HttpSession session = request.getSession(false);
-        
-        // If session exists, invalidate it
-        if (session != null) {
-            session.invalidate();
-        }
+        // Drop the session and/or the login cookie
+        AuthSessions authSessions = (AuthSessions) getServletContext().getAttribute(AuthSessions.ATTRIBUTE);
+        authSessions.signOut(request, response);
         
         // Redirect to login with success message
         response.sendRedirect("login?message=You have been logged out successfully");
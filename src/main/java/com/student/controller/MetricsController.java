@@ -0,0 +1,166 @@
+package com.student.controller;
+
+import com.student.analytics.StudentColumnStore;
+import com.student.dao.ConnectionPool;
+import com.student.dao.LastLoginWriter;
+import com.student.dao.StudentDAO;
+import com.student.dao.StudentQueryCache;
+import com.student.metrics.Metrics;
+import com.student.security.AuthSessions;
+import com.student.security.RoutePolicy;
+import com.student.security.UserPrincipal;
+import com.student.service.LoginExecutor;
+import com.student.service.StudentEventBus;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Prometheus scrape endpoint: request, DAO, BCrypt and view latencies plus
+ * connection pool, query cache, login pool, event stream and route counters.
+ * Open to admins, or to a scraper presenting the metrics.token bearer token.
+ */
+@WebServlet("/metrics")
+public class MetricsController extends HttpServlet {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private AuthSessions authSessions;
+    private byte[] scrapeToken;
+
+    @Override
+    public void init() {
+        ServletContext context = getServletContext();
+        authSessions = (AuthSessions) context.getAttribute(AuthSessions.ATTRIBUTE);
+        String token = context.getInitParameter("metrics.token");
+        scrapeToken = token == null || token.trim().isEmpty()
+                ? null : token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isAuthorized(request, response)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Admin access or metrics token required");
+            return;
+        }
+
+        response.setContentType(CONTENT_TYPE);
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+        Metrics.writeTo(out);
+        writePoolStats(out);
+        writeCacheStats(out);
+        writeLoginStats(out);
+        writeEventStats(out);
+        writeAnalyticsStats(out);
+        writeRouteStats(out);
+        out.flush();
+    }
+
+    private boolean isAuthorized(HttpServletRequest request, HttpServletResponse response) {
+        String header = request.getHeader("Authorization");
+        if (scrapeToken != null && header != null && header.startsWith("Bearer ")) {
+            byte[] presented = header.substring(7).trim().getBytes(StandardCharsets.UTF_8);
+            return MessageDigest.isEqual(presented, scrapeToken);
+        }
+        UserPrincipal user = authSessions.resolve(request, response);
+        return user != null && user.isAdmin();
+    }
+
+    private void writePoolStats(PrintWriter out) {
+        ConnectionPool.Stats pool = ConnectionPool.getStats();
+        gauge(out, "db_pool_active_connections", "Connections in use", pool.getActive());
+        gauge(out, "db_pool_idle_connections", "Idle pooled connections", pool.getIdle());
+        gauge(out, "db_pool_total_connections", "Open pooled connections", pool.getTotal());
+        gauge(out, "db_pool_pending_threads", "Threads waiting for a connection", pool.getWaiting());
+        gauge(out, "db_pool_max_connections", "Configured pool size", pool.getMaxSize());
+    }
+
+    private void writeCacheStats(PrintWriter out) {
+        StudentQueryCache.Stats cache = StudentDAO.getCacheStats();
+        gauge(out, "student_query_cache_entries", "Cached student query results", cache.getSize());
+        counter(out, "student_query_cache_hits_total", "Query cache hits", cache.getHits());
+        counter(out, "student_query_cache_misses_total", "Query cache misses", cache.getMisses());
+        counter(out, "student_query_cache_evictions_total", "Query cache evictions", cache.getEvictions());
+        counter(out, "student_query_cache_invalidations_total", "Query cache invalidations",
+                cache.getInvalidations());
+    }
+
+    private void writeLoginStats(PrintWriter out) {
+        LoginExecutor executor = (LoginExecutor) getServletContext().getAttribute(LoginExecutor.ATTRIBUTE);
+        if (executor != null) {
+            gauge(out, "login_executor_active_threads", "Login workers checking a password",
+                    executor.getActiveCount());
+            gauge(out, "login_executor_queue_depth", "Logins waiting for a worker", executor.getQueueDepth());
+            counter(out, "login_executor_completed_total", "Login checks completed",
+                    executor.getCompletedCount());
+            counter(out, "login_executor_rejected_total", "Logins rejected with 503",
+                    executor.getRejectedCount());
+        }
+        LastLoginWriter writer = (LastLoginWriter) getServletContext().getAttribute(LastLoginWriter.ATTRIBUTE);
+        if (writer != null) {
+            gauge(out, "last_login_pending_updates", "Queued last_login writes", writer.getPendingCount());
+        }
+    }
+
+    private void writeEventStats(PrintWriter out) {
+        StudentEventBus bus = (StudentEventBus) getServletContext().getAttribute(StudentEventBus.ATTRIBUTE);
+        if (bus != null) {
+            gauge(out, "student_event_streams", "Open Server-Sent Events connections", bus.getSubscriberCount());
+            counter(out, "student_events_published_total", "Student changes published to the event bus",
+                    bus.getPublishedCount());
+            counter(out, "student_event_streams_dropped_total", "Event streams closed for falling behind",
+                    bus.getDroppedCount());
+        }
+    }
+
+    private void writeAnalyticsStats(PrintWriter out) {
+        StudentColumnStore store = (StudentColumnStore) getServletContext().getAttribute(StudentColumnStore.ATTRIBUTE);
+        if (store != null) {
+            gauge(out, "student_analytics_rows", "Rows in the columnar analytics store", store.getRowCount());
+            gauge(out, "student_analytics_bytes", "Heap held by the columnar analytics store",
+                    store.getFootprintBytes());
+        }
+    }
+
+    private void writeRouteStats(PrintWriter out) {
+        RoutePolicy policy = (RoutePolicy) getServletContext().getAttribute(RoutePolicy.ATTRIBUTE);
+        if (policy == null) {
+            return;
+        }
+        out.print("# HELP route_policy_matches_total Requests matched by each access rule\n");
+        out.print("# TYPE route_policy_matches_total counter\n");
+        for (RoutePolicy.Rule rule : policy.getRules()) {
+            out.print("route_policy_matches_total{rule=\"" + escape(rule.getName()) + "\",access=\""
+                    + rule.getAccess() + "\"} " + rule.getHits() + "\n");
+        }
+        out.print("# HELP route_policy_denials_total Requests refused by each access rule\n");
+        out.print("# TYPE route_policy_denials_total counter\n");
+        for (RoutePolicy.Rule rule : policy.getRules()) {
+            out.print("route_policy_denials_total{rule=\"" + escape(rule.getName()) + "\",access=\""
+                    + rule.getAccess() + "\"} " + rule.getDenials() + "\n");
+        }
+    }
+
+    private static void gauge(PrintWriter out, String name, String help, long value) {
+        out.print("# HELP " + name + " " + help + "\n# TYPE " + name + " gauge\n" + name + " " + value + "\n");
+    }
+
+    private static void counter(PrintWriter out, String name, String help, long value) {
+        out.print("# HELP " + name + " " + help + "\n# TYPE " + name + " counter\n" + name + " " + value + "\n");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
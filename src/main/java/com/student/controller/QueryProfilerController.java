@@ -0,0 +1,44 @@
+package com.student.controller;
+
+import com.student.dao.ConnectionPool;
+import com.student.dao.QueryProfiler;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Admin view of the statement profiler: slowest query shapes of the rolling
+ * window and the most recent slow statements (with EXPLAIN output when on).
+ * Access is restricted to admins by the route policy (/admin/*).
+ */
+@WebServlet("/admin/queries")
+public class QueryProfilerController extends HttpServlet {
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        QueryProfiler profiler = ConnectionPool.getQueryProfiler();
+        request.setAttribute("profiler", profiler);
+        request.setAttribute("topQueries", profiler.getTopQueries());
+        request.setAttribute("recentSlow", profiler.getRecentSlow());
+        response.setHeader("Cache-Control", "no-store");
+        request.getRequestDispatcher("/views/admin-queries.jsp").forward(request, response);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if ("reset".equals(request.getParameter("action"))) {
+            ConnectionPool.getQueryProfiler().reset();
+            response.sendRedirect("queries?message=Query statistics cleared");
+            return;
+        }
+        response.sendRedirect("queries");
+    }
+}
@@ -0,0 +1,81 @@
+package com.student.controller;
+
+import com.student.filter.CompressionFilter;
+import com.student.service.StaticAssets;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Serves StaticAssets. A current fingerprinted URL never changes content,
+ * so it is cached as immutable for a year; any other name of a known asset
+ * (plain path, or the fingerprint of an older deployment) gets the current
+ * content with no-cache. Text assets are sent pre-gzipped when accepted.
+ */
+@WebServlet("/static/*")
+public class StaticAssetController extends HttpServlet {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        StaticAssets assets = (StaticAssets) getServletContext().getAttribute(StaticAssets.ATTRIBUTE);
+        String path = request.getPathInfo();
+        if (assets == null || path == null || path.length() < 2) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        path = path.substring(1);
+
+        StaticAssets.Asset asset = assets.getVersioned(path);
+        boolean current = asset != null;
+        if (!current) {
+            asset = assets.getCurrent(path);
+        }
+        if (asset == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader("Cache-Control", current ? IMMUTABLE : "no-cache");
+        response.setHeader("ETag", asset.getEtag());
+        if (asset.getGzipped() != null) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        if (matches(request.getHeader("If-None-Match"), asset.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        byte[] body = asset.getContent();
+        if (asset.getGzipped() != null && CompressionFilter.acceptsGzip(request)) {
+            body = asset.getGzipped();
+            response.setHeader("Content-Encoding", "gzip");
+            CompressionFilter.recordCompressed("static", asset.getContent().length, body.length);
+        }
+        response.setContentType(asset.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // If-None-Match is a list of tags (or *); weak comparison
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,385 @@
+package com.student.controller;
+
+import com.student.dao.StudentDAO;
+import com.student.model.Page;
+import com.student.model.Student;
+import com.student.util.JsonReader;
+import com.student.util.JsonWriter;
+import com.student.util.StudentJson;
+import com.student.validation.StudentField;
+import com.student.validation.StudentValidator;
+import com.student.validation.ValidationResult;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON resource for students:
+ *   GET    /api/students            paged list (keyword, major, sortBy, order, pageSize, cursor)
+ *   GET    /api/students?ids=1,2,3  several students by id, in the order given
+ *   GET    /api/students/{id}       one student
+ *   POST   /api/students            create
+ *   PUT    /api/students/{id}       update
+ *   DELETE /api/students/{id}       delete
+ *
+ * A keyword-free list page carries the ETag "v<version>" of the shared data
+ * version its rows were read at (StudentDAO.getDataVersion). A repeat poll
+ * that sends it back while the version is unchanged is answered with 304
+ * after one primary-key read, without running the page query or rendering
+ * rows. Other successful GETs (keyword pages, single and multi-gets) are
+ * rendered into a buffer and carry a strong ETag hashed from that body. Both
+ * are weakened by CompressionFilter when gzipped; errors carry no ETag.
+ */
+@WebServlet("/api/students/*")
+public class StudentApiController extends HttpServlet {
+
+    private static final String JSON_TYPE = "application/json;charset=UTF-8";
+
+    // Most ids one multi-get may ask for
+    private static final int MAX_IDS = 1000;
+
+    private StudentDAO studentDAO;
+
+    @Override
+    public void init() {
+        studentDAO = new StudentDAO();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        StringWriter body = new StringWriter(1024);
+        String path = request.getPathInfo();
+        if ((path == null || "/".equals(path)) && request.getParameter("ids") != null) {
+            if (getStudents(request, response, body)) {
+                sendWithEtag(request, response, body.toString(), etagFor(body.toString()));
+            }
+            return;
+        }
+        if (path == null || "/".equals(path)) {
+            Page<Student> page = listStudents(request, response, body);
+            if (page != null) {
+                String etag = page.getDataVersion() >= 0
+                        ? versionEtag(page.getDataVersion()) : etagFor(body.toString());
+                sendWithEtag(request, response, body.toString(), etag);
+            }
+            return;
+        }
+
+        Integer id = parseId(path);
+        if (id == null) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Unknown resource");
+            return;
+        }
+        Student student = studentDAO.getStudentById(id);
+        if (student == null) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
+            return;
+        }
+        StudentJson.write(body, student);
+        sendWithEtag(request, response, body.toString(), etagFor(body.toString()));
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String path = request.getPathInfo();
+        if (path != null && !"/".equals(path)) {
+            sendError(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "Use PUT to update a student");
+            return;
+        }
+
+        Student student = readStudent(request, response);
+        if (student == null || !validate(student, response)) {
+            return;
+        }
+
+        if (!studentDAO.addStudent(student)) {
+            sendError(response, HttpServletResponse.SC_CONFLICT,
+                    "Student could not be created; the student code may already exist");
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_CREATED);
+        response.setHeader("Location", request.getContextPath() + "/api/students/" + student.getId());
+        response.setContentType(JSON_TYPE);
+        StudentJson.write(response.getWriter(), studentDAO.getStudentById(student.getId()));
+    }
+
+    @Override
+    protected void doPut(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Integer id = parseId(request.getPathInfo());
+        if (id == null) {
+            sendError(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "PUT requires a student id");
+            return;
+        }
+        Student existing = studentDAO.getStudentById(id);
+        if (existing == null) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
+            return;
+        }
+
+        Student changes = readStudent(request, response);
+        if (changes == null) {
+            return;
+        }
+        // The student code is fixed once created, as in the edit form
+        Student student = new Student(existing.getStudentCode(),
+                changes.getFullName(), changes.getEmail(), changes.getMajor());
+        student.setId(id);
+        if (!validate(student, response)) {
+            return;
+        }
+
+        if (!studentDAO.updateStudent(student)) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
+            return;
+        }
+        response.setContentType(JSON_TYPE);
+        StudentJson.write(response.getWriter(), studentDAO.getStudentById(id));
+    }
+
+    @Override
+    protected void doDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Integer id = parseId(request.getPathInfo());
+        if (id == null) {
+            sendError(response, HttpServletResponse.SC_METHOD_NOT_ALLOWED, "DELETE requires a student id");
+            return;
+        }
+        if (!studentDAO.deleteStudent(id)) {
+            sendError(response, HttpServletResponse.SC_NOT_FOUND, "Student not found");
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    // Renders the students into out; sends an error and returns false on a bad request
+    private boolean getStudents(HttpServletRequest request, HttpServletResponse response, Writer out)
+            throws IOException {
+        List<Integer> ids = new ArrayList<>();
+        for (String part : request.getParameter("ids").split(",")) {
+            if (part.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                ids.add(Integer.parseInt(part.trim()));
+            } catch (NumberFormatException e) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "ids must be comma-separated numbers");
+                return false;
+            }
+        }
+        if (ids.size() > MAX_IDS) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "At most " + MAX_IDS + " ids per request");
+            return false;
+        }
+
+        List<Student> students = ids.isEmpty() ? new ArrayList<>() : studentDAO.getStudentsByIds(ids);
+        out.write('{');
+        JsonWriter.writeName(out, "items");
+        out.write('[');
+        for (int i = 0; i < students.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            StudentJson.write(out, students.get(i));
+        }
+        out.write("]}");
+        return true;
+    }
+
+    /**
+     * Renders one page into out and returns it. Returns null when the
+     * response was already sent: an error for a bad request, or 304 when the
+     * client holds the ETag of the current data version.
+     */
+    private Page<Student> listStudents(HttpServletRequest request, HttpServletResponse response, Writer out)
+            throws IOException {
+        int pageSize = StudentDAO.DEFAULT_PAGE_SIZE;
+        String pageSizeParam = request.getParameter("pageSize");
+        if (pageSizeParam != null) {
+            try {
+                pageSize = Integer.parseInt(pageSizeParam.trim());
+            } catch (NumberFormatException e) {
+                sendError(response, HttpServletResponse.SC_BAD_REQUEST, "pageSize must be a number");
+                return null;
+            }
+        }
+        if (holdsCurrentVersion(request, response)) {
+            return null;
+        }
+
+        Page<Student> page = studentDAO.getStudentsPage(
+                request.getParameter("keyword"),
+                request.getParameter("major"),
+                request.getParameter("sortBy"),
+                request.getParameter("order"),
+                request.getParameter("cursor"),
+                pageSize);
+
+        out.write('{');
+        JsonWriter.writeName(out, "items");
+        out.write('[');
+        List<Student> items = page.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            StudentJson.write(out, items.get(i));
+        }
+        out.write("],");
+        JsonWriter.writeName(out, "pageSize");
+        out.write(Integer.toString(page.getPageSize()));
+        out.write(',');
+        JsonWriter.writeName(out, "previousCursor");
+        JsonWriter.writeString(out, page.getPreviousCursor());
+        out.write(',');
+        JsonWriter.writeName(out, "nextCursor");
+        JsonWriter.writeString(out, page.getNextCursor());
+        out.write('}');
+        return page;
+    }
+
+    // Sends 304 and returns true when If-None-Match holds the ETag of the current data version
+    private boolean holdsCurrentVersion(HttpServletRequest request, HttpServletResponse response) {
+        String header = request.getHeader("If-None-Match");
+        if (header == null || !header.contains("\"v")) {
+            return false;
+        }
+        long version = studentDAO.getDataVersion();
+        if (version < 0 || !matchesIfNoneMatch(header, versionEtag(version))) {
+            return false;
+        }
+        response.setHeader("ETag", versionEtag(version));
+        response.setHeader("Cache-Control", "private, no-cache");
+        response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        return true;
+    }
+
+    // 200 with the body, or 304 when the client already holds this ETag
+    private static void sendWithEtag(HttpServletRequest request, HttpServletResponse response, String body,
+                                     String etag) throws IOException {
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (matchesIfNoneMatch(request.getHeader("If-None-Match"), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(JSON_TYPE);
+        response.getWriter().write(body);
+    }
+
+    // Parse the request body; sends 400 and returns null when it is not a JSON object
+    private Student readStudent(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            return StudentJson.read(JsonReader.parseObject(request.getReader()));
+        } catch (IOException e) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return null;
+        }
+    }
+
+    // Sends 400 with per-field messages and returns false when invalid
+    private boolean validate(Student student, HttpServletResponse response) throws IOException {
+        ValidationResult result = StudentValidator.DEFAULT.validate(student);
+        if (result.isValid()) {
+            return true;
+        }
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        out.write('{');
+        JsonWriter.writeName(out, "error");
+        JsonWriter.writeString(out, "Validation failed");
+        out.write(',');
+        JsonWriter.writeName(out, "fields");
+        out.write('{');
+        boolean first = true;
+        for (StudentField field : StudentField.values()) {
+            if (!result.hasError(field)) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            first = false;
+            JsonWriter.writeName(out, field.getFieldName());
+            JsonWriter.writeString(out, result.getError(field));
+        }
+        out.write("}}");
+        return false;
+    }
+
+    private static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType(JSON_TYPE);
+        Writer out = response.getWriter();
+        out.write('{');
+        JsonWriter.writeName(out, "error");
+        JsonWriter.writeString(out, message);
+        out.write('}');
+    }
+
+    // "/{id}" -> id, anything else -> null
+    private static Integer parseId(String path) {
+        if (path == null || path.length() < 2) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(path.substring(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String versionEtag(long version) {
+        return "\"v" + version + '"';
+    }
+
+    // First 128 bits of the SHA-256 of the body, in hex
+    private static String etagFor(String body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body.getBytes(StandardCharsets.UTF_8));
+            StringBuilder etag = new StringBuilder(34).append('"');
+            for (int i = 0; i < 16; i++) {
+                etag.append(Character.forDigit((digest[i] >> 4) & 0xf, 16))
+                        .append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+            return etag.append('"').toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Weak comparison, as If-None-Match requires: W/"x" matches "x"
+    private static boolean matchesIfNoneMatch(String header, String etag) {
+        if (header == null) {
+            return false;
+        }
+        for (String candidate : header.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,7 +1,20 @@
 package com.student.controller;
 
 import com.student.dao.StudentDAO;
+import com.student.export.CsvStudentExportWriter;
+import com.student.export.HtmlStudentRowWriter;
+import com.student.export.JsonStudentExportWriter;
+import com.student.export.StudentExportWriter;
+import com.student.filter.MetricsFilter;
+import com.student.model.ImportResult;
+import com.student.model.Page;
 import com.student.model.Student;
+import com.student.service.StudentEventBus;
+import com.student.service.StudentImportService;
+import com.student.util.MultipartReader;
+import com.student.validation.StudentField;
+import com.student.validation.StudentValidator;
+import com.student.validation.ValidationResult;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -9,17 +22,45 @@ import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @WebServlet("/student")
 public class StudentController extends HttpServlet {
 
+    private static final int IO_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_STREAM_FLUSH_ROWS = 100;
+
     private StudentDAO studentDAO;
+    private StudentImportService importService;
+    private StudentEventBus eventBus;
+    private int importBatchSize;
+    private int streamFlushRows;
 
     @Override
     public void init() {
         studentDAO = new StudentDAO();
+        importService = new StudentImportService(studentDAO, StudentValidator.DEFAULT);
+        eventBus = (StudentEventBus) getServletContext().getAttribute(StudentEventBus.ATTRIBUTE);
+
+        String batchSize = getServletContext().getInitParameter("import.batchSize");
+        importBatchSize = batchSize != null ? Integer.parseInt(batchSize.trim())
+                : StudentImportService.DEFAULT_BATCH_SIZE;
+
+        String flushRows = getServletContext().getInitParameter("list.streamFlushRows");
+        streamFlushRows = flushRows != null ? Integer.parseInt(flushRows.trim()) : DEFAULT_STREAM_FLUSH_ROWS;
     }
 
     @Override
@@ -34,27 +75,43 @@ public class StudentController extends HttpServlet {
 
         switch (action) {
             case "list":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "list");
                 listStudents(request, response);
                 break;
             case "new":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "new");
                 showNewForm(request, response);
                 break;
             case "edit":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "edit");
                 showEditForm(request, response);
                 break;
             case "delete":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "delete");
                 deleteStudent(request, response);
                 break;
             case "search":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "search");
                 searchStudents(request, response);
                 break;
             case "sort":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "sort");
                 sortStudents(request, response);
                 break;
             case "filter":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "filter");
                 filterStudents(request, response);
                 break;
+            case "export":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "export");
+                exportStudents(request, response);
+                break;
+            case "import":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "import");
+                showImportForm(request, response);
+                break;
             default:
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "list");
                 listStudents(request, response);
                 break;
         }
@@ -68,12 +125,31 @@ public class StudentController extends HttpServlet {
 
         switch (action) {
             case "insert":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "insert");
                 insertStudent(request, response);
                 break;
             case "update":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "update");
                 updateStudent(request, response);
                 break;
+            case "import":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "import");
+                importStudents(request, response);
+                break;
+            case "bulkDelete":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "bulkDelete");
+                bulkDelete(request, response);
+                break;
+            case "bulkDeleteMatching":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "bulkDeleteMatching");
+                bulkDeleteMatching(request, response);
+                break;
+            case "bulkUpdateMajor":
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "bulkUpdateMajor");
+                bulkUpdateMajor(request, response);
+                break;
             default:
+                request.setAttribute(MetricsFilter.ACTION_ATTRIBUTE, "list");
                 listStudents(request, response);
                 break;
         }
@@ -82,14 +158,12 @@ public class StudentController extends HttpServlet {
     private void listStudents(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
-        List<Student> students = studentDAO.getAllStudents();
-        request.setAttribute("students", students);
         request.setAttribute("keyword", "");
         request.setAttribute("selectedMajor", "");
         request.setAttribute("sortBy", "id");
         request.setAttribute("order", "desc");
 
-        forwardToList(request, response);
+        forwardPage(request, response, "list", null, null, "id", "desc");
     }
 
     private void showNewForm(HttpServletRequest request, HttpServletResponse response)
@@ -174,16 +248,87 @@ public class StudentController extends HttpServlet {
         }
     }
 
+    // Delete the students ticked on the list page (ids=1&ids=2 or ids=1,2)
+    private void bulkDelete(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        List<Integer> ids = parseIds(request.getParameterValues("ids"));
+        if (ids == null) {
+            response.sendRedirect("student?action=list&error=Invalid student id");
+            return;
+        }
+        if (ids.isEmpty()) {
+            response.sendRedirect("student?action=list&error=Select the students to delete");
+            return;
+        }
+
+        try {
+            int deleted = studentDAO.deleteStudents(ids);
+            response.sendRedirect("student?action=list&message=" + deleted + " student(s) deleted");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.sendRedirect("student?action=list&error=Failed to delete students");
+        }
+    }
+
+    // Delete every student matching the current search and/or major filter
+    private void bulkDeleteMatching(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String keyword = request.getParameter("keyword");
+        String major = request.getParameter("major");
+        if ((keyword == null || keyword.trim().isEmpty()) && (major == null || major.trim().isEmpty())) {
+            response.sendRedirect("student?action=list&error=Search or filter before deleting matching students");
+            return;
+        }
+
+        try {
+            int deleted = studentDAO.deleteStudentsFiltered(keyword, major);
+            response.sendRedirect("student?action=list&message=" + deleted + " student(s) deleted");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.sendRedirect("student?action=list&error=Failed to delete students");
+        }
+    }
+
+    // Move the ticked students to another major
+    private void bulkUpdateMajor(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        List<Integer> ids = parseIds(request.getParameterValues("ids"));
+        String major = request.getParameter("newMajor");
+        major = major != null ? major.trim() : "";
+        if (ids == null) {
+            response.sendRedirect("student?action=list&error=Invalid student id");
+            return;
+        }
+        if (ids.isEmpty()) {
+            response.sendRedirect("student?action=list&error=Select the students to update");
+            return;
+        }
+        String majorError = StudentValidator.DEFAULT.validateField(StudentField.MAJOR, major);
+        if (majorError != null) {
+            response.sendRedirect("student?action=list&error=" + majorError);
+            return;
+        }
+
+        try {
+            int updated = studentDAO.updateStudentsMajor(ids, major);
+            response.sendRedirect("student?action=list&message=" + updated + " student(s) updated");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.sendRedirect("student?action=list&error=Failed to update students");
+        }
+    }
+
     private void searchStudents(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
         String keyword = request.getParameter("keyword");
-        List<Student> students = studentDAO.searchStudents(keyword);
 
-        request.setAttribute("students", students);
         request.setAttribute("keyword", keyword != null ? keyword.trim() : "");
 
-        forwardToList(request, response);
+        forwardPage(request, response, "search", keyword, null, "id", "desc");
     }
 
     private void sortStudents(HttpServletRequest request, HttpServletResponse response)
@@ -192,65 +337,206 @@ public class StudentController extends HttpServlet {
         String sortBy = sanitizeSortBy(request.getParameter("sortBy"));
         String order = sanitizeOrder(request.getParameter("order"));
 
-        List<Student> students = studentDAO.getStudentsSorted(sortBy, order);
-
-        request.setAttribute("students", students);
         request.setAttribute("sortBy", sortBy);
         request.setAttribute("order", order);
 
-        forwardToList(request, response);
+        forwardPage(request, response, "sort", null, null, sortBy, order);
     }
 
     private void filterStudents(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
         String major = request.getParameter("major");
-        List<Student> students = studentDAO.getStudentsByMajor(major);
 
-        request.setAttribute("students", students);
         request.setAttribute("selectedMajor", major);
 
-        forwardToList(request, response);
+        forwardPage(request, response, "filter", null, major, "id", "desc");
     }
 
-    private boolean validateStudent(Student student, HttpServletRequest request) {
-        boolean isValid = true;
-
-        // Validate student code
-        String code = student.getStudentCode();
-        if (code == null || code.trim().isEmpty()) {
-            request.setAttribute("errorCode", "Student code is required");
-            isValid = false;
-        } else if (!code.matches("[A-Z]{2}[0-9]{3,}")) {
-            request.setAttribute("errorCode", "Use format: 2 uppercase letters + 3 digits (e.g., SV001)");
-            isValid = false;
-        }
-
-        // Validate full name
-        String fullName = student.getFullName();
-        if (fullName == null || fullName.trim().length() < 2) {
-            request.setAttribute("errorName", "Full name must be at least 2 characters");
-            isValid = false;
-        }
-
-        // Validate email (optional)
-        String email = student.getEmail();
-        if (email != null && !email.trim().isEmpty()) {
-            String emailPattern = "^[A-Za-z0-9+_.-]+@(.+)$";
-            if (!email.matches(emailPattern)) {
-                request.setAttribute("errorEmail", "Please provide a valid email address");
-                isValid = false;
+    private void showImportForm(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        request.setAttribute("batchSize", importBatchSize);
+        forwardToImport(request, response);
+    }
+
+    /**
+     * Bulk insert students from an uploaded CSV file, read straight from the
+     * request body as it arrives. Accepts the import form's multipart upload
+     * (action in the query string, batchSize before the file part) or a raw
+     * text/csv body with batchSize in the query string.
+     */
+    private void importStudents(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        int batchSize = parseBatchSize(request.getParameter("batchSize"), importBatchSize);
+        request.setAttribute("batchSize", batchSize);
+
+        String contentType = request.getContentType();
+        String boundary = MultipartReader.boundaryOf(contentType);
+        try {
+            if (boundary != null) {
+                MultipartReader parts = new MultipartReader(request.getInputStream(), boundary);
+                while (parts.next()) {
+                    if ("batchSize".equals(parts.getName())) {
+                        batchSize = parseBatchSize(parts.readText(16), batchSize);
+                        request.setAttribute("batchSize", batchSize);
+                    } else if ("file".equals(parts.getName())) {
+                        importCsv(request, parts.getBody(), batchSize);
+                        break;
+                    }
+                }
+            } else if (contentType != null && contentType.toLowerCase().startsWith("text/csv")) {
+                importCsv(request, request.getInputStream(), batchSize);
             }
+        } catch (IOException e) {
+            request.setAttribute("error", "Could not read the file: " + e.getMessage());
         }
+        if (request.getAttribute("importResult") == null && request.getAttribute("error") == null) {
+            request.setAttribute("error", "Please choose a CSV file to import");
+        }
+        forwardToImport(request, response);
+    }
 
-        // Validate major
-        String major = student.getMajor();
-        if (major == null || major.trim().isEmpty()) {
-            request.setAttribute("errorMajor", "Major is required");
-            isValid = false;
+    private void importCsv(HttpServletRequest request, InputStream csv, int batchSize) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8), IO_BUFFER_SIZE)) {
+            ImportResult result = importService.importCsv(reader, batchSize);
+            request.setAttribute("importResult", result);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            request.setAttribute("error", "Import stopped by a database error; earlier batches were saved");
         }
+    }
 
-        return isValid;
+    private static int parseBatchSize(String value, int fallback) {
+        if (value == null || value.trim().isEmpty()) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback; // keep the configured default
+        }
+    }
+
+    // Stream matching students as a CSV or JSON download (optionally gzipped)
+    private void exportStudents(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String keyword = request.getParameter("keyword");
+        String major = request.getParameter("major");
+        String sortBy = sanitizeSortBy(request.getParameter("sortBy"));
+        String order = sanitizeOrder(request.getParameter("order"));
+        boolean gzip = "true".equalsIgnoreCase(request.getParameter("gzip"));
+
+        OutputStream stream = response.getOutputStream();
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, IO_BUFFER_SIZE);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+
+        StudentExportWriter writer = "json".equalsIgnoreCase(request.getParameter("format"))
+                ? new JsonStudentExportWriter(out)
+                : new CsvStudentExportWriter(out);
+
+        String fileName = "students." + writer.getFileExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : writer.getContentType() + ";charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+
+        try {
+            writer.begin();
+            studentDAO.streamStudentsFiltered(keyword, major, sortBy, order, writer);
+            writer.end();
+        } catch (SQLException e) {
+            // Headers are already sent; abort so the client sees a truncated download
+            e.printStackTrace();
+            throw new IOException("Export failed", e);
+        }
+        out.close();
+    }
+
+    // Load one keyset page for a list action and forward to the list view
+    private void forwardPage(HttpServletRequest request, HttpServletResponse response, String listAction,
+                             String keyword, String major, String sortBy, String order)
+            throws ServletException, IOException {
+
+        // Taken before the query, so changes made while it runs are replayed to the page
+        if (eventBus != null) {
+            request.setAttribute("eventsSince", eventBus.getLastEventId());
+        }
+
+        if ("true".equalsIgnoreCase(request.getParameter("stream"))) {
+            request.setAttribute("listAction", listAction);
+            streamList(request, response, keyword, major, sortBy, order);
+            return;
+        }
+
+        int pageSize = parsePageSize(request.getParameter("pageSize"));
+        String cursor = request.getParameter("cursor");
+
+        Page<Student> page = studentDAO.getStudentsPage(keyword, major, sortBy, order, cursor, pageSize);
+
+        request.setAttribute("students", page.getItems());
+        request.setAttribute("page", page);
+        request.setAttribute("pageSize", page.getPageSize());
+        request.setAttribute("listAction", listAction);
+
+        forwardToList(request, response);
+    }
+
+    /**
+     * Streaming list mode: the page header is sent before the query runs,
+     * then every matching row is written from a JDBC cursor and flushed in
+     * chunks, then the footer. Nothing is held per row, so any result size
+     * renders in constant memory.
+     */
+    private void streamList(HttpServletRequest request, HttpServletResponse response,
+                            String keyword, String major, String sortBy, String order)
+            throws ServletException, IOException {
+
+        request.setAttribute("streaming", true);
+        if (request.getAttribute("sortBy") == null) {
+            request.setAttribute("sortBy", sortBy);
+            request.setAttribute("order", order);
+        }
+        if (request.getAttribute("keyword") == null) {
+            request.setAttribute("keyword", "");
+        }
+        if (request.getAttribute("selectedMajor") == null) {
+            request.setAttribute("selectedMajor", "");
+        }
+        response.setContentType("text/html;charset=UTF-8");
+        RequestDispatcher view = request.getRequestDispatcher("/views/student-list.jsp");
+
+        request.setAttribute("listPart", "header");
+        view.include(request, response);
+        response.flushBuffer();
+
+        HtmlStudentRowWriter rows = new HtmlStudentRowWriter(request, response, streamFlushRows);
+        try {
+            studentDAO.streamStudentsFiltered(keyword, major, sortBy, order, rows);
+            rows.flush();
+        } catch (SQLException e) {
+            // The header is already sent; end the table with a notice instead of an error page
+            e.printStackTrace();
+            rows.writeMessage("Could not load all students, showing the first " + rows.getRowCount());
+        }
+
+        request.setAttribute("streamedRows", rows.getRowCount());
+        request.setAttribute("listPart", "footer");
+        view.include(request, response);
+    }
+
+    // Package-private for the benchmarks module
+    boolean validateStudent(Student student, HttpServletRequest request) {
+        ValidationResult result = StudentValidator.DEFAULT.validate(student);
+        if (!result.isValid()) {
+            for (StudentField field : StudentField.values()) {
+                if (result.hasError(field)) {
+                    request.setAttribute(field.getErrorAttribute(), result.getError(field));
+                }
+            }
+        }
+        return result.isValid();
     }
 
     private void forwardToList(HttpServletRequest request, HttpServletResponse response)
@@ -271,12 +557,39 @@ public class StudentController extends HttpServlet {
         dispatcher.forward(request, response);
     }
 
+    private void forwardToImport(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        RequestDispatcher dispatcher = request.getRequestDispatcher("/views/student-import.jsp");
+        dispatcher.forward(request, response);
+    }
+
     private void forwardToForm(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         RequestDispatcher dispatcher = request.getRequestDispatcher("/views/student-form.jsp");
         dispatcher.forward(request, response);
     }
 
+    // Repeated and/or comma-separated ids; null when one is not a number
+    private static List<Integer> parseIds(String[] values) {
+        List<Integer> ids = new ArrayList<>();
+        if (values == null) {
+            return ids;
+        }
+        for (String value : values) {
+            for (String part : value.split(",")) {
+                if (part.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    ids.add(Integer.parseInt(part.trim()));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return ids;
+    }
+
     private String sanitizeSortBy(String sortBy) {
         if (sortBy == null) {
             return "id";
@@ -298,5 +611,16 @@ public class StudentController extends HttpServlet {
     private String sanitizeOrder(String order) {
         return "desc".equalsIgnoreCase(order) ? "desc" : "asc";
     }
+
+    private int parsePageSize(String pageSize) {
+        if (pageSize == null || pageSize.trim().isEmpty()) {
+            return StudentDAO.DEFAULT_PAGE_SIZE;
+        }
+        try {
+            return Integer.parseInt(pageSize.trim());
+        } catch (NumberFormatException e) {
+            return StudentDAO.DEFAULT_PAGE_SIZE;
+        }
+    }
 }
 
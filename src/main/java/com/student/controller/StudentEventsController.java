@@ -0,0 +1,232 @@
+package com.student.controller;
+
+import com.student.service.StudentEventBus;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Server-Sent Events stream of student changes for open list pages
+ * (GET /events/students, optionally ?major=...).
+ *
+ * The request goes async and its output is non-blocking: frames queue per
+ * connection and are written whenever the container reports the socket
+ * writable, so an idle connection holds no thread. A client that stops
+ * reading is cut off after events.maxPendingEvents queued frames, and
+ * every connection is ended after events.reconnectMinutes; EventSource
+ * then reconnects with Last-Event-ID, which re-runs the login check and
+ * resumes from the bus's replay buffer.
+ */
+@WebServlet(urlPatterns = "/events/students", asyncSupported = true)
+public class StudentEventsController extends HttpServlet {
+
+    // Client reconnect delay, sent as the SSE retry field
+    private static final long RETRY_MILLIS = 3000;
+
+    private StudentEventBus eventBus;
+    private int maxPending;
+    private long connectionMillis;
+
+    @Override
+    public void init() {
+        eventBus = (StudentEventBus) getServletContext().getAttribute(StudentEventBus.ATTRIBUTE);
+        maxPending = Integer.parseInt(param("events.maxPendingEvents", "256"));
+        connectionMillis = TimeUnit.MINUTES.toMillis(Long.parseLong(param("events.reconnectMinutes", "5")));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (eventBus == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Live updates are disabled");
+            return;
+        }
+
+        String major = request.getParameter("major");
+        if (major != null && major.trim().isEmpty()) {
+            major = null;
+        }
+        long lastEventId = parseId(request.getHeader("Last-Event-ID"));
+        if (lastEventId < 0) {
+            // First connect: the page's render-time id, so nothing between render and connect is lost
+            lastEventId = parseId(request.getParameter("since"));
+        }
+
+        response.setContentType("text/event-stream;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(connectionMillis);
+        ServletOutputStream out = response.getOutputStream();
+        EventStream stream = new EventStream(async, out, eventBus, major == null ? null : major.trim(), maxPending);
+        async.addListener(stream);
+        stream.send(("retry: " + RETRY_MILLIS + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.setWriteListener(stream);
+
+        if (!eventBus.subscribe(stream, lastEventId)) {
+            // Over events.maxConnections: end the stream, the browser retries after RETRY_MILLIS
+            stream.close();
+        }
+    }
+
+    private String param(String name, String defaultValue) {
+        String value = getServletContext().getInitParameter(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private static long parseId(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * One connected browser: a queue of frames drained with non-blocking
+     * writes, from the bus dispatcher or from the container's
+     * onWritePossible callback, whichever finds the socket ready.
+     */
+    private static final class EventStream implements StudentEventBus.Subscriber, WriteListener, AsyncListener {
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final StudentEventBus bus;
+        private final String major;
+        private final int maxPending;
+        private final ConcurrentLinkedQueue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Serializes writes: the dispatcher and container threads both drain
+        private final ReentrantLock writeLock = new ReentrantLock();
+        private boolean listening;
+        private boolean unflushed;
+
+        EventStream(AsyncContext async, ServletOutputStream out, StudentEventBus bus, String major, int maxPending) {
+            this.async = async;
+            this.out = out;
+            this.bus = bus;
+            this.major = major;
+            this.maxPending = maxPending;
+        }
+
+        @Override
+        public String getMajor() {
+            return major;
+        }
+
+        @Override
+        public void send(byte[] frame) {
+            if (closed.get()) {
+                bus.unsubscribe(this);
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                bus.recordDropped();
+                close();
+                return;
+            }
+            pending.add(frame);
+            drain();
+        }
+
+        @Override
+        public void onWritePossible() {
+            writeLock.lock();
+            try {
+                listening = true;
+            } finally {
+                writeLock.unlock();
+            }
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                bus.unsubscribe(this);
+                writeLock.lock();
+                try {
+                    async.complete();
+                } catch (IllegalStateException e) {
+                    // Already completed by the container
+                } finally {
+                    writeLock.unlock();
+                }
+            }
+        }
+
+        // Write queued frames while the socket takes them; isReady() false means a callback follows
+        private void drain() {
+            writeLock.lock();
+            try {
+                // No writes before the container's first onWritePossible
+                if (!listening) {
+                    return;
+                }
+                while (!closed.get() && out.isReady()) {
+                    byte[] frame = pending.poll();
+                    if (frame == null) {
+                        if (!unflushed) {
+                            return;
+                        }
+                        unflushed = false;
+                        out.flush();
+                        continue;
+                    }
+                    pendingCount.decrementAndGet();
+                    out.write(frame);
+                    unflushed = true;
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            closed.set(true);
+            bus.unsubscribe(this);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.student.dao;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Shared, bounded JDBC connection pool used by all DAOs.
+ * The pool is started and closed by AppContextListener; when a DAO is used
+ * outside the container (e.g. the DAO test mains) it is started lazily.
+ *
+ * With db.replica.urls set, read-only DAO queries borrow from
+ * getReadConnection() instead, which routes to the replicas (see
+ * ReplicaRouter and ReadConsistency); writes always use the primary.
+ */
+public final class ConnectionPool {
+
+    private static final String CONFIG_FILE = "db.properties";
+    private static final String POOL_NAME = "student-management-pool";
+
+    // Not a monitor: the first getConnection() starts the pool while holding
+    // it, and a virtual thread must not pin its carrier during that I/O
+    private static final ReentrantLock LIFECYCLE_LOCK = new ReentrantLock();
+
+    private static volatile HikariDataSource dataSource;
+    private static volatile ReplicaRouter replicaRouter;
+    private static volatile QueryProfiler queryProfiler = QueryProfiler.disabled();
+
+    private ConnectionPool() {
+    }
+
+    // Start the pool from db.properties (system properties take precedence)
+    public static void start() {
+        LIFECYCLE_LOCK.lock();
+        try {
+            if (dataSource == null) {
+                start(loadProperties());
+            }
+        } finally {
+            LIFECYCLE_LOCK.unlock();
+        }
+    }
+
+    // Start the pool with explicit settings
+    public static void start(Properties props) {
+        LIFECYCLE_LOCK.lock();
+        try {
+            if (dataSource != null) {
+                return;
+            }
+
+            HikariConfig config = createConfig(props, POOL_NAME, props.getProperty("db.url"),
+                    props.getProperty("db.username"), props.getProperty("db.password"));
+            config.setMaximumPoolSize(intProperty(props, "db.pool.maxSize", 10));
+            config.setConnectionTimeout(longProperty(props, "db.pool.connectionTimeoutMs", 5000));
+
+            dataSource = new HikariDataSource(config);
+            if (Boolean.parseBoolean(props.getProperty("db.migrate", "true").trim())) {
+                migrate();
+            }
+            replicaRouter = startReplicas(props);
+            queryProfiler = QueryProfiler.fromProperties(props);
+            System.out.println("ConnectionPool started: " + config.getJdbcUrl());
+        } finally {
+            LIFECYCLE_LOCK.unlock();
+        }
+    }
+
+    // Bring the primary's schema up to date before any DAO uses it
+    private static void migrate() {
+        try {
+            SchemaMigrator.migrate(dataSource);
+        } catch (SQLException | RuntimeException e) {
+            dataSource.close();
+            dataSource = null;
+            throw new IllegalStateException("Schema migration failed", e);
+        }
+    }
+
+    /**
+     * One pool per URL in db.replica.urls (comma separated). Replica pools
+     * do not fail startup when a replica is down and give up on a borrow
+     * quickly, since the primary can serve the read instead.
+     */
+    private static ReplicaRouter startReplicas(Properties props) {
+        String urls = props.getProperty("db.replica.urls", "").trim();
+        if (urls.isEmpty()) {
+            return null;
+        }
+        String username = props.getProperty("db.replica.username", props.getProperty("db.username"));
+        String password = props.getProperty("db.replica.password", props.getProperty("db.password"));
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : urls.split(",")) {
+            if (url.trim().isEmpty()) {
+                continue;
+            }
+            HikariConfig config = createConfig(props, POOL_NAME + "-replica-" + (pools.size() + 1),
+                    url.trim(), username, password);
+            config.setMaximumPoolSize(intProperty(props, "db.replica.pool.maxSize",
+                    intProperty(props, "db.pool.maxSize", 10)));
+            config.setConnectionTimeout(longProperty(props, "db.replica.connectionTimeoutMs", 1000));
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            pools.add(new HikariDataSource(config));
+            System.out.println("Read replica configured: " + url.trim());
+        }
+        return new ReplicaRouter(pools,
+                longProperty(props, "db.replica.stickyMs", 5000),
+                longProperty(props, "db.replica.healthCheckMs", 5000));
+    }
+
+    // Settings shared by the primary and replica pools
+    private static HikariConfig createConfig(Properties props, String poolName, String url,
+                                             String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        String driver = props.getProperty("db.driver");
+        if (driver != null && !driver.isEmpty()) {
+            config.setDriverClassName(driver);
+        }
+
+        config.setMinimumIdle(intProperty(props, "db.pool.minIdle", 2));
+        config.setValidationTimeout(longProperty(props, "db.pool.validationTimeoutMs", 3000));
+        config.setLeakDetectionThreshold(longProperty(props, "db.pool.leakDetectionThresholdMs", 0));
+        config.setIdleTimeout(longProperty(props, "db.pool.idleTimeoutMs", 600000));
+        config.setMaxLifetime(longProperty(props, "db.pool.maxLifetimeMs", 1800000));
+        config.setRegisterMbeans(true);
+
+        // Let MySQL Connector/J reuse server-side parsed statements per connection
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        // Send JDBC batches as multi-row INSERTs (bulk import)
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        return config;
+    }
+
+    // Close all pooled connections
+    public static void shutdown() {
+        LIFECYCLE_LOCK.lock();
+        try {
+            if (dataSource != null) {
+                queryProfiler.shutdown();
+                queryProfiler = QueryProfiler.disabled();
+                if (replicaRouter != null) {
+                    replicaRouter.shutdown();
+                    replicaRouter = null;
+                }
+                dataSource.close();
+                dataSource = null;
+                System.out.println("ConnectionPool closed");
+            }
+        } finally {
+            LIFECYCLE_LOCK.unlock();
+        }
+    }
+
+    public static DataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            start();
+            ds = dataSource;
+        }
+        return ds;
+    }
+
+    // Pooled connection; its statements are timed when the query profiler is on
+    public static Connection getConnection() throws SQLException {
+        Connection conn = getDataSource().getConnection();
+        QueryProfiler profiler = queryProfiler;
+        return profiler.isEnabled() ? ProfilingJdbc.wrap(conn, profiler) : conn;
+    }
+
+    /**
+     * Connection for a read-only query: a healthy replica, or the primary
+     * when none is configured or available, or when the read must see
+     * recent writes (see ReadConsistency).
+     *
+     * @param shared the result is kept for other sessions (caches, counters)
+     */
+    public static Connection getReadConnection(boolean shared) throws SQLException {
+        getDataSource();
+        ReplicaRouter router = replicaRouter;
+        Connection conn = router != null ? router.getConnection(shared) : null;
+        if (conn == null) {
+            return getConnection();
+        }
+        QueryProfiler profiler = queryProfiler;
+        return profiler.isEnabled() ? ProfilingJdbc.wrap(conn, profiler) : conn;
+    }
+
+    // DAOs call this after committing a write, for read-your-writes routing
+    public static void recordWrite() {
+        ReplicaRouter router = replicaRouter;
+        ReadConsistency.recordWrite(router != null ? router.getStickyMillis() : 0);
+    }
+
+    public static boolean hasReplicas() {
+        return replicaRouter != null;
+    }
+
+    // How long a session reads from the primary after it wrote
+    public static long getStickyMillis() {
+        ReplicaRouter router = replicaRouter;
+        return router != null ? router.getStickyMillis() : 0;
+    }
+
+    public static QueryProfiler getQueryProfiler() {
+        return queryProfiler;
+    }
+
+    // Snapshot of the pool counters; all zero when the pool is not running
+    public static Stats getStats() {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.getHikariPoolMXBean() == null) {
+            return new Stats(0, 0, 0, 0, 0);
+        }
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        return new Stats(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection(),
+                ds.getMaximumPoolSize());
+    }
+
+    static Properties loadProperties() {
+        Properties props = new Properties();
+        try (InputStream in = ConnectionPool.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith("db.")) {
+                props.setProperty(key, System.getProperty(key));
+            }
+        }
+        return props;
+    }
+
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static long longProperty(Properties props, String key, long defaultValue) {
+        String value = props.getProperty(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Long.parseLong(value.trim());
+    }
+
+    /**
+     * Point-in-time pool statistics.
+     */
+    public static final class Stats {
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int waiting;
+        private final int maxSize;
+
+        Stats(int active, int idle, int total, int waiting, int maxSize) {
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.waiting = waiting;
+            this.maxSize = maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "active=" + active +
+                    ", idle=" + idle +
+                    ", total=" + total +
+                    ", waiting=" + waiting +
+                    ", maxSize=" + maxSize +
+                    '}';
+        }
+    }
+}
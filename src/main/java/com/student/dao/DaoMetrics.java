@@ -0,0 +1,16 @@
+package com.student.dao;
+
+import com.student.metrics.Metrics;
+
+/**
+ * Latency metrics shared by the DAOs.
+ */
+final class DaoMetrics {
+
+    // Wall time of each public DAO method, including pool wait and result mapping
+    static final Metrics.HistogramFamily CALLS = Metrics.histogram("dao_call_duration_seconds",
+            "Duration of DAO method calls", "dao", "method");
+
+    private DaoMetrics() {
+    }
+}
@@ -0,0 +1,126 @@
+package com.student.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for users.last_login.
+ *
+ * Logins only record (user id, time) in memory; a background thread writes
+ * the pending timestamps in one JDBC batch per interval. Repeated logins by
+ * the same user between flushes collapse into a single row update, and
+ * anything still pending is written when the writer is stopped.
+ */
+public class LastLoginWriter {
+
+    public static final String ATTRIBUTE = "lastLoginWriter";
+
+    private static final String SQL_UPDATE_LAST_LOGIN =
+        "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    private final long intervalMillis;
+    private final ConcurrentHashMap<Integer, Timestamp> pending = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    public LastLoginWriter(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "last-login-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Stop the background thread and write whatever is still queued
+    public void stop() {
+        ScheduledExecutorService current;
+        synchronized (this) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushQuietly();
+    }
+
+    // Queue a login; only the latest time per user is kept
+    public void record(int userId, Timestamp loginTime) {
+        pending.merge(userId, loginTime, (a, b) -> a.after(b) ? a : b);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Write all queued timestamps in one batch. Returns the number of rows
+     * sent; on failure the entries are re-queued for the next run.
+     */
+    public int flush() throws SQLException {
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<Map.Entry<Integer, Timestamp>> batch = new ArrayList<>(pending.size());
+        Iterator<Map.Entry<Integer, Timestamp>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Timestamp> entry = it.next();
+            // Remove only the value we saw, so a newer concurrent login stays queued
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()));
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try (Connection conn = ConnectionPool.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE_LAST_LOGIN)) {
+            for (Map.Entry<Integer, Timestamp> entry : batch) {
+                pstmt.setTimestamp(1, entry.getValue());
+                pstmt.setInt(2, entry.getKey());
+                pstmt.setTimestamp(3, entry.getValue());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        } catch (SQLException e) {
+            for (Map.Entry<Integer, Timestamp> entry : batch) {
+                record(entry.getKey(), entry.getValue());
+            }
+            throw e;
+        }
+        return batch.size();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (SQLException | RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.student.dao;
+
+import com.student.model.Student;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated student list: the sort column value and id
+ * of the boundary row, plus the direction to read from there.
+ * Encoded as an opaque URL-safe token so it can travel in query strings.
+ */
+final class PageCursor {
+
+    private static final char FORWARD = 'n';
+    private static final char BACKWARD = 'p';
+
+    private final boolean backward;
+    private final String column;
+    private final int id;
+    private final String value; // null when the row's sort value is NULL
+
+    private PageCursor(boolean backward, String column, int id, String value) {
+        this.backward = backward;
+        this.column = column;
+        this.id = id;
+        this.value = value;
+    }
+
+    // Cursor for the rows that follow the given row
+    static PageCursor after(String column, Student student) {
+        return new PageCursor(false, column, student.getId(), sortValue(student, column));
+    }
+
+    // Cursor for the rows that precede the given row
+    static PageCursor before(String column, Student student) {
+        return new PageCursor(true, column, student.getId(), sortValue(student, column));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}. Returns null for a missing,
+     * malformed or foreign-column token so the caller falls back to page one.
+     */
+    static PageCursor decode(String token, String expectedColumn) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            if (parts.length != 4 || parts[0].length() != 1 || !parts[1].equals(expectedColumn)) {
+                return null;
+            }
+            char direction = parts[0].charAt(0);
+            if (direction != FORWARD && direction != BACKWARD) {
+                return null;
+            }
+            String value = parts[3].startsWith("=") ? parts[3].substring(1) : null;
+            if (value != null && "created_at".equals(expectedColumn)) {
+                Timestamp.valueOf(value); // reject unparsable timestamps up front
+            }
+            return new PageCursor(direction == BACKWARD, parts[1], Integer.parseInt(parts[2]), value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + "|" + column + "|" + id + "|"
+                + (value == null ? "~" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    boolean isBackward() {
+        return backward;
+    }
+
+    int getId() {
+        return id;
+    }
+
+    boolean isNullValue() {
+        return value == null;
+    }
+
+    // Sort value converted to the JDBC type of its column
+    Object getBindValue() {
+        if (value == null) {
+            return null;
+        }
+        return "created_at".equals(column) ? Timestamp.valueOf(value) : value;
+    }
+
+    // Student carrying only the cursor's id and sort value, for in-memory comparisons
+    Student toProbe() {
+        Student probe = new Student();
+        probe.setId(id);
+        switch (column) {
+            case "student_code":
+                probe.setStudentCode(value);
+                break;
+            case "full_name":
+                probe.setFullName(value);
+                break;
+            case "email":
+                probe.setEmail(value);
+                break;
+            case "major":
+                probe.setMajor(value);
+                break;
+            case "created_at":
+                probe.setCreatedAt(value != null ? Timestamp.valueOf(value) : null);
+                break;
+            default:
+                break;
+        }
+        return probe;
+    }
+
+    private static String sortValue(Student student, String column) {
+        switch (column) {
+            case "student_code":
+                return student.getStudentCode();
+            case "full_name":
+                return student.getFullName();
+            case "email":
+                return student.getEmail();
+            case "major":
+                return student.getMajor();
+            case "created_at":
+                return student.getCreatedAt() != null ? student.getCreatedAt().toString() : null;
+            default:
+                return String.valueOf(student.getId());
+        }
+    }
+}
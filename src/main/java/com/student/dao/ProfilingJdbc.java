@@ -0,0 +1,233 @@
+package com.student.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Dynamic proxies that report statement timings to a QueryProfiler.
+ *
+ * The connection proxy wraps every Statement/PreparedStatement it creates;
+ * the statement proxy captures bound parameters and times each execute
+ * call; for queries the ResultSet proxy adds the time spent in next() (the
+ * driver fetching rows) and counts rows. An execution is reported once,
+ * when its ResultSet or statement is closed, the rows run out or the
+ * statement is executed again. Time spent by the caller between rows, such
+ * as mapping or writing a response, is not counted.
+ */
+final class ProfilingJdbc {
+
+    private ProfilingJdbc() {
+    }
+
+    static Connection wrap(Connection connection, QueryProfiler profiler) {
+        return (Connection) Proxy.newProxyInstance(ProfilingJdbc.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, profiler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+        private final QueryProfiler profiler;
+
+        ConnectionHandler(Connection target, QueryProfiler profiler) {
+            this.target = target;
+            this.profiler = profiler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = ProfilingJdbc.invoke(target, method, args);
+            String name = method.getName();
+            if ("prepareStatement".equals(name)) {
+                return Proxy.newProxyInstance(ProfilingJdbc.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        new StatementHandler((Statement) result, (String) args[0], profiler));
+            }
+            if ("createStatement".equals(name)) {
+                return Proxy.newProxyInstance(ProfilingJdbc.class.getClassLoader(),
+                        new Class<?>[]{Statement.class},
+                        new StatementHandler((Statement) result, null, profiler));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String sql;
+        private final QueryProfiler profiler;
+
+        private Object[] params = new Object[8];
+        private int paramCount;
+        private Execution open;
+
+        StatementHandler(Statement target, String sql, QueryProfiler profiler) {
+            this.target = target;
+            this.sql = sql;
+            this.profiler = profiler;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer
+                    && method.getDeclaringClass() == PreparedStatement.class) {
+                bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                Arrays.fill(params, null);
+                paramCount = 0;
+            } else if ("close".equals(name)) {
+                finishOpen();
+            }
+            return ProfilingJdbc.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishOpen();
+            boolean prepared = args == null || args.length == 0 || !(args[0] instanceof String);
+            String statementSql = prepared ? sql : (String) args[0];
+            String name = method.getName();
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = ProfilingJdbc.invoke(target, method, args);
+            } catch (Throwable t) {
+                profiler.record(statementSql, prepared, kindOf(name), System.nanoTime() - start, -1,
+                        boundParams());
+                throw t;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            if (result instanceof ResultSet) {
+                Execution execution = new Execution(statementSql, prepared, elapsed,
+                        boundParams(), profiler);
+                open = execution;
+                return Proxy.newProxyInstance(ProfilingJdbc.class.getClassLoader(),
+                        new Class<?>[]{ResultSet.class}, new ResultSetHandler((ResultSet) result, execution));
+            }
+            long rows = -1;
+            if (result instanceof int[]) {
+                rows = 0;
+                for (int count : (int[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[]) {
+                rows = 0;
+                for (long count : (long[]) result) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof Number) {
+                rows = ((Number) result).longValue();
+            }
+            profiler.record(statementSql, prepared, kindOf(name), elapsed, rows, boundParams());
+            return result;
+        }
+
+        private String kindOf(String methodName) {
+            if (methodName.contains("Batch")) {
+                return QueryProfiler.KIND_BATCH;
+            }
+            return "executeQuery".equals(methodName) ? QueryProfiler.KIND_QUERY : QueryProfiler.KIND_UPDATE;
+        }
+
+        private void bind(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > params.length) {
+                params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+            }
+            params[index - 1] = value;
+            paramCount = Math.max(paramCount, index);
+        }
+
+        // For batches these are the last row's values
+        private Object[] boundParams() {
+            return paramCount == 0 ? null : Arrays.copyOf(params, paramCount);
+        }
+
+        private void finishOpen() {
+            if (open != null) {
+                open.finish();
+                open = null;
+            }
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final Execution execution;
+
+        ResultSetHandler(ResultSet target, Execution execution) {
+            this.target = target;
+            this.execution = execution;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("next".equals(name)) {
+                long start = System.nanoTime();
+                Object hasRow = ProfilingJdbc.invoke(target, method, args);
+                execution.nanos += System.nanoTime() - start;
+                if (Boolean.TRUE.equals(hasRow)) {
+                    execution.rows++;
+                } else {
+                    execution.finish();
+                }
+                return hasRow;
+            }
+            if ("close".equals(name)) {
+                try {
+                    return ProfilingJdbc.invoke(target, method, args);
+                } finally {
+                    execution.finish();
+                }
+            }
+            return ProfilingJdbc.invoke(target, method, args);
+        }
+    }
+
+    // One query execution, reported when its rows are done
+    private static final class Execution {
+        final String sql;
+        final boolean prepared;
+        final Object[] params;
+        final QueryProfiler profiler;
+        long nanos;
+        long rows;
+        private boolean finished;
+
+        Execution(String sql, boolean prepared, long nanos, Object[] params, QueryProfiler profiler) {
+            this.sql = sql;
+            this.prepared = prepared;
+            this.nanos = nanos;
+            this.params = params;
+            this.profiler = profiler;
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                profiler.record(sql, prepared, QueryProfiler.KIND_QUERY, nanos, rows, params);
+            }
+        }
+    }
+}
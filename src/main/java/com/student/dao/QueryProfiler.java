@@ -0,0 +1,488 @@
+package com.student.dao;
+
+import com.student.metrics.Metrics;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Times every statement run on a pooled connection (see ProfilingJdbc).
+ *
+ * Executions are grouped by query shape: the SQL text with whitespace
+ * collapsed, "IN (?, ?, ...)" lists folded and, for plain (unprepared)
+ * statements, literals replaced by "?". Statements slower than the
+ * threshold are logged with their bound parameters and row count,
+ * optionally EXPLAINed in the background, and kept in a short list of
+ * recent slow statements.
+ *
+ * Shape statistics cover a rolling window: the current window plus the one
+ * before it, so the top-N view always spans between one and two windows.
+ *
+ * Configured from db.properties (db.profiler.*).
+ */
+public final class QueryProfiler {
+
+    public static final String KIND_QUERY = "query";
+    public static final String KIND_UPDATE = "update";
+    public static final String KIND_BATCH = "batch";
+
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_CACHED_SHAPES = 2000;
+    private static final int RECENT_SLOW = 50;
+    private static final int MAX_PARAM_LENGTH = 80;
+    private static final int MAX_PARAMS_SHOWN = 20;
+    private static final long EXPLAIN_INTERVAL_MILLIS = 5 * 60 * 1000;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+
+    private static final Metrics.CounterFamily SLOW_STATEMENTS = Metrics.counter("sql_slow_statements_total",
+            "Statements slower than db.profiler.slowQueryMs", "kind");
+
+    private final boolean enabled;
+    private final long slowNanos;
+    private final boolean explain;
+    private final int topN;
+    private final long windowMillis;
+
+    // SQL text -> shape, so the regexes run once per distinct statement
+    private final ConcurrentHashMap<String, String> shapes = new ConcurrentHashMap<>();
+
+    private volatile Window current;
+    private volatile Window previous;
+    private final LongAdder droppedShapes = new LongAdder();
+
+    // Newest first; guarded by itself
+    private final Deque<SlowStatement> recentSlow = new ArrayDeque<>();
+
+    private final ThreadPoolExecutor explainExecutor;
+
+    QueryProfiler(boolean enabled, long slowMillis, boolean explain, int topN, long windowMillis) {
+        this.enabled = enabled;
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.explain = enabled && explain;
+        this.topN = topN;
+        this.windowMillis = windowMillis;
+        long now = System.currentTimeMillis();
+        this.current = new Window(now);
+        this.previous = new Window(now);
+        if (this.explain) {
+            // One background EXPLAIN at a time; extra requests are dropped, not queued up
+            explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(16), runnable -> {
+                        Thread thread = new Thread(runnable, "query-explain");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, new ThreadPoolExecutor.DiscardPolicy());
+        } else {
+            explainExecutor = null;
+        }
+    }
+
+    static QueryProfiler fromProperties(Properties props) {
+        boolean enabled = Boolean.parseBoolean(props.getProperty("db.profiler.enabled", "true").trim());
+        long slowMillis = Long.parseLong(props.getProperty("db.profiler.slowQueryMs", "200").trim());
+        boolean explain = Boolean.parseBoolean(props.getProperty("db.profiler.explain", "false").trim());
+        int topN = Integer.parseInt(props.getProperty("db.profiler.topQueries", "20").trim());
+        long windowMinutes = Long.parseLong(props.getProperty("db.profiler.windowMinutes", "60").trim());
+        return new QueryProfiler(enabled, slowMillis, explain, topN, windowMinutes * 60 * 1000);
+    }
+
+    static QueryProfiler disabled() {
+        return new QueryProfiler(false, 0, false, 0, 60 * 60 * 1000);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getSlowQueryMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowNanos);
+    }
+
+    public boolean isExplainEnabled() {
+        return explain;
+    }
+
+    public long getWindowMinutes() {
+        return windowMillis / 60000;
+    }
+
+    public long getDroppedShapes() {
+        return droppedShapes.sum();
+    }
+
+    /**
+     * Record one finished execution. params are the bound values (may be
+     * null) and rows the rows read or updated, -1 when unknown.
+     */
+    void record(String sql, boolean prepared, String kind, long nanos, long rows, Object[] params) {
+        String shape = prepared ? shapeOf(sql) : normalize(sql, true);
+        Window window = currentWindow();
+        ShapeStats stats = window.shapes.get(shape);
+        if (stats == null) {
+            if (window.shapes.size() >= MAX_SHAPES) {
+                droppedShapes.increment();
+                return;
+            }
+            stats = window.shapes.computeIfAbsent(shape, s -> new ShapeStats(s, kind));
+        }
+        stats.record(nanos, rows);
+
+        if (nanos >= slowNanos) {
+            SlowStatement slow = new SlowStatement(shape, kind, System.currentTimeMillis(),
+                    nanos, rows, formatParams(params));
+            stats.offerSlow(slow);
+            synchronized (recentSlow) {
+                recentSlow.addFirst(slow);
+                if (recentSlow.size() > RECENT_SLOW) {
+                    recentSlow.removeLast();
+                }
+            }
+            SLOW_STATEMENTS.increment(kind);
+            System.out.println("Slow " + kind + " (" + slow.getMillis() + " ms, " + rows + " rows): "
+                    + shape + " " + slow.getParameters());
+            if (explain && KIND_QUERY.equals(kind) && stats.claimExplain(slow.getAt())) {
+                Object[] bound = params == null ? new Object[0] : params;
+                explainExecutor.execute(() -> slow.plan = explain(sql, bound));
+            }
+        }
+    }
+
+    // Slowest shapes of the rolling window, by worst execution time
+    public List<ShapeSummary> getTopQueries() {
+        Map<String, ShapeSummary> merged = new HashMap<>();
+        for (Window window : new Window[]{previous, current}) {
+            for (ShapeStats stats : window.shapes.values()) {
+                merged.computeIfAbsent(stats.shape, s -> new ShapeSummary(s, stats.kind)).add(stats);
+            }
+        }
+        List<ShapeSummary> top = new ArrayList<>(merged.values());
+        top.sort(Comparator.comparingLong(ShapeSummary::getMaxNanos).reversed());
+        return top.size() > topN ? new ArrayList<>(top.subList(0, topN)) : top;
+    }
+
+    public List<SlowStatement> getRecentSlow() {
+        synchronized (recentSlow) {
+            return new ArrayList<>(recentSlow);
+        }
+    }
+
+    public synchronized void reset() {
+        long now = System.currentTimeMillis();
+        previous = new Window(now);
+        current = new Window(now);
+        droppedShapes.reset();
+        synchronized (recentSlow) {
+            recentSlow.clear();
+        }
+    }
+
+    void shutdown() {
+        if (explainExecutor != null) {
+            explainExecutor.shutdownNow();
+        }
+    }
+
+    private Window currentWindow() {
+        Window window = current;
+        if (System.currentTimeMillis() - window.startedAt < windowMillis) {
+            return window;
+        }
+        synchronized (this) {
+            if (current == window) {
+                previous = window;
+                current = new Window(System.currentTimeMillis());
+            }
+            return current;
+        }
+    }
+
+    private String shapeOf(String sql) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = normalize(sql, false);
+            if (shapes.size() < MAX_CACHED_SHAPES) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    // Literals are only folded for plain statements; prepared SQL keeps its fixed parts
+    static String normalize(String sql, boolean literals) {
+        if (sql == null) {
+            return "(unknown)";
+        }
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        if (literals) {
+            shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+            shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        }
+        return IN_LIST.matcher(shape).replaceAll("(?, ...)");
+    }
+
+    private static String formatParams(Object[] params) {
+        if (params == null || params.length == 0) {
+            return "[]";
+        }
+        StringBuilder sb = new StringBuilder("[");
+        int shown = Math.min(params.length, MAX_PARAMS_SHOWN);
+        for (int i = 0; i < shown; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            Object value = params[i];
+            if (value == null) {
+                sb.append("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                sb.append(value);
+            } else {
+                String text = value.toString();
+                if (text.length() > MAX_PARAM_LENGTH) {
+                    text = text.substring(0, MAX_PARAM_LENGTH) + "...";
+                }
+                sb.append('\'').append(text.replace("'", "''")).append('\'');
+            }
+        }
+        if (params.length > shown) {
+            sb.append(", ... ").append(params.length - shown).append(" more");
+        }
+        return sb.append(']').toString();
+    }
+
+    // EXPLAIN output as text, on a raw (unprofiled) pooled connection
+    private static String explain(String sql, Object[] params) {
+        StringBuilder plan = new StringBuilder();
+        try (Connection conn = ConnectionPool.getDataSource().getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columns = meta.getColumnCount();
+                while (rs.next()) {
+                    for (int c = 1; c <= columns; c++) {
+                        if (columns > 1) {
+                            plan.append(meta.getColumnLabel(c).toLowerCase(Locale.ROOT)).append('=');
+                        }
+                        plan.append(rs.getString(c)).append(c < columns ? "  " : "\n");
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            return "EXPLAIN failed: " + e.getMessage();
+        }
+        return plan.toString().trim();
+    }
+
+    private static final class Window {
+        final long startedAt;
+        final ConcurrentHashMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+
+        Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+
+    private static final class ShapeStats {
+        final String shape;
+        final String kind;
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder totalRows = new LongAdder();
+        final LongAdder slowCount = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final AtomicLong lastExplainAt = new AtomicLong();
+        volatile SlowStatement slowest;
+
+        ShapeStats(String shape, String kind) {
+            this.shape = shape;
+            this.kind = kind;
+        }
+
+        void record(long nanos, long rows) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (rows > 0) {
+                totalRows.add(rows);
+            }
+            long max = maxNanos.get();
+            while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+                max = maxNanos.get();
+            }
+        }
+
+        void offerSlow(SlowStatement slow) {
+            slowCount.increment();
+            SlowStatement worst = slowest;
+            if (worst == null || slow.nanos > worst.nanos) {
+                slowest = slow;
+            }
+        }
+
+        // At most one EXPLAIN per shape per interval
+        boolean claimExplain(long now) {
+            long last = lastExplainAt.get();
+            return now - last >= EXPLAIN_INTERVAL_MILLIS && lastExplainAt.compareAndSet(last, now);
+        }
+    }
+
+    /**
+     * Statistics of one query shape over the rolling window.
+     */
+    public static final class ShapeSummary {
+        private final String shape;
+        private final String kind;
+        private long count;
+        private long totalNanos;
+        private long totalRows;
+        private long slowCount;
+        private long maxNanos;
+        private SlowStatement slowest;
+
+        ShapeSummary(String shape, String kind) {
+            this.shape = shape;
+            this.kind = kind;
+        }
+
+        void add(ShapeStats stats) {
+            count += stats.count.sum();
+            totalNanos += stats.totalNanos.sum();
+            totalRows += stats.totalRows.sum();
+            slowCount += stats.slowCount.sum();
+            maxNanos = Math.max(maxNanos, stats.maxNanos.get());
+            SlowStatement candidate = stats.slowest;
+            if (candidate != null && (slowest == null || candidate.nanos > slowest.nanos)) {
+                slowest = candidate;
+            }
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSlowCount() {
+            return slowCount;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMaxMillis() {
+            return round(maxNanos / 1_000_000.0);
+        }
+
+        public double getMeanMillis() {
+            return count == 0 ? 0 : round(totalNanos / 1_000_000.0 / count);
+        }
+
+        public double getTotalMillis() {
+            return round(totalNanos / 1_000_000.0);
+        }
+
+        public double getMeanRows() {
+            return count == 0 ? 0 : round((double) totalRows / count);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 100) / 100.0;
+        }
+
+        // Slowest logged execution of this shape, null if none crossed the threshold
+        public SlowStatement getSlowest() {
+            return slowest;
+        }
+    }
+
+    /**
+     * One execution over the slow query threshold.
+     */
+    public static final class SlowStatement {
+        private final String shape;
+        private final String kind;
+        private final long at;
+        private final long nanos;
+        private final long rows;
+        private final String parameters;
+        private volatile String plan;
+
+        SlowStatement(String shape, String kind, long at, long nanos, long rows, String parameters) {
+            this.shape = shape;
+            this.kind = kind;
+            this.at = at;
+            this.nanos = nanos;
+            this.rows = rows;
+            this.parameters = parameters;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public long getAt() {
+            return at;
+        }
+
+        // yyyy-MM-dd HH:mm:ss
+        public String getTime() {
+            return new Timestamp(at).toString().substring(0, 19);
+        }
+
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public String getParameters() {
+            return parameters;
+        }
+
+        // EXPLAIN output; null until captured (or when EXPLAIN is off)
+        public String getPlan() {
+            return plan;
+        }
+    }
+}
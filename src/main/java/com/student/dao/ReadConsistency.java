@@ -0,0 +1,94 @@
+package com.student.dao;
+
+/**
+ * Decides when a read must go to the primary instead of a replica.
+ *
+ * A request runs inside a Scope opened by ReadConsistencyFilter with the
+ * time until which its session reads from the primary (carried in a cookie,
+ * so it works in both session modes and across nodes). A committed write
+ * extends that time by db.replica.stickyMs and notifies the scope, so the
+ * session that wrote sees its change on the next page even if the replicas
+ * lag. Reads whose result is shared by everyone (query cache, dashboard
+ * counters, search index) also use the primary for that long after any
+ * write on this node, so a lagging replica cannot refill them with old data.
+ */
+public final class ReadConsistency {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static volatile long lastWriteMillis;
+
+    private ReadConsistency() {
+    }
+
+    /**
+     * Enter a request scope on this thread; close it when the request ends.
+     *
+     * @param primaryUntilMillis reads use the primary before this time (0 = replicas allowed)
+     * @param listener           told when a write in this scope moves that time, may be null
+     */
+    public static Scope begin(long primaryUntilMillis, WriteListener listener) {
+        Scope scope = new Scope(CURRENT.get(), primaryUntilMillis, listener);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // Called by ConnectionPool after a committed write
+    static void recordWrite(long stickyMillis) {
+        long now = System.currentTimeMillis();
+        lastWriteMillis = now;
+        Scope scope = CURRENT.get();
+        if (scope != null && stickyMillis > 0) {
+            scope.primaryUntil = Math.max(scope.primaryUntil, now + stickyMillis);
+            if (scope.listener != null) {
+                scope.listener.onWrite(scope.primaryUntil);
+            }
+        }
+    }
+
+    // True when this read has to see every committed write
+    static boolean requiresPrimary(boolean shared, long stickyMillis) {
+        long now = System.currentTimeMillis();
+        Scope scope = CURRENT.get();
+        if (scope != null && now < scope.primaryUntil) {
+            return true;
+        }
+        return shared && now - lastWriteMillis < stickyMillis;
+    }
+
+    /**
+     * Receives the new read-from-primary deadline after a write, e.g. to
+     * send it back to the client.
+     */
+    public interface WriteListener {
+        void onWrite(long primaryUntilMillis);
+    }
+
+    /**
+     * Routing state of one request; closing it restores the enclosing scope.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final WriteListener listener;
+        private long primaryUntil;
+
+        private Scope(Scope parent, long primaryUntil, WriteListener listener) {
+            this.parent = parent;
+            this.primaryUntil = primaryUntil;
+            this.listener = listener;
+        }
+
+        public long getPrimaryUntil() {
+            return primaryUntil;
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
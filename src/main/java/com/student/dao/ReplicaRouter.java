@@ -0,0 +1,131 @@
+package com.student.dao;
+
+import com.student.metrics.Metrics;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read replicas behind ConnectionPool.getReadConnection. Healthy replicas
+ * take reads round-robin. A background check every db.replica.healthCheckMs
+ * (and any failed borrow) marks a replica down; reads then skip it, falling
+ * back to the primary when none is left, until it passes a check again.
+ */
+final class ReplicaRouter {
+
+    private static final Metrics.CounterFamily READS = Metrics.counter("db_read_routes_total",
+            "Read connections by where they were routed", "target");
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final long stickyMillis;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    ReplicaRouter(List<HikariDataSource> dataSources, long stickyMillis, long healthCheckMillis) {
+        List<Replica> list = new ArrayList<>();
+        for (HikariDataSource dataSource : dataSources) {
+            list.add(new Replica(dataSource));
+        }
+        this.replicas = Collections.unmodifiableList(list);
+        this.stickyMillis = stickyMillis;
+
+        healthChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, healthCheckMillis, TimeUnit.MILLISECONDS);
+    }
+
+    long getStickyMillis() {
+        return stickyMillis;
+    }
+
+    /**
+     * Connection to a healthy replica, or null when the read has to go to
+     * the primary (read-your-writes window, or no replica available).
+     */
+    Connection getConnection(boolean shared) {
+        if (ReadConsistency.requiresPrimary(shared, stickyMillis)) {
+            READS.increment("primary_sticky");
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection conn = replica.dataSource.getConnection();
+                READS.increment("replica");
+                return conn;
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+        READS.increment("primary_fallback");
+        return null;
+    }
+
+    void shutdown() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            replica.dataSource.close();
+        }
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection conn = replica.dataSource.getConnection()) {
+                if (conn.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("validation failed");
+                }
+            } catch (SQLException | RuntimeException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * One replica pool and its last known health.
+     */
+    static final class Replica {
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        String getName() {
+            return dataSource.getJdbcUrl();
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                System.out.println("Replica up: " + getName());
+            }
+        }
+
+        private void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                System.out.println("Replica down, reading from the primary instead: " + getName() + " (" + reason + ")");
+            }
+        }
+    }
+}
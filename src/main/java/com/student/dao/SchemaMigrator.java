@@ -0,0 +1,232 @@
+package com.student.dao;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schema migrations. Scripts live on the classpath under
+ * db/migration as V{version}__{description}.sql and are listed in order in
+ * db/migration/migrations.txt. Each script runs once per database; the
+ * schema_version table records it with a checksum, and a script edited
+ * after it was applied stops startup instead of leaving the schemas of
+ * different environments silently apart.
+ *
+ * MySQL commits DDL implicitly, so a script that fails half way is not
+ * rolled back: fix the database by hand, then restart.
+ */
+public final class SchemaMigrator {
+
+    private static final String LOCATION = "db/migration/";
+    private static final String INDEX = LOCATION + "migrations.txt";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // Serializes nodes starting at the same time (MySQL only)
+    private static final String LOCK_NAME = "student_management.schema_migration";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String SQL_CREATE_VERSION_TABLE =
+        "CREATE TABLE IF NOT EXISTS schema_version (" +
+        "version INT PRIMARY KEY, " +
+        "description VARCHAR(200) NOT NULL, " +
+        "checksum VARCHAR(64) NOT NULL, " +
+        "installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private SchemaMigrator() {
+    }
+
+    // Apply pending migrations; returns how many ran
+    public static int migrate(DataSource dataSource) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            return migrate(conn);
+        }
+    }
+
+    public static int migrate(Connection conn) throws SQLException {
+        List<Migration> migrations = load();
+        boolean mysql = conn.getMetaData().getDriverName().startsWith("MySQL");
+        if (mysql) {
+            acquireLock(conn);
+        }
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(SQL_CREATE_VERSION_TABLE);
+            }
+            Map<Integer, String> applied = appliedChecksums(conn);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                String checksum = applied.get(migration.version);
+                if (checksum == null) {
+                    apply(conn, migration);
+                    count++;
+                } else if (!checksum.equals(migration.checksum)) {
+                    throw new IllegalStateException("Migration " + migration.name
+                            + " was changed after it was applied; add a new migration instead");
+                }
+            }
+            int latest = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+            System.out.println("Schema at version " + latest + " (" + count + " migration(s) applied)");
+            return count;
+        } finally {
+            if (mysql) {
+                releaseLock(conn);
+            }
+        }
+    }
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            throw new SQLException("Migration " + migration.name + " failed: " + e.getMessage(), e);
+        }
+
+        String sql = "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.setString(3, migration.checksum);
+            pstmt.executeUpdate();
+        }
+        System.out.println("Applied migration " + migration.name + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another node to finish migrating");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // Scripts named in the index file, in order
+    private static List<Migration> load() {
+        ClassLoader loader = SchemaMigrator.class.getClassLoader();
+        List<Migration> migrations = new ArrayList<>();
+        try (InputStream in = loader.getResourceAsStream(INDEX)) {
+            if (in == null) {
+                throw new IllegalStateException(INDEX + " not found on the classpath");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                Migration migration = new Migration(line, read(loader, LOCATION + line));
+                if (!migrations.isEmpty() && migration.version <= migrations.get(migrations.size() - 1).version) {
+                    throw new IllegalStateException(INDEX + " lists " + line + " out of version order");
+                }
+                migrations.add(migration);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + INDEX, e);
+        }
+        return migrations;
+    }
+
+    private static String read(ClassLoader loader, String path) throws IOException {
+        try (InputStream in = loader.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalStateException(path + " not found on the classpath");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            // Same checksum whatever line endings the checkout uses
+            return new String(out.toByteArray(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+        }
+    }
+
+    /**
+     * One script: lines starting with "--" are comments and statements end
+     * with ";" (no procedures or string literals containing ";").
+     */
+    private static final class Migration {
+        final String name;
+        final int version;
+        final String description;
+        final String checksum;
+        final List<String> statements = new ArrayList<>();
+
+        Migration(String name, String script) {
+            Matcher matcher = SCRIPT_NAME.matcher(name);
+            if (!matcher.matches()) {
+                throw new IllegalStateException("Migration " + name + " is not named V<version>__<description>.sql");
+            }
+            this.name = name;
+            this.version = Integer.parseInt(matcher.group(1));
+            this.description = matcher.group(2).replace('_', ' ');
+            this.checksum = sha256(script);
+            for (String sql : script.replaceAll("(?m)^\\s*--.*$", "").split(";")) {
+                String trimmed = sql.trim();
+                if (!trimmed.isEmpty()) {
+                    statements.add(trimmed);
+                }
+            }
+        }
+
+        private static String sha256(String text) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+                StringBuilder hex = new StringBuilder();
+                for (byte b : digest) {
+                    hex.append(String.format("%02x", b));
+                }
+                return hex.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.student.dao;
+
+import com.student.model.Student;
+
+/**
+ * Callback for successful student writes. Listeners are invoked after the
+ * change has been committed, on the thread that performed the write, and
+ * receive fully populated rows (id and created_at included). Calls for the
+ * same student arrive in commit order (StudentDAO holds a per-row lock from
+ * the write until its listeners return, and a write to a new row waits until
+ * its add has been reported), so an update's before is the previous call's
+ * row.
+ */
+public interface StudentChangeListener {
+
+    default void onStudentAdded(Student student) {
+    }
+
+    default void onStudentUpdated(Student before, Student after) {
+    }
+
+    default void onStudentDeleted(Student student) {
+    }
+}
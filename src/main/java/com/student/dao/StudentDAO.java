@@ -1,29 +1,104 @@
 package com.student.dao;
 
+import com.student.model.Page;
+import com.student.dao.StudentQueryCache.QueryKey;
+import com.student.dao.StudentQueryCache.Versioned;
 import com.student.model.Student;
+import com.student.search.StudentSearchIndex;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public class StudentDAO {
-    // Database configuration constants
-    private static final String JDBC_URL = "jdbc:mysql://localhost:3306/student_management";
-    private static final String JDBC_USER = "root";
-    private static final String JDBC_PASSWORD = "admin"; // Update with your MySQL password
-    private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int STREAM_FETCH_SIZE = 1000;
+    // Ids per IN (...) list of the bulk methods
+    private static final int ID_CHUNK = 500;
 
-    // Get database connection
-    private Connection getConnection() throws SQLException, ClassNotFoundException {
-        Class.forName(JDBC_DRIVER);
-        return DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
+    // Results of keyword-free queries, invalidated by the write methods below
+    private static final StudentQueryCache CACHE =
+            StudentQueryCache.fromProperties(ConnectionPool.loadProperties());
+
+    // Single-row version of the students table, bumped in every write transaction
+    private static final String READ_VERSION_SQL = "SELECT version FROM student_data_version WHERE id = 1";
+    private static final String BUMP_VERSION_SQL =
+            "UPDATE student_data_version SET version = version + 1 WHERE id = 1";
+
+    // Trigram index for keyword searches; null or not ready means LIKE queries
+    private static volatile StudentSearchIndex searchIndex;
+
+    // Notified after every committed insert/update/delete
+    private static final List<StudentChangeListener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    // Write methods entered and finished (listeners included); see getWritesStarted
+    private static final AtomicLong WRITES_STARTED = new AtomicLong();
+    private static final AtomicLong WRITES_SETTLED = new AtomicLong();
+
+    /**
+     * Striped per-row write locks. A writer holds the stripes of its rows
+     * from before it locks them in the database until its listeners have
+     * run, so listeners see the writes of one row in commit order. Stripes
+     * are taken in ascending order and never while database locks are held.
+     * Inserts take no stripe (the id is only known once inserted); instead
+     * see PENDING_ADDS.
+     */
+    private static final int ROW_LOCK_STRIPES = 64;
+    private static final ReentrantLock[] ROW_LOCKS = new ReentrantLock[ROW_LOCK_STRIPES];
+
+    /**
+     * Ids of inserted rows whose listeners have not run yet, registered
+     * before the commit that makes them visible. A writer that has locked
+     * such a row waits until the add has been reported, so its own event
+     * follows it. Reporting an add takes neither stripes nor database locks,
+     * so the waiter's locks cannot hold it up.
+     */
+    private static final Set<Integer> PENDING_ADDS = new HashSet<>();
+    private static final ReentrantLock PENDING_ADDS_LOCK = new ReentrantLock();
+    private static final Condition ADDS_REPORTED = PENDING_ADDS_LOCK.newCondition();
+
+    static {
+        for (int i = 0; i < ROW_LOCKS.length; i++) {
+            ROW_LOCKS[i] = new ReentrantLock();
+        }
     }
 
-    // Map a ResultSet row to Student object
-    private Student mapStudent(ResultSet rs) throws SQLException {
-        Student student = new Student();
+    // Borrow a connection from the shared pool (closing it returns it to the pool)
+    private Connection getConnection() throws SQLException {
+        return ConnectionPool.getConnection();
+    }
+
+    // Connection for a read-only query, possibly on a replica; shared = result is cached for everyone
+    private Connection getReadConnection(boolean shared) throws SQLException {
+        return ConnectionPool.getReadConnection(shared);
+    }
+
+    // Map a ResultSet row to Student object (package-private for the benchmarks module)
+    Student mapStudent(ResultSet rs) throws SQLException {
+        return mapStudent(rs, new Student());
+    }
+
+    // Map a ResultSet row into an existing Student object
+    private Student mapStudent(ResultSet rs, Student student) throws SQLException {
         student.setId(rs.getInt("id"));
         student.setStudentCode(rs.getString("student_code"));
         student.setFullName(rs.getString("full_name"));
@@ -35,153 +110,1101 @@ public class StudentDAO {
 
     // Get all students
     public List<Student> getAllStudents() {
-        String sql = "SELECT * FROM students ORDER BY id DESC";
-        return executeStudentQuery(sql, Collections.emptyList());
+        long start = System.nanoTime();
+        try {
+            return cachedStudentQuery(QueryKey.list(null, "id", "DESC"),
+                    StudentListQuery.list(null, null, "id", true));
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getAllStudents");
+        }
     }
 
     // Get student by ID
     public Student getStudentById(int id) {
-        Student student = null;
-        String sql = "SELECT * FROM students WHERE id = ?";
+        long start = System.nanoTime();
+        try {
+            Student student = null;
+            String sql = "SELECT * FROM students WHERE id = ?";
 
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try (Connection conn = getReadConnection(false);
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setInt(1, id);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    student = mapStudent(rs);
+                pstmt.setInt(1, id);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        student = mapStudent(rs);
+                    }
                 }
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException | ClassNotFoundException e) {
-            e.printStackTrace();
+
+            return student;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentById");
         }
+    }
 
-        return student;
+    /**
+     * Students with the given ids in the order given, read with a few
+     * IN (...) queries. Unknown ids and repeats are skipped.
+     */
+    public List<Student> getStudentsByIds(List<Integer> ids) {
+        long start = System.nanoTime();
+        try {
+            Set<Integer> wanted = new LinkedHashSet<>(ids);
+            Map<Integer, Student> found = new HashMap<>();
+            try (Connection conn = getReadConnection(false)) {
+                for (List<Integer> chunk : idChunks(wanted)) {
+                    for (Student student : findByIds(conn, chunk, false)) {
+                        found.put(student.getId(), student);
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return new ArrayList<>();
+            }
+
+            List<Student> students = new ArrayList<>(found.size());
+            for (Integer id : wanted) {
+                Student student = found.get(id);
+                if (student != null) {
+                    students.add(student);
+                }
+            }
+            return students;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentsByIds");
+        }
+    }
+
+    /**
+     * Delete the students with the given ids in one transaction and return
+     * how many existed. Unknown ids are ignored.
+     */
+    public int deleteStudents(List<Integer> ids) throws SQLException {
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            List<ReentrantLock> rowLocks = lockRows(ids);
+            try {
+                List<Student> removed = new ArrayList<>();
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try {
+                        // Lock the rows first so listeners get exactly the deleted rows
+                        for (List<Integer> chunk : idChunks(new HashSet<>(ids))) {
+                            removed.addAll(findByIds(conn, chunk, true));
+                        }
+                        awaitAddsReported(removed);
+                        deleteRows(conn, removed);
+                        bumpDataVersion(conn, !removed.isEmpty());
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                }
+
+                if (!removed.isEmpty()) {
+                    fireDeleted(removed);
+                }
+                return removed.size();
+            } finally {
+                unlockRows(rowLocks);
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "deleteStudents");
+        }
+    }
+
+    /**
+     * Delete every student matching the keyword and/or major filter (the
+     * same matching as getStudentsFiltered) in one transaction and return
+     * how many were deleted. At least one filter is required.
+     */
+    public int deleteStudentsFiltered(String keyword, String major) throws SQLException {
+        boolean noKeyword = keyword == null || keyword.trim().isEmpty();
+        boolean noMajor = major == null || major.trim().isEmpty();
+        if (noKeyword && noMajor) {
+            throw new IllegalArgumentException("A keyword or major filter is required");
+        }
+
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            List<ReentrantLock> rowLocks = lockAllRows();
+            try {
+                StudentListQuery query = StudentListQuery.list(keyword, major, "id", false);
+                List<Student> removed = new ArrayList<>();
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try (PreparedStatement pstmt = conn.prepareStatement(query.getSql() + " FOR UPDATE")) {
+                        List<Object> params = query.getParams();
+                        for (int i = 0; i < params.size(); i++) {
+                            pstmt.setObject(i + 1, params.get(i));
+                        }
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                removed.add(mapStudent(rs));
+                            }
+                        }
+                        awaitAddsReported(removed);
+                        // By the locked ids, so the rows deleted are the rows notified
+                        deleteRows(conn, removed);
+                        bumpDataVersion(conn, !removed.isEmpty());
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                }
+
+                if (!removed.isEmpty()) {
+                    fireDeleted(removed);
+                }
+                return removed.size();
+            } finally {
+                unlockRows(rowLocks);
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "deleteStudentsFiltered");
+        }
+    }
+
+    /**
+     * Move the students with the given ids to another major in one
+     * transaction. Returns how many changed; unknown ids and students
+     * already in that major are not counted.
+     */
+    public int updateStudentsMajor(List<Integer> ids, String major) throws SQLException {
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            List<ReentrantLock> rowLocks = lockRows(ids);
+            try {
+                List<Student> before = new ArrayList<>();
+                List<Student> after = new ArrayList<>();
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try {
+                        for (List<Integer> chunk : idChunks(new HashSet<>(ids))) {
+                            for (Student row : findByIds(conn, chunk, true)) {
+                                if (!major.equals(row.getMajor())) {
+                                    before.add(row);
+                                    after.add(withMajor(row, major));
+                                }
+                            }
+                        }
+                        awaitAddsReported(before);
+                        for (int from = 0; from < before.size(); from += ID_CHUNK) {
+                            List<Student> chunk = before.subList(from, Math.min(before.size(), from + ID_CHUNK));
+                            try (PreparedStatement pstmt = conn.prepareStatement(
+                                    "UPDATE students SET major = ? WHERE id IN (" + placeholders(chunk.size()) + ")")) {
+                                pstmt.setString(1, major);
+                                for (int i = 0; i < chunk.size(); i++) {
+                                    pstmt.setInt(i + 2, chunk.get(i).getId());
+                                }
+                                pstmt.executeUpdate();
+                            }
+                        }
+                        bumpDataVersion(conn, !before.isEmpty());
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                }
+
+                if (!before.isEmpty()) {
+                    fireUpdated(before, after);
+                }
+                return before.size();
+            } finally {
+                unlockRows(rowLocks);
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "updateStudentsMajor");
+        }
     }
 
     // Add new student
     public boolean addStudent(Student student) {
-        String sql = "INSERT INTO students (student_code, full_name, email, major) VALUES (?, ?, ?, ?)";
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            String sql = "INSERT INTO students (student_code, full_name, email, major) VALUES (?, ?, ?, ?)";
+            List<Student> added = Collections.emptyList();
 
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            try {
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        pstmt.setString(1, student.getStudentCode());
+                        pstmt.setString(2, student.getFullName());
+                        pstmt.setString(3, student.getEmail());
+                        pstmt.setString(4, student.getMajor());
 
-            pstmt.setString(1, student.getStudentCode());
-            pstmt.setString(2, student.getFullName());
-            pstmt.setString(3, student.getEmail());
-            pstmt.setString(4, student.getMajor());
+                        int rowsAffected = pstmt.executeUpdate();
+                        if (rowsAffected > 0) {
+                            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                                if (keys.next()) {
+                                    student.setId(keys.getInt(1));
+                                    // Re-read so listeners see the database-assigned created_at
+                                    Student row = findById(conn, student.getId());
+                                    if (row != null) {
+                                        added = Collections.singletonList(row);
+                                    }
+                                }
+                            }
+                        }
+                        bumpDataVersion(conn, !added.isEmpty());
+                        addPending(added);
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                    return false;
+                }
 
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } catch (SQLException | ClassNotFoundException e) {
-            e.printStackTrace();
-            return false;
+                if (!added.isEmpty()) {
+                    student.setCreatedAt(added.get(0).getCreatedAt());
+                    fireAdded(added);
+                }
+                return !added.isEmpty();
+            } finally {
+                removePending(added);
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "addStudent");
+        }
+    }
+
+    /**
+     * Insert many students in one transaction with a JDBC batch. Rows whose
+     * student code already exists (or repeats within the list) are skipped.
+     * Returns the inserted rows with their ids; any code missing from the
+     * result was a duplicate.
+     */
+    public List<Student> addStudents(List<Student> students) throws SQLException {
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            String sql = "INSERT INTO students (student_code, full_name, email, major) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE id = id";
+            List<Student> inserted = new ArrayList<>();
+            if (students.isEmpty()) {
+                return inserted;
+            }
+
+            try {
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try {
+                        Set<String> seen = new HashSet<>();
+                        for (Student existing : findByCodes(conn, students)) {
+                            seen.add(existing.getStudentCode().toUpperCase(Locale.ROOT));
+                        }
+                        List<Student> pending = new ArrayList<>();
+                        for (Student student : students) {
+                            if (seen.add(student.getStudentCode().toUpperCase(Locale.ROOT))) {
+                                pending.add(student);
+                            }
+                        }
+
+                        if (!pending.isEmpty()) {
+                            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                                for (Student student : pending) {
+                                    pstmt.setString(1, student.getStudentCode());
+                                    pstmt.setString(2, student.getFullName());
+                                    pstmt.setString(3, student.getEmail());
+                                    pstmt.setString(4, student.getMajor());
+                                    pstmt.addBatch();
+                                }
+                                pstmt.executeBatch();
+                            }
+                            // Re-read to pick up generated ids and created_at
+                            inserted = findByCodes(conn, pending);
+                        }
+                        bumpDataVersion(conn, !inserted.isEmpty());
+                        addPending(inserted);
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                }
+
+                if (!inserted.isEmpty()) {
+                    fireAdded(inserted);
+                }
+                return inserted;
+            } finally {
+                removePending(inserted);
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "addStudents");
         }
     }
 
     // Update student
     public boolean updateStudent(Student student) {
-        String sql = "UPDATE students SET full_name = ?, email = ?, major = ? WHERE id = ?";
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            ReentrantLock rowLock = rowLock(student.getId());
+            rowLock.lock();
+            try {
+                String sql = "UPDATE students SET full_name = ?, email = ?, major = ? WHERE id = ?";
+                Student before;
+                Student after;
 
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        // Lock the current row so listeners get an exact before/after pair
+                        before = findByIdForUpdate(conn, student.getId());
+                        if (before == null) {
+                            conn.rollback();
+                            return false;
+                        }
+                        awaitAddsReported(Collections.singletonList(before));
 
-            pstmt.setString(1, student.getFullName());
-            pstmt.setString(2, student.getEmail());
-            pstmt.setString(3, student.getMajor());
-            pstmt.setInt(4, student.getId());
+                        pstmt.setString(1, student.getFullName());
+                        pstmt.setString(2, student.getEmail());
+                        pstmt.setString(3, student.getMajor());
+                        pstmt.setInt(4, student.getId());
+                        pstmt.executeUpdate();
 
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } catch (SQLException | ClassNotFoundException e) {
-            e.printStackTrace();
-            return false;
+                        after = findById(conn, student.getId());
+                        bumpDataVersion(conn, true);
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                    return false;
+                }
+
+                fireUpdated(Collections.singletonList(before), Collections.singletonList(after));
+                return true;
+            } finally {
+                rowLock.unlock();
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "updateStudent");
         }
     }
 
     // Delete student
     public boolean deleteStudent(int id) {
-        String sql = "DELETE FROM students WHERE id = ?";
+        long start = System.nanoTime();
+        WRITES_STARTED.incrementAndGet();
+        try {
+            ReentrantLock rowLock = rowLock(id);
+            rowLock.lock();
+            try {
+                String sql = "DELETE FROM students WHERE id = ?";
+                Student removed;
 
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                try (Connection conn = getConnection()) {
+                    conn.setAutoCommit(false);
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        removed = findByIdForUpdate(conn, id);
+                        if (removed == null) {
+                            conn.rollback();
+                            return false;
+                        }
+                        awaitAddsReported(Collections.singletonList(removed));
 
-            pstmt.setInt(1, id);
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-        } catch (SQLException | ClassNotFoundException e) {
+                        pstmt.setInt(1, id);
+                        pstmt.executeUpdate();
+                        bumpDataVersion(conn, true);
+                        conn.commit();
+                    } catch (SQLException e) {
+                        conn.rollback();
+                        throw e;
+                    } finally {
+                        conn.setAutoCommit(true);
+                    }
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                    return false;
+                }
+
+                fireDeleted(Collections.singletonList(removed));
+                return true;
+            } finally {
+                rowLock.unlock();
+            }
+        } finally {
+            WRITES_SETTLED.incrementAndGet();
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "deleteStudent");
+        }
+    }
+
+    // Count all students
+    public int countStudents() {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT COUNT(*) FROM students";
+
+            try (Connection conn = getReadConnection(true);
+                 PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+
+                return rs.next() ? rs.getInt(1) : 0;
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return 0;
+            }
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "countStudents");
+        }
+    }
+
+    // Count students per major
+    public Map<String, Integer> countStudentsByMajor() {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT major, COUNT(*) FROM students GROUP BY major";
+            Map<String, Integer> counts = new TreeMap<>();
+
+            try (Connection conn = getReadConnection(true);
+                 PreparedStatement pstmt = conn.prepareStatement(sql);
+                 ResultSet rs = pstmt.executeQuery()) {
+
+                while (rs.next()) {
+                    counts.put(rs.getString(1), rs.getInt(2));
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+
+            return counts;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "countStudentsByMajor");
+        }
+    }
+
+    // Count students created per calendar day since the given time
+    public Map<LocalDate, Integer> countStudentsCreatedPerDay(Timestamp since) {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT CAST(created_at AS DATE), COUNT(*) FROM students " +
+                    "WHERE created_at >= ? GROUP BY CAST(created_at AS DATE)";
+            Map<LocalDate, Integer> counts = new TreeMap<>();
+
+            try (Connection conn = getReadConnection(true);
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+                pstmt.setTimestamp(1, since);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getDate(1).toLocalDate(), rs.getInt(2));
+                    }
+                }
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+
+            return counts;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "countStudentsCreatedPerDay");
+        }
+    }
+
+    // Hit/miss/eviction counters of the shared query cache
+    public static StudentQueryCache.Stats getCacheStats() {
+        return CACHE.getStats();
+    }
+
+    /**
+     * Stream the rows of getStudentsFiltered to the handler straight from a
+     * forward-only JDBC cursor, so memory use does not grow with row count.
+     * Always reads from the database (the search index is not consulted).
+     */
+    public void streamStudentsFiltered(String keyword, String major, String sortBy, String order,
+                                       StudentRowHandler handler) throws SQLException, IOException {
+        long start = System.nanoTime();
+        try {
+            StudentListQuery query = StudentListQuery.list(keyword, major, validateSortBy(sortBy),
+                    "DESC".equals(validateOrder(order)));
+            List<Object> params = query.getParams();
+
+            try (Connection conn = getReadConnection(false);
+                 PreparedStatement pstmt = conn.prepareStatement(query.getSql(),
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                enableStreaming(conn, pstmt);
+                for (int i = 0; i < params.size(); i++) {
+                    pstmt.setObject(i + 1, params.get(i));
+                }
+
+                Student row = new Student();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        handler.handle(mapStudent(rs, row));
+                    }
+                }
+            }
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "streamStudentsFiltered");
+        }
+    }
+
+    // Visit every student row without building a list (used to load in-memory indexes)
+    public void forEachStudent(Consumer<Student> action) {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT * FROM students";
+
+            try (Connection conn = getReadConnection(true);
+                 PreparedStatement pstmt = conn.prepareStatement(sql,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                enableStreaming(conn, pstmt);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        action.accept(mapStudent(rs));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to read students", e);
+            }
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "forEachStudent");
+        }
+    }
+
+    // Serve keyword searches from the given index once it reports ready
+    public static void setSearchIndex(StudentSearchIndex index) {
+        searchIndex = index;
+    }
+
+    /**
+     * Number of write methods entered so far. A write is counted before its
+     * commit and settled (getWritesSettled) only after its listeners have
+     * run, so a reader whose queries ran while started == settled held still
+     * saw no write that listeners had yet to report.
+     */
+    public static long getWritesStarted() {
+        return WRITES_STARTED.get();
+    }
+
+    public static long getWritesSettled() {
+        return WRITES_SETTLED.get();
+    }
+
+    // Register a callback for committed student writes
+    public static void addChangeListener(StudentChangeListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeChangeListener(StudentChangeListener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    private static ReentrantLock rowLock(int id) {
+        return ROW_LOCKS[Math.floorMod(id, ROW_LOCK_STRIPES)];
+    }
+
+    // Lock the stripes of the ids in ascending order; release with unlockRows
+    private static List<ReentrantLock> lockRows(Collection<Integer> ids) {
+        boolean[] needed = new boolean[ROW_LOCK_STRIPES];
+        for (Integer id : ids) {
+            needed[Math.floorMod(id, ROW_LOCK_STRIPES)] = true;
+        }
+        List<ReentrantLock> held = new ArrayList<>();
+        for (int i = 0; i < ROW_LOCK_STRIPES; i++) {
+            if (needed[i]) {
+                ROW_LOCKS[i].lock();
+                held.add(ROW_LOCKS[i]);
+            }
+        }
+        return held;
+    }
+
+    // For writes whose rows are only known once the query has locked them
+    private static List<ReentrantLock> lockAllRows() {
+        for (ReentrantLock lock : ROW_LOCKS) {
+            lock.lock();
+        }
+        return Arrays.asList(ROW_LOCKS);
+    }
+
+    private static void unlockRows(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+
+    /**
+     * Current version of the students table, read from the primary with one
+     * primary-key lookup. Every StudentDAO write on any node raises it in its
+     * own transaction. Returns -1 when it cannot be read.
+     */
+    public long getDataVersion() {
+        try (Connection conn = getConnection()) {
+            return readDataVersion(conn);
+        } catch (SQLException e) {
             e.printStackTrace();
-            return false;
+            return -1;
+        }
+    }
+
+    private static long readDataVersion(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(READ_VERSION_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    // Raise the data version inside the write's transaction, just before its commit
+    private static void bumpDataVersion(Connection conn, boolean changed) throws SQLException {
+        if (!changed) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(BUMP_VERSION_SQL)) {
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Register inserted rows as unreported; call before their commit
+    private static void addPending(List<Student> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        PENDING_ADDS_LOCK.lock();
+        try {
+            for (Student row : rows) {
+                PENDING_ADDS.add(row.getId());
+            }
+        } finally {
+            PENDING_ADDS_LOCK.unlock();
+        }
+    }
+
+    // After the add was reported, or its commit failed
+    private static void removePending(List<Student> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        PENDING_ADDS_LOCK.lock();
+        try {
+            for (Student row : rows) {
+                PENDING_ADDS.remove(row.getId());
+            }
+            ADDS_REPORTED.signalAll();
+        } finally {
+            PENDING_ADDS_LOCK.unlock();
+        }
+    }
+
+    // Wait until every row this writer has locked has had its add reported
+    private static void awaitAddsReported(Collection<Student> rows) {
+        PENDING_ADDS_LOCK.lock();
+        try {
+            for (Student row : rows) {
+                while (PENDING_ADDS.contains(row.getId())) {
+                    ADDS_REPORTED.awaitUninterruptibly();
+                }
+            }
+        } finally {
+            PENDING_ADDS_LOCK.unlock();
+        }
+    }
+
+    // Post-commit bookkeeping: replica routing, cache, then listeners. Routing comes
+    // first so a shared read that misses the cleared entry is not served by a
+    // lagging replica and cached again
+    private void fireAdded(List<Student> added) {
+        ConnectionPool.recordWrite();
+        CACHE.invalidate(added.toArray(new Student[0]));
+        for (Student student : added) {
+            for (StudentChangeListener listener : LISTENERS) {
+                listener.onStudentAdded(student);
+            }
+        }
+    }
+
+    // before.get(i) became after.get(i)
+    private void fireUpdated(List<Student> before, List<Student> after) {
+        List<Student> changed = new ArrayList<>(before);
+        changed.addAll(after);
+        ConnectionPool.recordWrite();
+        CACHE.invalidate(changed.toArray(new Student[0]));
+        for (int i = 0; i < before.size(); i++) {
+            for (StudentChangeListener listener : LISTENERS) {
+                listener.onStudentUpdated(before.get(i), after.get(i));
+            }
+        }
+    }
+
+    private void fireDeleted(List<Student> removed) {
+        ConnectionPool.recordWrite();
+        CACHE.invalidate(removed.toArray(new Student[0]));
+        for (Student student : removed) {
+            for (StudentChangeListener listener : LISTENERS) {
+                listener.onStudentDeleted(student);
+            }
         }
     }
 
     // Search students by keyword (code, name, email)
     public List<Student> searchStudents(String keyword) {
-        if (keyword == null || keyword.trim().isEmpty()) {
-            return getAllStudents();
-        }
+        long start = System.nanoTime();
+        try {
+            if (keyword == null || keyword.trim().isEmpty()) {
+                return getAllStudents();
+            }
 
-        String sql = "SELECT * FROM students " +
-                "WHERE student_code LIKE ? OR full_name LIKE ? OR email LIKE ? " +
-                "ORDER BY id DESC";
-        String pattern = "%" + keyword.trim() + "%";
+            StudentSearchIndex index = searchIndex;
+            if (index != null && index.isReady()) {
+                List<Student> matches = index.search(keyword, null);
+                matches.sort(StudentOrdering.ascending("id").reversed());
+                return matches;
+            }
 
-        return executeStudentQuery(sql, Arrays.asList(pattern, pattern, pattern));
+            StudentListQuery query = StudentListQuery.list(keyword, null, "id", true);
+            return executeStudentQuery(query.getSql(), query.getParams());
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "searchStudents");
+        }
     }
 
     // Get students by major
     public List<Student> getStudentsByMajor(String major) {
-        if (major == null || major.trim().isEmpty()) {
-            return getAllStudents();
-        }
+        long start = System.nanoTime();
+        try {
+            if (major == null || major.trim().isEmpty()) {
+                return getAllStudents();
+            }
 
-        String sql = "SELECT * FROM students WHERE major = ? ORDER BY id DESC";
-        return executeStudentQuery(sql, Collections.singletonList(major.trim()));
+            return cachedStudentQuery(QueryKey.list(major, "id", "DESC"),
+                    StudentListQuery.list(null, major, "id", true));
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentsByMajor");
+        }
     }
 
     // Get students sorted by column/order
     public List<Student> getStudentsSorted(String sortBy, String order) {
-        String validatedColumn = validateSortBy(sortBy);
-        String validatedOrder = validateOrder(order);
+        long start = System.nanoTime();
+        try {
+            String validatedColumn = validateSortBy(sortBy);
+            String validatedOrder = validateOrder(order);
 
-        String sql = "SELECT * FROM students ORDER BY " + validatedColumn + " " + validatedOrder;
-        return executeStudentQuery(sql, Collections.emptyList());
+            return cachedStudentQuery(QueryKey.list(null, validatedColumn, validatedOrder),
+                    StudentListQuery.list(null, null, validatedColumn, "DESC".equals(validatedOrder)));
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentsSorted");
+        }
     }
 
     // Combined filter method (search + filter + sort)
     public List<Student> getStudentsFiltered(String keyword, String major, String sortBy, String order) {
-        StringBuilder sql = new StringBuilder("SELECT * FROM students WHERE 1=1");
-        List<Object> params = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            StudentSearchIndex index = searchIndex;
+            if (keyword != null && !keyword.trim().isEmpty() && index != null && index.isReady()) {
+                List<Student> matches = index.search(keyword, major);
+                Comparator<Student> ordering = StudentOrdering.ascending(validateSortBy(sortBy));
+                matches.sort("DESC".equals(validateOrder(order)) ? ordering.reversed() : ordering);
+                return matches;
+            }
 
-        if (keyword != null && !keyword.trim().isEmpty()) {
-            sql.append(" AND (student_code LIKE ? OR full_name LIKE ? OR email LIKE ?)");
-            String pattern = "%" + keyword.trim() + "%";
-            params.add(pattern);
-            params.add(pattern);
-            params.add(pattern);
+            StudentListQuery query = StudentListQuery.list(keyword, major, validateSortBy(sortBy),
+                    "DESC".equals(validateOrder(order)));
+            return executeStudentQuery(query.getSql(), query.getParams());
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentsFiltered");
         }
+    }
 
-        if (major != null && !major.trim().isEmpty()) {
-            sql.append(" AND major = ?");
-            params.add(major.trim());
+    /**
+     * Keyset-paginated variant of getStudentsFiltered. Rows are ordered by the
+     * sort column with id as tiebreaker, and each page seeks past the boundary
+     * row of the previous one, so deep pages cost the same as the first.
+     *
+     * @param cursor   token from a previous Page (null for the first page)
+     * @param pageSize requested rows per page, clamped to 1..MAX_PAGE_SIZE
+     */
+    public Page<Student> getStudentsPage(String keyword, String major, String sortBy, String order,
+                                         String cursor, int pageSize) {
+        long start = System.nanoTime();
+        try {
+            String column = validateSortBy(sortBy);
+            String validatedOrder = validateOrder(order);
+            int size = normalizePageSize(pageSize);
+
+            Page<Student> page;
+            if (keyword == null || keyword.trim().isEmpty()) {
+                QueryKey key = QueryKey.page(major, column, validatedOrder, cursor, size);
+                page = CACHE.get(key, this::getDataVersion,
+                        () -> loadStudentsPage(null, major, column, validatedOrder, cursor, size));
+            } else if (searchIndex != null && searchIndex.isReady()) {
+                page = pageFromMatches(searchIndex.search(keyword, major), column, validatedOrder, cursor, size);
+            } else {
+                Versioned<Page<Student>> loaded = loadStudentsPage(keyword, major, column, validatedOrder, cursor, size);
+                page = loaded != null ? loaded.getValue() : null;
+            }
+            return page != null ? page : new Page<>(Collections.emptyList(), size, null, null);
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "StudentDAO", "getStudentsPage");
         }
+    }
+
+    // Run one keyset page query; returns null if the query failed
+    private Versioned<Page<Student>> loadStudentsPage(String keyword, String major, String column, String order,
+                                           String cursor, int size) {
+        boolean descending = "DESC".equals(order);
+        PageCursor position = PageCursor.decode(cursor, column);
+        boolean backward = position != null && position.isBackward();
 
-        sql.append(" ORDER BY ")
-                .append(validateSortBy(sortBy))
-                .append(" ")
-                .append(validateOrder(order));
+        // Walking backwards reads the reversed order, then flips the rows
+        boolean scanDescending = backward != descending;
 
-        return executeStudentQuery(sql.toString(), params);
+        StudentListQuery query = StudentListQuery.page(keyword, major, column, scanDescending, position, size + 1);
+
+        // Keyword-free pages are the ones kept in the query cache
+        Versioned<List<Student>> loaded = queryStudents(query.getSql(), query.getParams(), keyword == null);
+        if (loaded == null) {
+            return null;
+        }
+        List<Student> rows = loaded.getValue();
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = new ArrayList<>(rows.subList(0, size));
+        }
+        return new Versioned<>(toPage(rows, more, position, column, size, loaded.getVersion()), loaded.getVersion());
     }
 
-    // Helper to execute SELECT queries and map to Student list
-    private List<Student> executeStudentQuery(String sql, List<Object> params) {
+    // Keyset page over an in-memory match list, same cursor semantics as the SQL path
+    private Page<Student> pageFromMatches(List<Student> matches, String column, String order,
+                                          String cursor, int size) {
+        PageCursor position = PageCursor.decode(cursor, column);
+        boolean backward = position != null && position.isBackward();
+        boolean scanDescending = backward != "DESC".equals(order);
+
+        Comparator<Student> ordering = StudentOrdering.ascending(column);
+        if (scanDescending) {
+            ordering = ordering.reversed();
+        }
+        matches.sort(ordering);
+
+        int from = 0;
+        if (position != null) {
+            // First row strictly after the cursor in scan order
+            Student probe = position.toProbe();
+            int low = 0;
+            int high = matches.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (ordering.compare(matches.get(mid), probe) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+        int to = Math.min(from + size, matches.size());
+        List<Student> rows = new ArrayList<>(matches.subList(from, to));
+        return toPage(rows, matches.size() > to, position, column, size, -1);
+    }
+
+    // Wrap one scanned slice (in scan order) as a Page with neighbour cursors
+    private Page<Student> toPage(List<Student> rows, boolean more, PageCursor position, String column, int size,
+                                 long dataVersion) {
+        boolean backward = position != null && position.isBackward();
+        if (backward) {
+            Collections.reverse(rows);
+        }
+
+        boolean hasPrevious = backward ? more : position != null;
+        boolean hasNext = backward || more;
+        String previousCursor = null;
+        String nextCursor = null;
+        if (!rows.isEmpty()) {
+            if (hasPrevious) {
+                previousCursor = PageCursor.before(column, rows.get(0)).encode();
+            }
+            if (hasNext) {
+                nextCursor = PageCursor.after(column, rows.get(rows.size() - 1)).encode();
+            }
+        }
+        return new Page<>(Collections.unmodifiableList(rows), size, previousCursor, nextCursor, dataVersion);
+    }
+
+    private int normalizePageSize(int pageSize) {
+        if (pageSize <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    // Ask the driver to stream rows instead of buffering the whole result
+    private void enableStreaming(Connection conn, Statement stmt) throws SQLException {
+        if (conn.getMetaData().getDriverName().startsWith("MySQL")) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // Connector/J row-by-row streaming
+        } else {
+            stmt.setFetchSize(STREAM_FETCH_SIZE);
+        }
+    }
+
+    // Rows whose student_code matches any of the given students
+    private List<Student> findByCodes(Connection conn, List<Student> students) throws SQLException {
+        String sql = "SELECT * FROM students WHERE student_code IN (" + placeholders(students.size()) + ")";
+
+        List<Student> found = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < students.size(); i++) {
+                pstmt.setString(i + 1, students.get(i).getStudentCode());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    found.add(mapStudent(rs));
+                }
+            }
+        }
+        return found;
+    }
+
+    // Rows with the given ids in id order, optionally locked for the caller's transaction
+    private List<Student> findByIds(Connection conn, List<Integer> ids, boolean forUpdate) throws SQLException {
+        String sql = "SELECT * FROM students WHERE id IN (" + placeholders(ids.size()) + ") ORDER BY id"
+                + (forUpdate ? " FOR UPDATE" : "");
+        List<Student> found = new ArrayList<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                pstmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    found.add(mapStudent(rs));
+                }
+            }
+        }
+        return found;
+    }
+
+    // Delete the given (already locked) rows, one DELETE ... IN (...) per chunk
+    private void deleteRows(Connection conn, List<Student> rows) throws SQLException {
+        for (int from = 0; from < rows.size(); from += ID_CHUNK) {
+            List<Student> chunk = rows.subList(from, Math.min(rows.size(), from + ID_CHUNK));
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "DELETE FROM students WHERE id IN (" + placeholders(chunk.size()) + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setInt(i + 1, chunk.get(i).getId());
+                }
+                pstmt.executeUpdate();
+            }
+        }
+    }
+
+    // Sorted ids split into IN-list chunks; ascending order keeps concurrent bulk writes from deadlocking
+    private static List<List<Integer>> idChunks(Set<Integer> ids) {
+        List<Integer> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += ID_CHUNK) {
+            chunks.add(sorted.subList(from, Math.min(sorted.size(), from + ID_CHUNK)));
+        }
+        return chunks;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sql = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        return sql.toString();
+    }
+
+    private static Student withMajor(Student row, String major) {
+        Student copy = new Student(row.getStudentCode(), row.getFullName(), row.getEmail(), major);
+        copy.setId(row.getId());
+        copy.setCreatedAt(row.getCreatedAt());
+        return copy;
+    }
+
+    // Read one row on an existing connection
+    private Student findById(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM students WHERE id = ?")) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapStudent(rs) : null;
+            }
+        }
+    }
+
+    // Read and lock one row inside the caller's transaction
+    private Student findByIdForUpdate(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM students WHERE id = ? FOR UPDATE")) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? mapStudent(rs) : null;
+            }
+        }
+    }
+
+    // Helper to execute SELECT queries and map to Student list (package-private for the benchmarks module)
+    List<Student> executeStudentQuery(String sql, List<Object> params) {
+        Versioned<List<Student>> students = queryStudents(sql, params, false);
+        return students != null ? students.getValue() : new ArrayList<>();
+    }
+
+    // Read-through the query cache; cached lists are shared, so they are read-only
+    private List<Student> cachedStudentQuery(QueryKey key, StudentListQuery query) {
+        List<Student> students = CACHE.get(key, this::getDataVersion, () -> {
+            Versioned<List<Student>> rows = queryStudents(query.getSql(), query.getParams(), true);
+            return rows != null
+                    ? new Versioned<>(Collections.unmodifiableList(rows.getValue()), rows.getVersion())
+                    : null;
+        });
+        return students != null ? students : new ArrayList<>();
+    }
+
+    /**
+     * Execute a SELECT and map the rows; returns null if the query failed.
+     * Shared (cacheable) reads first read the data version on the same
+     * connection, so the rows are at least that new even on a lagging
+     * replica; other reads report version -1.
+     */
+    private Versioned<List<Student>> queryStudents(String sql, List<Object> params, boolean shared) {
         List<Student> students = new ArrayList<>();
+        long version = -1;
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getReadConnection(shared);
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
+            if (shared) {
+                version = readDataVersion(conn);
+            }
             for (int i = 0; i < params.size(); i++) {
                 pstmt.setObject(i + 1, params.get(i));
             }
@@ -191,11 +1214,12 @@ public class StudentDAO {
                     students.add(mapStudent(rs));
                 }
             }
-        } catch (SQLException | ClassNotFoundException e) {
+        } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
 
-        return students;
+        return new Versioned<>(students, version);
     }
 
     private String validateSortBy(String sortBy) {
@@ -0,0 +1,141 @@
+package com.student.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL for one student list shape: optional keyword and major filters, a
+ * validated sort column and direction, an optional keyset seek and limit.
+ * Every shape is written so the indexes from V2__student_list_indexes.sql
+ * can serve it: plain ANDed conditions (no "1=1" or OR across different
+ * columns in front of the index), seek conditions led by a range on the
+ * sort column, and an ORDER BY that matches an index column for column.
+ * ExplainAudit in the benchmarks module checks each shape with EXPLAIN.
+ */
+final class StudentListQuery {
+
+    private final String sql;
+    private final List<Object> params;
+
+    private StudentListQuery(String sql, List<Object> params) {
+        this.sql = sql;
+        this.params = Collections.unmodifiableList(params);
+    }
+
+    // Whole list in the given order
+    static StudentListQuery list(String keyword, String major, String column, boolean descending) {
+        return build(keyword, major, column, descending, null, 0);
+    }
+
+    /**
+     * One keyset page: rows after the position in scan order (descending is
+     * the scan direction, already flipped for backward cursors), at most
+     * limit rows.
+     */
+    static StudentListQuery page(String keyword, String major, String column, boolean descending,
+                                 PageCursor position, int limit) {
+        return build(keyword, major, column, descending, position, limit);
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    List<Object> getParams() {
+        return params;
+    }
+
+    private static StudentListQuery build(String keyword, String major, String column, boolean descending,
+                                          PageCursor position, int limit) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            conditions.add("(student_code LIKE ? OR full_name LIKE ? OR email LIKE ?)");
+            String pattern = "%" + keyword.trim() + "%";
+            params.add(pattern);
+            params.add(pattern);
+            params.add(pattern);
+        }
+
+        boolean byMajor = major != null && !major.trim().isEmpty();
+        if (byMajor) {
+            conditions.add("major = ?");
+            params.add(major.trim());
+        }
+
+        // Within one major the major column is constant: order (and seek) by id alone
+        String sortColumn = byMajor && "major".equals(column) ? "id" : column;
+        if (position != null) {
+            appendSeek(conditions, params, sortColumn, descending, position);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM students");
+        for (int i = 0; i < conditions.size(); i++) {
+            sql.append(i == 0 ? " WHERE " : " AND ").append(conditions.get(i));
+        }
+
+        String direction = descending ? "DESC" : "ASC";
+        sql.append(" ORDER BY ").append(sortColumn).append(" ").append(direction);
+        if (!isUnique(sortColumn)) {
+            sql.append(", id ").append(direction);
+        }
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+        return new StudentListQuery(sql.toString(), params);
+    }
+
+    /*
+     * Rows strictly after the cursor in ORDER BY column, id. The leading
+     * condition is a range on the sort column alone so the optimizer can
+     * start the index scan at the cursor; the second one settles ties on id.
+     * MySQL sorts NULLs first ascending and last descending, so nullable
+     * columns need their own forms.
+     */
+    private static void appendSeek(List<String> conditions, List<Object> params, String column,
+                                   boolean descending, PageCursor position) {
+        String cmp = descending ? "<" : ">";
+
+        if (isUnique(column)) {
+            conditions.add(column + " " + cmp + " ?");
+            params.add("id".equals(column) ? (Object) position.getId() : position.getBindValue());
+            return;
+        }
+
+        if (position.isNullValue()) {
+            if (descending) {
+                // NULLs come last: only the remaining NULL rows
+                conditions.add(column + " IS NULL AND id < ?");
+            } else {
+                // NULLs come first: the remaining NULL rows, then every value
+                conditions.add("((" + column + " IS NULL AND id > ?) OR " + column + " IS NOT NULL)");
+            }
+            params.add(position.getId());
+            return;
+        }
+
+        if (descending && isNullable(column)) {
+            // Smaller values, then the NULLs at the end
+            conditions.add("(" + column + " <= ? OR " + column + " IS NULL)");
+            conditions.add("(" + column + " < ? OR id < ? OR " + column + " IS NULL)");
+        } else {
+            conditions.add(column + " " + cmp + "= ?");
+            conditions.add("(" + column + " " + cmp + " ? OR id " + cmp + " ?)");
+        }
+        params.add(position.getBindValue());
+        params.add(position.getBindValue());
+        params.add(position.getId());
+    }
+
+    // Sort columns that need no id tiebreaker
+    private static boolean isUnique(String column) {
+        return "id".equals(column) || "student_code".equals(column);
+    }
+
+    private static boolean isNullable(String column) {
+        return "email".equals(column) || "created_at".equals(column);
+    }
+}
@@ -0,0 +1,43 @@
+package com.student.dao;
+
+import com.student.model.Student;
+
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * In-memory equivalents of the SQL "ORDER BY column, id" used by StudentDAO.
+ * Strings compare case-insensitively like the MySQL collation and NULLs
+ * sort first, so reversing a comparator gives the DESC order.
+ */
+final class StudentOrdering {
+
+    private static final Comparator<Student> BY_ID = Comparator.comparingInt(Student::getId);
+
+    private StudentOrdering() {
+    }
+
+    // Ascending comparator for a validated sort column, id as tiebreaker
+    static Comparator<Student> ascending(String column) {
+        switch (column) {
+            case "student_code":
+                return byText(Student::getStudentCode);
+            case "full_name":
+                return byText(Student::getFullName);
+            case "email":
+                return byText(Student::getEmail);
+            case "major":
+                return byText(Student::getMajor);
+            case "created_at":
+                return Comparator.comparing(Student::getCreatedAt,
+                        Comparator.nullsFirst(Comparator.<Timestamp>naturalOrder())).thenComparing(BY_ID);
+            default:
+                return BY_ID;
+        }
+    }
+
+    private static Comparator<Student> byText(Function<Student, String> field) {
+        return Comparator.comparing(field, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)).thenComparing(BY_ID);
+    }
+}
@@ -0,0 +1,296 @@
+package com.student.dao;
+
+import com.student.model.Student;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of StudentDAO query results with a per-entry TTL.
+ *
+ * Only queries without a keyword are cached, which makes local invalidation
+ * precise: a write on this node drops exactly the entries whose major filter
+ * is empty or equal to the before/after major of the changed row. Writes on
+ * other nodes are caught by the shared data version (student_data_version):
+ * each entry keeps the version its rows were read at, and a hit is only
+ * served while that is still the current version.
+ */
+public final class StudentQueryCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final boolean enabled;
+
+    // Access-ordered so the eldest entry is the least recently used; guarded by "this"
+    private final LinkedHashMap<QueryKey, Entry> entries;
+
+    // Bumped on every invalidation; loads that raced with a write are not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    StudentQueryCache(int maxEntries, long ttlMillis, boolean enabled) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.enabled = enabled && maxEntries > 0;
+        this.entries = new LinkedHashMap<QueryKey, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<QueryKey, Entry> eldest) {
+                if (size() > StudentQueryCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    static StudentQueryCache fromProperties(Properties props) {
+        int maxEntries = Integer.parseInt(props.getProperty("db.cache.maxEntries", "256").trim());
+        long ttlSeconds = Long.parseLong(props.getProperty("db.cache.ttlSeconds", "60").trim());
+        boolean enabled = Boolean.parseBoolean(props.getProperty("db.cache.enabled", "true").trim());
+        return new StudentQueryCache(maxEntries, ttlSeconds * 1000, enabled);
+    }
+
+    /**
+     * Return the cached value for the key if it was read at the current data
+     * version, or run the loader and cache its result. The current version is
+     * only asked for when there is an entry to check. A null result (query
+     * failed) is returned but not cached, nor is one of unknown version.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(QueryKey key, LongSupplier currentVersion, Supplier<Versioned<T>> loader) {
+        if (!enabled) {
+            Versioned<T> loaded = loader.get();
+            return loaded != null ? loaded.getValue() : null;
+        }
+
+        long now = System.currentTimeMillis();
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && now - entry.loadedAt > ttlMillis) {
+                entries.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        // A database read, so outside the lock
+        if (entry != null) {
+            if (entry.version == currentVersion.getAsLong()) {
+                hits.increment();
+                return (T) entry.value;
+            }
+            synchronized (this) {
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                    invalidations.increment();
+                }
+            }
+        }
+
+        misses.increment();
+        long startGeneration = generation.get();
+        Versioned<T> loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        if (loaded.getVersion() >= 0) {
+            synchronized (this) {
+                if (generation.get() == startGeneration) {
+                    entries.put(key, new Entry(loaded.getValue(), loaded.getVersion(), now));
+                }
+            }
+        }
+        return loaded.getValue();
+    }
+
+    // Drop every entry whose result could contain any of the given rows
+    void invalidate(Student... rows) {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (this) {
+            Iterator<QueryKey> it = entries.keySet().iterator();
+            while (it.hasNext()) {
+                QueryKey key = it.next();
+                if (key.mayContain(rows)) {
+                    it.remove();
+                    invalidations.increment();
+                }
+            }
+        }
+    }
+
+    synchronized void clear() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    Stats getStats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new Stats(size, hits.sum(), misses.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    private static final class Entry {
+        final Object value;
+        final long version;
+        final long loadedAt;
+
+        Entry(Object value, long version, long loadedAt) {
+            this.value = value;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * A loaded result and the data version it was read at (-1 if unknown);
+     * the rows may be newer than the version, never older.
+     */
+    static final class Versioned<T> {
+        private final T value;
+        private final long version;
+
+        Versioned(T value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        long getVersion() {
+            return version;
+        }
+    }
+
+    /**
+     * Normalized query parameters. The major is trimmed, the sort column and
+     * order are expected to be validated by the caller.
+     */
+    static final class QueryKey {
+        private final String kind;
+        private final String major;
+        private final String column;
+        private final String order;
+        private final String cursor;
+        private final int pageSize;
+
+        private QueryKey(String kind, String major, String column, String order, String cursor, int pageSize) {
+            this.kind = kind;
+            this.major = major == null || major.trim().isEmpty() ? null : major.trim();
+            this.column = column;
+            this.order = order;
+            this.cursor = cursor == null || cursor.isEmpty() ? null : cursor;
+            this.pageSize = pageSize;
+        }
+
+        static QueryKey list(String major, String column, String order) {
+            return new QueryKey("list", major, column, order, null, 0);
+        }
+
+        static QueryKey page(String major, String column, String order, String cursor, int pageSize) {
+            return new QueryKey("page", major, column, order, cursor, pageSize);
+        }
+
+        boolean mayContain(Student... rows) {
+            if (major == null) {
+                return true;
+            }
+            for (Student row : rows) {
+                if (row != null && row.getMajor() != null && major.equalsIgnoreCase(row.getMajor().trim())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) o;
+            return pageSize == other.pageSize
+                    && kind.equals(other.kind)
+                    && Objects.equals(major, other.major)
+                    && Objects.equals(column, other.column)
+                    && Objects.equals(order, other.order)
+                    && Objects.equals(cursor, other.cursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, major, column, order, cursor, pageSize);
+        }
+    }
+
+    /**
+     * Point-in-time cache counters.
+     */
+    public static final class Stats {
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+
+        Stats(int size, long hits, long misses, long evictions, long invalidations) {
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "size=" + size +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", invalidations=" + invalidations +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.student.dao;
+
+import com.student.model.Student;
+
+import java.io.IOException;
+
+/**
+ * Receives rows from a streaming StudentDAO query one at a time.
+ * The Student instance is reused between calls; copy it to keep it.
+ */
+@FunctionalInterface
+public interface StudentRowHandler {
+
+    void handle(Student student) throws IOException;
+}
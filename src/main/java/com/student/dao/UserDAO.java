@@ -1,5 +1,6 @@
 package com.student.dao;
 
+import com.student.metrics.Metrics;
 import com.student.model.User;
 import org.mindrot.jbcrypt.BCrypt;
 
@@ -7,11 +8,6 @@ import java.sql.*;
 
 public class UserDAO {
     
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/student_management";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "admin"; // Update with your MySQL password
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-    
     // SQL queries constants
     private static final String SQL_AUTHENTICATE = 
         "SELECT * FROM users WHERE username = ? AND is_active = TRUE";
@@ -22,74 +18,114 @@ public class UserDAO {
     private static final String SQL_GET_BY_ID = 
         "SELECT * FROM users WHERE id = ?";
     
-    // Get database connection
-    private Connection getConnection() throws SQLException, ClassNotFoundException {
-        Class.forName(DB_DRIVER);
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+    // Time spent in BCrypt.checkpw (dominates login latency by design)
+    private static final Metrics.HistogramFamily BCRYPT_CHECKS = Metrics.histogram(
+        "bcrypt_check_duration_seconds", "Duration of BCrypt password checks");
+    
+    // Write-behind buffer for last_login; null means update synchronously
+    private static volatile LastLoginWriter lastLoginWriter;
+    
+    // Queue last_login updates on the given writer instead of writing them inline
+    public static void setLastLoginWriter(LastLoginWriter writer) {
+        lastLoginWriter = writer;
+    }
+    
+    // Borrow a connection from the shared pool (closing it returns it to the pool)
+    private Connection getConnection() throws SQLException {
+        return ConnectionPool.getConnection();
+    }
+    
+    // Account lookups may be served by a read replica
+    private Connection getReadConnection() throws SQLException {
+        return ConnectionPool.getReadConnection(false);
     }
     
     // Authenticate user with username and password
     public User authenticate(String username, String password) {
-        User user = null;
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQL_AUTHENTICATE)) {
-            
-            pstmt.setString(1, username);
+        long start = System.nanoTime();
+        try {
+            User user = null;
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    // Get hashed password from database
-                    String hashedPassword = rs.getString("password");
-                    
-                    // Verify password using BCrypt
-                    if (BCrypt.checkpw(password, hashedPassword)) {
-                        // Password matches - create user object
+            // Load the account first so no pooled connection is held during BCrypt
+            try (Connection conn = getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(SQL_AUTHENTICATE)) {
+                
+                pstmt.setString(1, username);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
                         user = mapResultSetToUser(rs);
-                        
-                        // Update last login timestamp
-                        updateLastLogin(user.getId());
                     }
                 }
+            } catch (SQLException e) {
+                e.printStackTrace();
+                return null;
             }
-        } catch (SQLException | ClassNotFoundException e) {
-            e.printStackTrace();
+            
+            // Verify password using BCrypt against the stored hash
+            if (user == null) {
+                return null; // Authentication failed
+            }
+            long checkStart = System.nanoTime();
+            boolean matches = BCrypt.checkpw(password, user.getPassword());
+            BCRYPT_CHECKS.recordSince(checkStart);
+            if (!matches) {
+                return null; // Authentication failed
+            }
+            
+            // Update last login timestamp (batched in the background when a writer is set)
+            LastLoginWriter writer = lastLoginWriter;
+            if (writer != null) {
+                writer.record(user.getId(), new Timestamp(System.currentTimeMillis()));
+            } else {
+                try (Connection conn = getConnection()) {
+                    updateLastLogin(conn, user.getId());
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            
+            return user;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "UserDAO", "authenticate");
         }
-        
-        return user; // Returns null if authentication fails
     }
     
     // Update last login timestamp
-    private void updateLastLogin(int userId) {
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE_LAST_LOGIN)) {
+    private void updateLastLogin(Connection conn, int userId) {
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_UPDATE_LAST_LOGIN)) {
             
             pstmt.setInt(1, userId);
             pstmt.executeUpdate();
-        } catch (SQLException | ClassNotFoundException e) {
+        } catch (SQLException e) {
             e.printStackTrace();
         }
     }
     
     // Get user by ID
     public User getUserById(int id) {
-        User user = null;
-        
-        try (Connection conn = getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(SQL_GET_BY_ID)) {
-            
-            pstmt.setInt(1, id);
+        long start = System.nanoTime();
+        try {
+            User user = null;
             
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    user = mapResultSetToUser(rs);
+            try (Connection conn = getReadConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(SQL_GET_BY_ID)) {
+                
+                pstmt.setInt(1, id);
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        user = mapResultSetToUser(rs);
+                    }
                 }
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException | ClassNotFoundException e) {
-            e.printStackTrace();
+            
+            return user;
+        } finally {
+            DaoMetrics.CALLS.recordSince(start, "UserDAO", "getUserById");
         }
-        
-        return user;
     }
     
     // Helper method to map ResultSet to User object
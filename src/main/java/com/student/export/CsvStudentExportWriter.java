@@ -0,0 +1,72 @@
+package com.student.export;
+
+import com.student.model.Student;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV: header row, CRLF line endings, fields quoted when needed.
+ */
+public class CsvStudentExportWriter implements StudentExportWriter {
+
+    private final Writer out;
+
+    public CsvStudentExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public String getContentType() {
+        return "text/csv";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "csv";
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write("id,student_code,full_name,email,major,created_at\r\n");
+    }
+
+    @Override
+    public void handle(Student student) throws IOException {
+        out.write(Integer.toString(student.getId()));
+        out.write(',');
+        writeField(student.getStudentCode());
+        out.write(',');
+        writeField(student.getFullName());
+        out.write(',');
+        writeField(student.getEmail());
+        out.write(',');
+        writeField(student.getMajor());
+        out.write(',');
+        writeField(student.getCreatedAt() != null ? student.getCreatedAt().toString() : null);
+        out.write("\r\n");
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.flush();
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+}
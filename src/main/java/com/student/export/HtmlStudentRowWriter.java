@@ -0,0 +1,107 @@
+package com.student.export;
+
+import com.student.dao.StudentRowHandler;
+import com.student.model.Student;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table rows of student-list.jsp for the streaming list mode, rendered as
+ * rows come off the JDBC cursor. Rows are copied into a batch of at most
+ * flushRows reused Student objects; each batch is rendered through
+ * student-rows.jsp (the same template as the paged list) and flushed to the
+ * client, or sooner when rows arrive slowly. This keeps memory flat and gets
+ * the first rows on screen early. Call flush() after the last row.
+ */
+public class HtmlStudentRowWriter implements StudentRowHandler {
+
+    private static final String ROWS_VIEW = "/views/student-rows.jsp";
+    private static final long FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final RequestDispatcher rowsView;
+    private final int flushRows;
+    private final List<Student> slots = new ArrayList<>();
+    private int pending;
+    private int rowCount;
+    private long lastFlush = System.nanoTime();
+
+    public HtmlStudentRowWriter(HttpServletRequest request, HttpServletResponse response, int flushRows) {
+        this.request = request;
+        this.response = response;
+        this.rowsView = request.getRequestDispatcher(ROWS_VIEW);
+        this.flushRows = Math.max(1, flushRows);
+    }
+
+    @Override
+    public void handle(Student student) throws IOException {
+        // The handler's Student is reused by the DAO, so copy it into a slot
+        if (pending == slots.size()) {
+            slots.add(new Student());
+        }
+        Student slot = slots.get(pending++);
+        slot.setId(student.getId());
+        slot.setStudentCode(student.getStudentCode());
+        slot.setFullName(student.getFullName());
+        slot.setEmail(student.getEmail());
+        slot.setMajor(student.getMajor());
+        slot.setCreatedAt(student.getCreatedAt());
+        rowCount++;
+
+        if (pending >= flushRows || System.nanoTime() - lastFlush >= FLUSH_INTERVAL_NANOS) {
+            flush();
+        }
+    }
+
+    // Row spanning the table, e.g. when the query fails part-way
+    public void writeMessage(String message) throws IOException {
+        render();
+        request.setAttribute("rowsMessage", message);
+        try {
+            include();
+        } finally {
+            request.removeAttribute("rowsMessage");
+        }
+        flush();
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    // Render the pending rows and send everything written so far
+    public void flush() throws IOException {
+        render();
+        response.getWriter().flush();
+        lastFlush = System.nanoTime();
+    }
+
+    private void render() throws IOException {
+        if (pending == 0) {
+            return;
+        }
+        request.setAttribute("students", slots.subList(0, pending));
+        try {
+            include();
+        } finally {
+            request.removeAttribute("students");
+            pending = 0;
+        }
+    }
+
+    private void include() throws IOException {
+        try {
+            rowsView.include(request, response);
+        } catch (ServletException e) {
+            throw new IOException("Could not render student rows", e);
+        }
+    }
+}
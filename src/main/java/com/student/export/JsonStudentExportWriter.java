@@ -0,0 +1,51 @@
+package com.student.export;
+
+import com.student.model.Student;
+import com.student.util.StudentJson;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * JSON array of student objects, written one element at a time.
+ */
+public class JsonStudentExportWriter implements StudentExportWriter {
+
+    private final Writer out;
+    private boolean first = true;
+
+    public JsonStudentExportWriter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public String getContentType() {
+        return "application/json";
+    }
+
+    @Override
+    public String getFileExtension() {
+        return "json";
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write('[');
+    }
+
+    @Override
+    public void handle(Student student) throws IOException {
+        if (!first) {
+            out.write(',');
+        }
+        first = false;
+        out.write('\n');
+        StudentJson.write(out, student);
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.write("\n]\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,20 @@
+package com.student.export;
+
+import com.student.dao.StudentRowHandler;
+
+import java.io.IOException;
+
+/**
+ * Serializes a stream of students in one export format.
+ * Call begin(), then handle() once per row, then end().
+ */
+public interface StudentExportWriter extends StudentRowHandler {
+
+    String getContentType();
+
+    String getFileExtension();
+
+    void begin() throws IOException;
+
+    void end() throws IOException;
+}
@@ -1,25 +1,22 @@
 package com.student.filter;
 
-import com.student.model.User;
+import com.student.security.AuthSessions;
+import com.student.security.RoutePolicy;
+import com.student.security.UserPrincipal;
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.*;
 import java.io.IOException;
 
-@WebFilter(filterName = "AdminFilter", urlPatterns = {"/student"})
+// Mapped after AuthFilter in web.xml; admin-only routes are declared in AppContextListener
+@WebFilter(filterName = "AdminFilter", urlPatterns = {"/*"}, asyncSupported = true)
 public class AdminFilter implements Filter {
     
-    // Admin-only actions
-    private static final String[] ADMIN_ACTIONS = {
-        "new",
-        "insert",
-        "edit",
-        "update",
-        "delete"
-    };
+    private RoutePolicy routePolicy;
     
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
+        routePolicy = (RoutePolicy) filterConfig.getServletContext().getAttribute(RoutePolicy.ATTRIBUTE);
         System.out.println("AdminFilter initialized");
     }
     
@@ -30,32 +27,28 @@ public class AdminFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
-        // Get action parameter
-        String action = httpRequest.getParameter("action");
+        // Rule already matched by AuthFilter (match again if it did not run)
+        RoutePolicy.Rule rule = (RoutePolicy.Rule) httpRequest.getAttribute(RoutePolicy.RULE_ATTRIBUTE);
+        if (rule == null) {
+            rule = routePolicy.match(httpRequest);
+        }
         
-        // Check if action requires admin role
-        if (isAdminAction(action)) {
-            
-            // Get session and user
-            HttpSession session = httpRequest.getSession(false);
-            User user = null;
-            
-            if (session != null) {
-                user = (User) session.getAttribute("user");
-            }
-            
-            // Check if user is admin
-            if (user != null && user.isAdmin()) {
-                // Allow access
-                chain.doFilter(request, response);
-            } else {
-                // Deny access - redirect with error message
-                String contextPath = httpRequest.getContextPath();
-                httpResponse.sendRedirect(contextPath + "/student?action=list&error=You do not have permission to perform this action. Admin access required.");
-            }
-        } else {
-            // Not an admin action, allow
+        // Not an admin route, or the user is an admin: allow
+        if (rule.getAccess() != RoutePolicy.Access.ADMIN || isAdmin(httpRequest)) {
             chain.doFilter(request, response);
+            return;
+        }
+        
+        rule.recordDenial();
+        if (httpRequest.getServletPath().startsWith("/api")) {
+            // REST API clients get a status code
+            httpResponse.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            httpResponse.setContentType("application/json;charset=UTF-8");
+            httpResponse.getWriter().write("{\"error\":\"Admin access required\"}");
+        } else {
+            // Deny access - redirect with error message
+            String contextPath = httpRequest.getContextPath();
+            httpResponse.sendRedirect(contextPath + "/student?action=list&error=You do not have permission to perform this action. Admin access required.");
         }
     }
     
@@ -65,20 +58,10 @@ public class AdminFilter implements Filter {
     }
     
     /**
-     * Check if the action requires admin role
+     * Check if the signed-in user (resolved by AuthFilter) is an admin
      */
-    private boolean isAdminAction(String action) {
-        if (action == null) {
-            return false;
-        }
-        
-        for (String adminAction : ADMIN_ACTIONS) {
-            if (adminAction.equalsIgnoreCase(action)) {
-                return true;
-            }
-        }
-        
-        return false;
+    private boolean isAdmin(HttpServletRequest request) {
+        UserPrincipal user = AuthSessions.current(request);
+        return user != null && user.isAdmin();
     }
 }
-
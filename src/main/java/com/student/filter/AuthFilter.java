@@ -1,27 +1,25 @@
 package com.student.filter;
 
+import com.student.security.AuthSessions;
+import com.student.security.RoutePolicy;
+import com.student.security.UserPrincipal;
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.*;
 import java.io.IOException;
+import java.security.Principal;
 
-@WebFilter(filterName = "AuthFilter", urlPatterns = {"/*"})
+@WebFilter(filterName = "AuthFilter", urlPatterns = {"/*"}, asyncSupported = true)
 public class AuthFilter implements Filter {
     
-    // Public URLs that don't require authentication
-    private static final String[] PUBLIC_URLS = {
-        "/login",
-        "/logout",
-        ".css",
-        ".js",
-        ".png",
-        ".jpg",
-        ".ico",
-        "/index.jsp"
-    };
+    private AuthSessions authSessions;
+    private RoutePolicy routePolicy;
     
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
+        ServletContext context = filterConfig.getServletContext();
+        authSessions = (AuthSessions) context.getAttribute(AuthSessions.ATTRIBUTE);
+        routePolicy = (RoutePolicy) context.getAttribute(RoutePolicy.ATTRIBUTE);
         System.out.println("AuthFilter initialized");
     }
     
@@ -32,29 +30,42 @@ public class AuthFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
         
-        // Get request URI and context path
-        String requestURI = httpRequest.getRequestURI();
-        String contextPath = httpRequest.getContextPath();
+        // An async dispatch renders a request this filter already let through
+        // (e.g. the login page after the password check on the login pool)
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            chain.doFilter(request, response);
+            return;
+        }
         
-        // Extract path (remove context path)
-        String path = requestURI.substring(contextPath.length());
+        // Look up the access rule for this request (AdminFilter reuses it)
+        RoutePolicy.Rule rule = routePolicy.match(httpRequest);
+        httpRequest.setAttribute(RoutePolicy.RULE_ATTRIBUTE, rule);
         
         // Check if URL is public
-        if (isPublicUrl(path)) {
+        if (rule.getAccess() == RoutePolicy.Access.PUBLIC) {
             chain.doFilter(request, response);
             return;
         }
         
-        // Check if user is logged in
-        HttpSession session = httpRequest.getSession(false);
-        boolean isLoggedIn = (session != null && session.getAttribute("user") != null);
+        // Check if user is logged in (session or signed cookie)
+        UserPrincipal user = authSessions.resolve(httpRequest, httpResponse);
         
-        if (isLoggedIn) {
-            // User is logged in, continue
-            chain.doFilter(request, response);
+        if (user != null) {
+            // User is logged in: expose it to controllers and JSPs, continue
+            httpRequest.setAttribute(UserPrincipal.ATTRIBUTE, user);
+            chain.doFilter(new PrincipalRequest(httpRequest, user), response);
+            return;
+        }
+        
+        rule.recordDenial();
+        if (httpRequest.getServletPath().startsWith("/api")) {
+            // API clients get a status code instead of the login page
+            httpResponse.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            httpResponse.setContentType("application/json;charset=UTF-8");
+            httpResponse.getWriter().write("{\"error\":\"Authentication required\"}");
         } else {
             // User is not logged in, redirect to login
-            httpResponse.sendRedirect(contextPath + "/login");
+            httpResponse.sendRedirect(httpRequest.getContextPath() + "/login");
         }
     }
     
@@ -64,22 +75,29 @@ public class AuthFilter implements Filter {
     }
     
     /**
-     * Check if the path is a public URL that doesn't require authentication
+     * Reports the signed-in user through the standard servlet API
      */
-    private boolean isPublicUrl(String path) {
-        // Allow root path
-        if (path.equals("/") || path.isEmpty()) {
-            return true;
+    private static final class PrincipalRequest extends HttpServletRequestWrapper {
+        private final UserPrincipal user;
+        
+        PrincipalRequest(HttpServletRequest request, UserPrincipal user) {
+            super(request);
+            this.user = user;
+        }
+        
+        @Override
+        public Principal getUserPrincipal() {
+            return user;
         }
         
-        // Check if path contains any public URL pattern
-        for (String publicUrl : PUBLIC_URLS) {
-            if (path.contains(publicUrl)) {
-                return true;
-            }
+        @Override
+        public String getRemoteUser() {
+            return user.getUsername();
         }
         
-        return false;
+        @Override
+        public boolean isUserInRole(String role) {
+            return role != null && role.equalsIgnoreCase(user.getRole());
+        }
     }
 }
-
@@ -0,0 +1,512 @@
+package com.student.filter;
+
+import com.student.metrics.Metrics;
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips text responses (pages, CSV/JSON exports, API) for clients that
+ * accept it. The first compression.minBytes of a body are buffered; smaller
+ * bodies go out as-is with a Content-Length, larger ones are compressed as
+ * they are written. Responses that already carry a Content-Encoding
+ * (pre-compressed static assets) are left alone.
+ */
+@WebFilter(filterName = "CompressionFilter", urlPatterns = {"/*"}, asyncSupported = true,
+        dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.ASYNC})
+public class CompressionFilter implements Filter {
+
+    private static final String APPLIED_ATTRIBUTE = CompressionFilter.class.getName() + ".applied";
+
+    private static final String DEFAULT_MIME_TYPES = "text/html,text/css,text/plain,text/csv,text/javascript,"
+            + "application/javascript,application/json,image/svg+xml";
+
+    private static final Metrics.CounterFamily RESPONSES = Metrics.counter("http_compressed_responses_total",
+            "Responses sent gzip-encoded", "source");
+
+    private static final Metrics.CounterFamily BYTES_IN = Metrics.counter("http_compression_input_bytes_total",
+            "Body bytes of gzip-encoded responses before compression", "source");
+
+    private static final Metrics.CounterFamily BYTES_OUT = Metrics.counter("http_compression_output_bytes_total",
+            "Body bytes of gzip-encoded responses as sent", "source");
+
+    private boolean enabled;
+    private int minBytes;
+    private int level;
+    private Set<String> mimeTypes;
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        ServletContext context = filterConfig.getServletContext();
+        enabled = Boolean.parseBoolean(param(context, "compression.enabled", "true"));
+        minBytes = Integer.parseInt(param(context, "compression.minBytes", "1024"));
+        level = Integer.parseInt(param(context, "compression.level", "6"));
+        mimeTypes = new HashSet<>();
+        for (String type : param(context, "compression.mimeTypes", DEFAULT_MIME_TYPES).split(",")) {
+            if (!type.trim().isEmpty()) {
+                mimeTypes.add(type.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        System.out.println("CompressionFilter initialized (" + (enabled ? "gzip above " + minBytes + " bytes" : "off") + ")");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        // Mapped by annotation and web.xml, some containers chain it twice
+        if (!enabled || "HEAD".equals(httpRequest.getMethod()) || request.getAttribute(APPLIED_ATTRIBUTE) != null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Wrapped either way so every compressible response varies on Accept-Encoding
+        GzipResponse gzipResponse = new GzipResponse((HttpServletResponse) response, acceptsGzip(httpRequest));
+        request.setAttribute(APPLIED_ATTRIBUTE, Boolean.TRUE);
+        try {
+            chain.doFilter(request, gzipResponse);
+        } finally {
+            request.removeAttribute(APPLIED_ATTRIBUTE);
+        }
+
+        // An async servlet (login) writes later through a new dispatch, which passes here again;
+        // a non-blocking one (event stream) keeps writing until it completes the request
+        if (request.isAsyncStarted() && (!gzipResponse.hasOutput() || gzipResponse.isNonBlocking())) {
+            return;
+        }
+        gzipResponse.finish();
+    }
+
+    @Override
+    public void destroy() {
+        System.out.println("CompressionFilter destroyed");
+    }
+
+    // True when Accept-Encoding lists gzip (or *) without q=0
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        String header = request.getHeader("Accept-Encoding");
+        if (header == null) {
+            return false;
+        }
+        for (String part : header.split(",")) {
+            String[] pieces = part.split(";");
+            String coding = pieces[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            boolean allowed = true;
+            for (int i = 1; i < pieces.length; i++) {
+                String p = pieces[i].trim();
+                if (p.startsWith("q=")) {
+                    try {
+                        allowed = Double.parseDouble(p.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        allowed = false;
+                    }
+                }
+            }
+            if (allowed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Bytes saved are BYTES_IN - BYTES_OUT; source is "page" or "static"
+    public static void recordCompressed(String source, long inputBytes, long outputBytes) {
+        RESPONSES.increment(source);
+        BYTES_IN.add(inputBytes, source);
+        BYTES_OUT.add(outputBytes, source);
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        int semicolon = contentType.indexOf(';');
+        String mime = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim();
+        return mimeTypes.contains(mime.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean varies(String vary) {
+        return vary != null && (vary.contains("*") || vary.toLowerCase(Locale.ROOT).contains("accept-encoding"));
+    }
+
+    private static String param(ServletContext context, String name, String defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    /**
+     * Holds back Content-Length and the start of the body until it is known
+     * whether the response gets compressed.
+     */
+    private final class GzipResponse extends HttpServletResponseWrapper {
+        private final HttpServletResponse original;
+        private final boolean gzipAccepted;
+        private CompressingStream stream;
+        private PrintWriter writer;
+        private long contentLength = -1;
+        private boolean passThrough;
+
+        GzipResponse(HttpServletResponse original, boolean gzipAccepted) {
+            super(original);
+            this.original = original;
+            this.gzipAccepted = gzipAccepted;
+        }
+
+        boolean hasOutput() {
+            return stream != null;
+        }
+
+        boolean isNonBlocking() {
+            return stream != null && stream.nonBlocking;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called");
+            }
+            if (stream == null) {
+                stream = new CompressingStream(this);
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                if (stream != null) {
+                    throw new IllegalStateException("getOutputStream() has already been called");
+                }
+                CompressingStream body = new CompressingStream(this);
+                stream = body;
+                writer = new PrintWriter(new OutputStreamWriter(body, getCharacterEncoding())) {
+                    // Closing a writer flushes its stream first; skip that so Content-Length stays possible
+                    @Override
+                    public void close() {
+                        body.closing = true;
+                        super.close();
+                    }
+                };
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            contentLength = len;
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (!interceptHeader(name, value)) {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (!interceptHeader(name, value)) {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            if (!interceptHeader(name, String.valueOf(value))) {
+                super.setIntHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            if (!interceptHeader(name, String.valueOf(value))) {
+                super.addIntHeader(name, value);
+            }
+        }
+
+        private boolean interceptHeader(String name, String value) {
+            if ("Content-Length".equalsIgnoreCase(name)) {
+                contentLength = value == null ? -1 : Long.parseLong(value.trim());
+                return true;
+            }
+            if ("Content-Encoding".equalsIgnoreCase(name)) {
+                passThrough = true;
+            }
+            return false;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            passThrough = true;
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            passThrough = true;
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            passThrough = true;
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (stream != null) {
+                stream.flush();
+            } else {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return (stream != null && stream.decided) || super.isCommitted();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (stream != null) {
+                stream.discardBuffered();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (stream != null) {
+                stream.discardBuffered();
+            }
+            contentLength = -1;
+            passThrough = false;
+        }
+
+        void finish() throws IOException {
+            if (stream != null) {
+                // Drain the writer without flushing the container (keeps Content-Length possible)
+                stream.closing = true;
+                if (writer != null) {
+                    writer.flush();
+                }
+                stream.close();
+            } else if (contentLength >= 0 && !original.isCommitted()) {
+                original.setContentLengthLong(contentLength);
+            }
+        }
+
+        // Decide once headers can no longer change; "large" means compress if allowed
+        OutputStream open(boolean large) throws IOException {
+            int status = original.getStatus();
+            boolean compressible = !passThrough && status >= 200
+                    && status != HttpServletResponse.SC_NO_CONTENT
+                    && status != HttpServletResponse.SC_NOT_MODIFIED
+                    && isCompressible(original.getContentType())
+                    && !original.containsHeader("Content-Encoding");
+            if (compressible && !varies(original.getHeader("Vary"))) {
+                original.addHeader("Vary", "Accept-Encoding");
+            }
+            if (compressible && large && gzipAccepted) {
+                original.setHeader("Content-Encoding", "gzip");
+                // The gzipped body is not byte-identical to what a strong ETag promises
+                String etag = original.getHeader("ETag");
+                if (etag != null && etag.startsWith("\"")) {
+                    original.setHeader("ETag", "W/" + etag);
+                }
+                return new CountingGzipStream(original.getOutputStream(), level);
+            }
+            if (contentLength >= 0) {
+                original.setContentLengthLong(contentLength);
+            }
+            return original.getOutputStream();
+        }
+    }
+
+    /**
+     * Buffers up to minBytes, then writes through to the container stream,
+     * gzipped or not. A flush before the threshold (a page streamed in
+     * parts) counts as a large body.
+     */
+    private final class CompressingStream extends ServletOutputStream {
+        private final GzipResponse response;
+        private byte[] buffer = new byte[Math.max(minBytes, 64)];
+        private int count;
+        private long written;
+        private boolean decided;
+        private boolean closed;
+        private boolean closing;
+        private boolean nonBlocking;
+        private OutputStream target;
+
+        CompressingStream(GzipResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            written += len;
+            if (!decided) {
+                if (count + len <= minBytes) {
+                    System.arraycopy(b, off, buffer, count, len);
+                    count += len;
+                    return;
+                }
+                decide(true);
+            }
+            target.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (closed || closing) {
+                return;
+            }
+            if (!decided) {
+                if (count == 0) {
+                    return;
+                }
+                decide(true);
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            if (!decided) {
+                decide(count >= minBytes);
+            }
+            closed = true;
+            if (target instanceof CountingGzipStream) {
+                CountingGzipStream gzip = (CountingGzipStream) target;
+                gzip.finish();
+                recordCompressed("page", written, gzip.getCompressedBytes());
+            }
+            target.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return !(target instanceof ServletOutputStream) || ((ServletOutputStream) target).isReady();
+        }
+
+        // Non-blocking output (event streams) is sent uncompressed, straight to the container
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            try {
+                if (!decided) {
+                    decide(false);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            if (!(target instanceof ServletOutputStream)) {
+                throw new IllegalStateException("Non-blocking output is not supported on a compressed response");
+            }
+            nonBlocking = true;
+            ((ServletOutputStream) target).setWriteListener(writeListener);
+        }
+
+        void discardBuffered() {
+            if (!decided) {
+                written -= count;
+                count = 0;
+            }
+        }
+
+        private void decide(boolean large) throws IOException {
+            decided = true;
+            target = response.open(large);
+            if (count > 0) {
+                target.write(buffer, 0, count);
+            }
+            buffer = null;
+        }
+    }
+
+    /**
+     * Gzip stream that flushes compressed data on flush() (for streamed
+     * pages) and counts the bytes handed to the container.
+     */
+    private static final class CountingGzipStream extends GZIPOutputStream {
+        private final Counter counter;
+
+        CountingGzipStream(ServletOutputStream out, int level) throws IOException {
+            this(new Counter(out), level);
+        }
+
+        private CountingGzipStream(Counter counter, int level) throws IOException {
+            super(counter, 8192, true);
+            this.counter = counter;
+            def.setLevel(level);
+        }
+
+        long getCompressedBytes() {
+            return counter.bytes;
+        }
+    }
+
+    private static final class Counter extends OutputStream {
+        private final OutputStream out;
+        private long bytes;
+
+        Counter(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.student.filter;
+
+import com.student.metrics.Metrics;
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Times every request by route and every JSP forward by view.
+ * Mapped first in web.xml so authorization time is included.
+ */
+@WebFilter(filterName = "MetricsFilter", urlPatterns = {"/*"}, asyncSupported = true,
+        dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD, DispatcherType.ASYNC})
+public class MetricsFilter implements Filter {
+    
+    // Request attribute a controller sets to the action it dispatched to (a fixed name, never client input)
+    public static final String ACTION_ATTRIBUTE = MetricsFilter.class.getName() + ".action";
+    
+    // The dispatch being timed; mapped by annotation and web.xml, some containers chain it twice
+    private static final String TIMING_ATTRIBUTE = MetricsFilter.class.getName() + ".timing";
+    
+    // Any other method is labelled "other" so made-up methods cannot create new series
+    private static final Set<String> METHODS = new HashSet<>(Arrays.asList(
+            "GET", "HEAD", "POST", "PUT", "DELETE", "OPTIONS", "PATCH", "TRACE"));
+    
+    private static final Metrics.HistogramFamily REQUESTS = Metrics.histogram("http_request_duration_seconds",
+            "Duration of HTTP requests by route", "route", "method", "status");
+    
+    private static final Metrics.HistogramFamily VIEWS = Metrics.histogram("jsp_render_duration_seconds",
+            "Duration of forwards to JSP views", "view");
+    
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        System.out.println("MetricsFilter initialized");
+    }
+    
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String dispatch = request.getDispatcherType() + " " + httpRequest.getServletPath();
+        Object outer = request.getAttribute(TIMING_ATTRIBUTE);
+        if (dispatch.equals(outer)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        request.setAttribute(TIMING_ATTRIBUTE, dispatch);
+        try {
+            time(httpRequest, httpResponse, chain);
+        } finally {
+            request.setAttribute(TIMING_ATTRIBUTE, outer);
+        }
+    }
+    
+    private static void time(HttpServletRequest httpRequest, HttpServletResponse httpResponse, FilterChain chain)
+            throws IOException, ServletException {
+        
+        long start = System.nanoTime();
+        
+        // Forward or async dispatch: time the view being rendered
+        if (httpRequest.getDispatcherType() != DispatcherType.REQUEST) {
+            try {
+                chain.doFilter(httpRequest, httpResponse);
+            } finally {
+                if (httpRequest.getServletPath().endsWith(".jsp")) {
+                    VIEWS.recordSince(start, httpRequest.getServletPath());
+                }
+            }
+            return;
+        }
+        
+        try {
+            chain.doFilter(httpRequest, httpResponse);
+        } finally {
+            if (httpRequest.isAsyncStarted()) {
+                // Async servlets (login) finish later, on another thread
+                httpRequest.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(httpRequest, httpResponse, start);
+                    }
+                    
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+                    
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                record(httpRequest, httpResponse, start);
+            }
+        }
+    }
+    
+    @Override
+    public void destroy() {
+        System.out.println("MetricsFilter destroyed");
+    }
+    
+    private static void record(HttpServletRequest request, HttpServletResponse response, long start) {
+        int status = response.getStatus();
+        String method = METHODS.contains(request.getMethod()) ? request.getMethod() : "other";
+        REQUESTS.recordSince(start, route(request, status), method, (status / 100) + "xx");
+    }
+    
+    /**
+     * Servlet path plus the controller action, e.g. "/student:list".
+     * Unknown paths share one label so scans cannot create new series.
+     */
+    private static String route(HttpServletRequest request, int status) {
+        if (status == HttpServletResponse.SC_NOT_FOUND) {
+            return "unmatched";
+        }
+        String route = request.getServletPath();
+        Object action = request.getAttribute(ACTION_ATTRIBUTE);
+        if (action != null) {
+            route += ":" + action;
+        }
+        return route;
+    }
+}
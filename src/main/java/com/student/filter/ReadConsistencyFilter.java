@@ -0,0 +1,96 @@
+package com.student.filter;
+
+import com.student.dao.ConnectionPool;
+import com.student.dao.ReadConsistency;
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.*;
+import java.io.IOException;
+
+/**
+ * Read-your-writes for replica routing. After a request writes, the client
+ * gets a short-lived cookie holding the time until which its reads go to the
+ * primary; later requests (on any node, in either session mode) restore it
+ * into a ReadConsistency scope. Does nothing when no replica is configured.
+ */
+@WebFilter(filterName = "ReadConsistencyFilter", urlPatterns = {"/*"}, asyncSupported = true)
+public class ReadConsistencyFilter implements Filter {
+
+    private static final String COOKIE_NAME = "SM_RW";
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        System.out.println("ReadConsistencyFilter initialized");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!ConnectionPool.hasReplicas()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        long stickyMillis = ConnectionPool.getStickyMillis();
+        long now = System.currentTimeMillis();
+        // Never honour more than one window from now, whatever the client sends
+        long primaryUntil = Math.min(readCookie(httpRequest), now + stickyMillis);
+
+        ReadConsistency.WriteListener listener = new ReadConsistency.WriteListener() {
+            private boolean sent;
+
+            @Override
+            public void onWrite(long until) {
+                if (!sent && !httpResponse.isCommitted()) {
+                    sent = true;
+                    writeCookie(httpRequest, httpResponse, until, (int) ((stickyMillis + 999) / 1000));
+                }
+            }
+        };
+        ReadConsistency.Scope scope = ReadConsistency.begin(primaryUntil > now ? primaryUntil : 0, listener);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        System.out.println("ReadConsistencyFilter destroyed");
+    }
+
+    private static long readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    // Raw header like AuthSessions (SameSite needs Servlet 6 for Cookie)
+    private static void writeCookie(HttpServletRequest request, HttpServletResponse response,
+                                    long value, int maxAge) {
+        String path = request.getContextPath();
+        StringBuilder header = new StringBuilder(COOKIE_NAME).append('=').append(value)
+                .append("; Path=").append(path.isEmpty() ? "/" : path)
+                .append("; Max-Age=").append(maxAge)
+                .append("; HttpOnly; SameSite=Lax");
+        if (request.isSecure()) {
+            header.append("; Secure");
+        }
+        response.addHeader("Set-Cookie", header.toString());
+    }
+}
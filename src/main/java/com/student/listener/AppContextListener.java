@@ -0,0 +1,231 @@
+package com.student.listener;
+
+import com.student.analytics.StudentColumnStore;
+import com.student.dao.ConnectionPool;
+import com.student.dao.LastLoginWriter;
+import com.student.dao.StudentDAO;
+import com.student.dao.UserDAO;
+import com.student.search.StudentSearchIndex;
+import com.student.security.AuthSessions;
+import com.student.security.RoutePolicy;
+import com.student.security.RoutePolicy.Access;
+import com.student.security.SessionTokenCodec;
+import com.student.service.LoginExecutor;
+import com.student.service.StaticAssets;
+import com.student.service.StudentEventBus;
+import com.student.service.StudentStatistics;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+
+@WebListener
+public class AppContextListener implements ServletContextListener {
+
+    // StudentController actions that read for or change data as an admin
+    private static final String[] ADMIN_ACTIONS = {
+            "new", "edit", "delete", "export", "import", "insert", "update",
+            "bulkDelete", "bulkDeleteMatching", "bulkUpdateMajor"};
+
+    private StudentStatistics statistics;
+    private StudentSearchIndex searchIndex;
+    private StudentColumnStore columnStore;
+    private LoginExecutor loginExecutor;
+    private LastLoginWriter lastLoginWriter;
+    private StudentEventBus eventBus;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServletContext context = sce.getServletContext();
+
+        // Open the shared connection pool before any servlet runs
+        ConnectionPool.start();
+
+        // Dashboard counters, kept current by StudentDAO write notifications
+        long refreshSeconds = longParam(context, "statistics.refreshSeconds", 600);
+        statistics = new StudentStatistics(new StudentDAO(), refreshSeconds * 1000);
+        StudentDAO.addChangeListener(statistics);
+        context.setAttribute(StudentStatistics.ATTRIBUTE, statistics);
+
+        // Trigram search index; keyword searches use SQL LIKE until it is loaded
+        if (Boolean.parseBoolean(stringParam(context, "search.index.enabled", "true"))) {
+            searchIndex = new StudentSearchIndex();
+            StudentDAO.addChangeListener(searchIndex);
+            StudentDAO.setSearchIndex(searchIndex);
+            Thread loader = new Thread(this::buildSearchIndex, "search-index-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+
+        // Columnar copy for enrollment reports; /api/analytics answers 503 until it is loaded
+        if (Boolean.parseBoolean(stringParam(context, "analytics.enabled", "true"))) {
+            columnStore = new StudentColumnStore();
+            StudentDAO.addChangeListener(columnStore);
+            context.setAttribute(StudentColumnStore.ATTRIBUTE, columnStore);
+            Thread loader = new Thread(this::buildColumnStore, "analytics-loader");
+            loader.setDaemon(true);
+            loader.start();
+        }
+
+        // Live list updates: student changes pushed to open pages over Server-Sent Events
+        if (Boolean.parseBoolean(stringParam(context, "events.enabled", "true"))) {
+            eventBus = new StudentEventBus((int) longParam(context, "events.replaySize", 1000),
+                    longParam(context, "events.heartbeatSeconds", 25) * 1000,
+                    (int) longParam(context, "events.maxConnections", 10000));
+            StudentDAO.addChangeListener(eventBus);
+            context.setAttribute(StudentEventBus.ATTRIBUTE, eventBus);
+        }
+
+        // Fingerprinted stylesheets; JSPs link them through the "assets" map
+        try {
+            StaticAssets assets = StaticAssets.load(context);
+            context.setAttribute(StaticAssets.ATTRIBUTE, assets);
+            context.setAttribute(StaticAssets.URLS_ATTRIBUTE, assets.getUrls());
+            System.out.println("Static assets loaded: " + assets.getUrls().values());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load static assets", e);
+        }
+
+        // Login state: container HttpSession or stateless signed cookie
+        context.setAttribute(AuthSessions.ATTRIBUTE, createAuthSessions(context));
+        context.setAttribute(RoutePolicy.ATTRIBUTE, createRoutePolicy());
+
+        // Bounded worker pool for BCrypt checks, off the container request threads
+        int loginThreads = (int) longParam(context, "login.threads", 0);
+        if (loginThreads <= 0) {
+            loginThreads = Runtime.getRuntime().availableProcessors();
+        }
+        loginExecutor = new LoginExecutor(loginThreads,
+                (int) longParam(context, "login.queueCapacity", 64),
+                longParam(context, "login.timeoutMs", 10000));
+        context.setAttribute(LoginExecutor.ATTRIBUTE, loginExecutor);
+
+        // Batch last_login updates in the background (0 = write during login)
+        long flushMillis = longParam(context, "login.lastLoginFlushMs", 5000);
+        if (flushMillis > 0) {
+            lastLoginWriter = new LastLoginWriter(flushMillis);
+            lastLoginWriter.start();
+            UserDAO.setLastLoginWriter(lastLoginWriter);
+            context.setAttribute(LastLoginWriter.ATTRIBUTE, lastLoginWriter);
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (loginExecutor != null) {
+            loginExecutor.shutdown();
+        }
+        // Flush queued last_login times while the pool is still open
+        if (lastLoginWriter != null) {
+            UserDAO.setLastLoginWriter(null);
+            lastLoginWriter.stop();
+        }
+        if (searchIndex != null) {
+            StudentDAO.setSearchIndex(null);
+            StudentDAO.removeChangeListener(searchIndex);
+        }
+        if (columnStore != null) {
+            StudentDAO.removeChangeListener(columnStore);
+        }
+        if (eventBus != null) {
+            StudentDAO.removeChangeListener(eventBus);
+            eventBus.shutdown();
+        }
+        StudentDAO.removeChangeListener(statistics);
+        ConnectionPool.shutdown();
+    }
+
+    // Access rules enforced by AuthFilter and AdminFilter; anything unlisted needs a login
+    // (public so the benchmarks measure the production table)
+    public static RoutePolicy createRoutePolicy() {
+        RoutePolicy.Builder routes = RoutePolicy.builder(Access.AUTHENTICATED)
+                .path("", Access.PUBLIC)
+                .path("/", Access.PUBLIC)
+                .path("/index.jsp", Access.PUBLIC)
+                .path("/login", Access.PUBLIC)
+                .path("/logout", Access.PUBLIC)
+                .prefix("/static", Access.PUBLIC);
+        for (String extension : new String[]{"css", "js", "png", "jpg", "ico"}) {
+            routes.extension(extension, Access.PUBLIC);
+        }
+
+        // Every POST to /student changes data (insert, update, import, bulk actions);
+        // unlisted paths asking for one of these actions need an admin as well
+        routes.path("/student", "POST", Access.ADMIN);
+        for (String action : ADMIN_ACTIONS) {
+            routes.action("/student", action, Access.ADMIN)
+                    .defaultAction(action, Access.ADMIN);
+        }
+
+        // Checked by MetricsController itself (admin login or scrape token)
+        routes.path("/metrics", Access.PUBLIC);
+
+        // Operational pages (query profiler)
+        routes.prefix("/admin", Access.ADMIN);
+
+        // REST API: reads for any user, writes for admins
+        routes.prefix("/api", "GET", Access.AUTHENTICATED)
+                .prefix("/api", "HEAD", Access.AUTHENTICATED)
+                .prefix("/api", Access.ADMIN);
+        return routes.build();
+    }
+
+    private static AuthSessions createAuthSessions(ServletContext context) {
+        int timeoutSeconds = (int) longParam(context, "session.timeoutMinutes", 30) * 60;
+        String mode = stringParam(context, "session.mode", "container");
+        if (!"token".equalsIgnoreCase(mode)) {
+            return AuthSessions.container(timeoutSeconds);
+        }
+
+        // The JVM property wins so the secret need not live in web.xml
+        String secret = System.getProperty("session.token.secret",
+                stringParam(context, "session.token.secret", ""));
+        byte[] key;
+        if (secret.trim().isEmpty()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+            System.out.println("WARNING: session.token.secret not set; using a random key, "
+                    + "so tokens are only valid on this node until restart");
+        } else {
+            key = SessionTokenCodec.secretBytes(secret.trim());
+        }
+        long maxLifetimeSeconds = longParam(context, "session.maxLifetimeHours", 12) * 3600;
+        System.out.println("Session mode: signed token cookie");
+        return AuthSessions.token(timeoutSeconds, maxLifetimeSeconds, key, new UserDAO());
+    }
+
+    private void buildSearchIndex() {
+        long start = System.currentTimeMillis();
+        try {
+            searchIndex.rebuild(new StudentDAO()::forEachStudent);
+            System.out.println("Search index loaded: " + searchIndex.getDocumentCount() + " students in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void buildColumnStore() {
+        long start = System.currentTimeMillis();
+        try {
+            columnStore.rebuild(new StudentDAO()::forEachStudent);
+            System.out.println("Analytics store loaded: " + columnStore.getRowCount() + " students, "
+                    + columnStore.getFootprintBytes() / 1024 + " KB in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String stringParam(ServletContext context, String name, String defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : value.trim();
+    }
+
+    private static long longParam(ServletContext context, String name, long defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.trim().isEmpty() ? defaultValue : Long.parseLong(value.trim());
+    }
+}
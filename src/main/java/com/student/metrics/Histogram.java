@@ -0,0 +1,113 @@
+package com.student.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed bucket bounds.
+ *
+ * Recording is a short scan over the bounds plus two LongAdder increments,
+ * so it is safe to leave on for every request. Quantiles are estimated by
+ * linear interpolation inside the bucket that holds them.
+ */
+public final class Histogram {
+
+    // Upper bucket bounds in seconds (Prometheus "le"); the last bucket is +Inf
+    static final double[] BOUNDS_SECONDS = {
+        0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025,
+        0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10
+    };
+
+    private static final long[] BOUNDS_NANOS = new long[BOUNDS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BOUNDS_SECONDS.length; i++) {
+            BOUNDS_NANOS[i] = (long) (BOUNDS_SECONDS[i] * 1_000_000_000L);
+        }
+    }
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    Histogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int i = 0;
+        while (i < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[i]) {
+            i++;
+        }
+        buckets[i].increment();
+        sumNanos.add(nanos);
+    }
+
+    // Record the time elapsed since a System.nanoTime() reading
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public Snapshot snapshot() {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new Snapshot(counts, total, sumNanos.sum());
+    }
+
+    /**
+     * Consistent-enough copy of the counters for one scrape.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sumNanos;
+
+        Snapshot(long[] counts, long count, long sumNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.sumNanos = sumNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getSumSeconds() {
+            return sumNanos / 1e9;
+        }
+
+        // Observations <= BOUNDS_SECONDS[index] (index == bounds length means +Inf)
+        long cumulative(int index) {
+            long total = 0;
+            for (int i = 0; i <= index; i++) {
+                total += counts[i];
+            }
+            return total;
+        }
+
+        // Estimated q-quantile in seconds (0 when empty)
+        public double quantile(double q) {
+            if (count == 0) {
+                return 0;
+            }
+            double rank = q * count;
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 && seen + counts[i] >= rank) {
+                    if (i == BOUNDS_SECONDS.length) {
+                        return BOUNDS_SECONDS[i - 1]; // beyond the last bound
+                    }
+                    double lower = i == 0 ? 0 : BOUNDS_SECONDS[i - 1];
+                    double upper = BOUNDS_SECONDS[i];
+                    return lower + (upper - lower) * ((rank - seen) / counts[i]);
+                }
+                seen += counts[i];
+            }
+            return BOUNDS_SECONDS[BOUNDS_SECONDS.length - 1];
+        }
+    }
+}
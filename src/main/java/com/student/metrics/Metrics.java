@@ -0,0 +1,252 @@
+package com.student.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of labelled counters and latency histograms,
+ * rendered in the Prometheus text exposition format by MetricsController.
+ *
+ * Families are created once (usually as static fields); each distinct set
+ * of label values becomes a series. A family keeps at most MAX_SERIES
+ * series, further label combinations are folded into "other" so bad input
+ * (e.g. random action names) cannot grow memory without bound.
+ */
+public final class Metrics {
+
+    static final int MAX_SERIES = 200;
+    static final String OVERFLOW = "other";
+
+    private static final CopyOnWriteArrayList<Family<?>> FAMILIES = new CopyOnWriteArrayList<>();
+
+    private Metrics() {
+    }
+
+    public static HistogramFamily histogram(String name, String help, String... labelNames) {
+        return register(new HistogramFamily(name, help, labelNames));
+    }
+
+    public static CounterFamily counter(String name, String help, String... labelNames) {
+        return register(new CounterFamily(name, help, labelNames));
+    }
+
+    // Write every registered family
+    public static void writeTo(Writer out) throws IOException {
+        for (Family<?> family : FAMILIES) {
+            family.writeTo(out);
+        }
+    }
+
+    private static synchronized <F extends Family<?>> F register(F family) {
+        for (Family<?> existing : FAMILIES) {
+            if (existing.name.equals(family.name)) {
+                throw new IllegalArgumentException("Metric already registered: " + family.name);
+            }
+        }
+        FAMILIES.add(family);
+        return family;
+    }
+
+    /**
+     * Series of one metric keyed by label values.
+     */
+    abstract static class Family<S> {
+        final String name;
+        final String help;
+        final String[] labelNames;
+        private final ConcurrentMap<LabelValues, S> series = new ConcurrentHashMap<>();
+
+        Family(String name, String help, String[] labelNames) {
+            this.name = name;
+            this.help = help;
+            this.labelNames = labelNames.clone();
+        }
+
+        abstract S newSeries();
+
+        abstract void writeTo(Writer out) throws IOException;
+
+        final S series(String... values) {
+            if (values.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            String[] copy = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                copy[i] = values[i] == null ? "" : values[i];
+            }
+            LabelValues key = new LabelValues(copy);
+            S existing = series.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            if (series.size() >= MAX_SERIES) {
+                String[] overflow = new String[values.length];
+                Arrays.fill(overflow, OVERFLOW);
+                key = new LabelValues(overflow);
+            }
+            return series.computeIfAbsent(key, k -> newSeries());
+        }
+
+        final Map<LabelValues, S> seriesMap() {
+            return series;
+        }
+
+        final void writeHeader(Writer out, String type) throws IOException {
+            out.write("# HELP " + name + " " + help + "\n");
+            out.write("# TYPE " + name + " " + type + "\n");
+        }
+
+        // {a="x",b="y"} plus an optional extra label; empty when there are no labels
+        final String labels(LabelValues values, String extraName, String extraValue) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < labelNames.length; i++) {
+                appendLabel(sb, labelNames[i], values.values[i]);
+            }
+            if (extraName != null) {
+                appendLabel(sb, extraName, extraValue);
+            }
+            return sb.length() == 0 ? "" : "{" + sb + "}";
+        }
+
+        private static void appendLabel(StringBuilder sb, String name, String value) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(name).append("=\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' || c == '"') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n') {
+                    sb.append("\\n");
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+    }
+
+    /**
+     * Latency histograms; also publishes p50/p95/p99 estimates as NAME_quantile.
+     */
+    public static final class HistogramFamily extends Family<Histogram> {
+        private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+        HistogramFamily(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public Histogram labels(String... values) {
+            return series(values);
+        }
+
+        // Shortcut for the common "record time since start" call
+        public void recordSince(long startNanos, String... values) {
+            series(values).recordSince(startNanos);
+        }
+
+        @Override
+        Histogram newSeries() {
+            return new Histogram();
+        }
+
+        @Override
+        void writeTo(Writer out) throws IOException {
+            if (seriesMap().isEmpty()) {
+                return;
+            }
+            writeHeader(out, "histogram");
+            StringBuilder quantiles = new StringBuilder();
+            for (Map.Entry<LabelValues, Histogram> entry : seriesMap().entrySet()) {
+                Histogram.Snapshot snapshot = entry.getValue().snapshot();
+                LabelValues values = entry.getKey();
+                for (int i = 0; i <= Histogram.BOUNDS_SECONDS.length; i++) {
+                    String le = i < Histogram.BOUNDS_SECONDS.length ? format(Histogram.BOUNDS_SECONDS[i]) : "+Inf";
+                    out.write(name + "_bucket" + labels(values, "le", le) + " " + snapshot.cumulative(i) + "\n");
+                }
+                out.write(name + "_sum" + labels(values, null, null) + " " + format(snapshot.getSumSeconds()) + "\n");
+                out.write(name + "_count" + labels(values, null, null) + " " + snapshot.getCount() + "\n");
+                for (double q : QUANTILES) {
+                    quantiles.append(name).append("_quantile").append(labels(values, "quantile", format(q)))
+                            .append(' ').append(format(snapshot.quantile(q))).append('\n');
+                }
+            }
+            out.write("# HELP " + name + "_quantile Estimated quantiles of " + name + "\n");
+            out.write("# TYPE " + name + "_quantile gauge\n");
+            out.write(quantiles.toString());
+        }
+    }
+
+    /**
+     * Monotonic counters.
+     */
+    public static final class CounterFamily extends Family<LongAdder> {
+
+        CounterFamily(String name, String help, String[] labelNames) {
+            super(name, help, labelNames);
+        }
+
+        public void increment(String... values) {
+            series(values).increment();
+        }
+
+        public void add(long amount, String... values) {
+            series(values).add(amount);
+        }
+
+        @Override
+        LongAdder newSeries() {
+            return new LongAdder();
+        }
+
+        @Override
+        void writeTo(Writer out) throws IOException {
+            if (seriesMap().isEmpty()) {
+                return;
+            }
+            writeHeader(out, "counter");
+            for (Map.Entry<LabelValues, LongAdder> entry : seriesMap().entrySet()) {
+                out.write(name + labels(entry.getKey(), null, null) + " " + entry.getValue().sum() + "\n");
+            }
+        }
+    }
+
+    static String format(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            return Long.toString((long) value);
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return Double.toString(value);
+        }
+        return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+    }
+
+    // Immutable label-value tuple usable as a map key
+    static final class LabelValues {
+        final String[] values;
+        private final int hash;
+
+        LabelValues(String[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof LabelValues && Arrays.equals(values, ((LabelValues) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.student.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk student import. Counts are always exact; the lists of
+ * rejected rows are capped so a bad file cannot exhaust memory.
+ */
+public class ImportResult {
+
+    private static final int MAX_REPORTED_ROWS = 500;
+
+    private int inserted;
+    private int duplicates;
+    private int invalid;
+    private long elapsedMillis;
+    private final List<RowError> duplicateRows = new ArrayList<>();
+    private final List<RowError> invalidRows = new ArrayList<>();
+
+    public void addInserted(int count) {
+        inserted += count;
+    }
+
+    public void addDuplicate(int line, String studentCode) {
+        duplicates++;
+        if (duplicateRows.size() < MAX_REPORTED_ROWS) {
+            duplicateRows.add(new RowError(line, studentCode, "Student code already exists"));
+        }
+    }
+
+    public void addInvalid(int line, String studentCode, String message) {
+        invalid++;
+        if (invalidRows.size() < MAX_REPORTED_ROWS) {
+            invalidRows.add(new RowError(line, studentCode, message));
+        }
+    }
+
+    public int getInserted() {
+        return inserted;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public int getTotal() {
+        return inserted + duplicates + invalid;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<RowError> getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    public List<RowError> getInvalidRows() {
+        return invalidRows;
+    }
+
+    public boolean isTruncated() {
+        return duplicateRows.size() < duplicates || invalidRows.size() < invalid;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportResult{" +
+                "inserted=" + inserted +
+                ", duplicates=" + duplicates +
+                ", invalid=" + invalid +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+
+    /**
+     * One rejected input row.
+     */
+    public static class RowError {
+        private final int line;
+        private final String studentCode;
+        private final String message;
+
+        public RowError(int line, String studentCode, String message) {
+            this.line = line;
+            this.studentCode = studentCode;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getStudentCode() {
+            return studentCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.student.model;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result. The cursors are opaque tokens
+ * that are passed back to the DAO to fetch the neighbouring page; a null
+ * cursor means there is no page in that direction.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final int pageSize;
+    private final String previousCursor;
+    private final String nextCursor;
+    private final long dataVersion;
+
+    public Page(List<T> items, int pageSize, String previousCursor, String nextCursor) {
+        this(items, pageSize, previousCursor, nextCursor, -1);
+    }
+
+    public Page(List<T> items, int pageSize, String previousCursor, String nextCursor, long dataVersion) {
+        this.items = items;
+        this.pageSize = pageSize;
+        this.previousCursor = previousCursor;
+        this.nextCursor = nextCursor;
+        this.dataVersion = dataVersion;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Data version the rows were read at (they may be newer, never older); -1 if unknown
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", pageSize=" + pageSize +
+                ", hasPrevious=" + hasPrevious() +
+                ", hasNext=" + hasNext() +
+                '}';
+    }
+}
@@ -0,0 +1,327 @@
+package com.student.search;
+
+import com.student.dao.StudentChangeListener;
+import com.student.model.Student;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory trigram index over student code, full name and email.
+ *
+ * Every field is folded (lower case, accents removed, to match the MySQL
+ * _ai_ci collation) and split into overlapping 3-character grams; each gram
+ * maps to a sorted list of student ids. A substring search intersects the
+ * posting lists of the keyword's grams and then confirms each candidate
+ * with a plain contains() check. Keywords shorter than three characters
+ * fall back to a scan of the in-memory rows.
+ *
+ * The index is kept current through StudentDAO write notifications.
+ */
+public class StudentSearchIndex implements StudentChangeListener {
+
+    private static final int GRAM = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Map<Integer, Document> documents = new HashMap<>();
+    private Map<Long, PostingList> postings = new HashMap<>();
+    private boolean building;
+    private final List<Runnable> pendingChanges = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    /**
+     * Replace the index contents with the rows supplied by the loader.
+     * Writes notified while the rebuild runs are replayed on top of it.
+     */
+    public void rebuild(Consumer<Consumer<Student>> loader) {
+        lock.writeLock().lock();
+        try {
+            building = true;
+            pendingChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Integer, Document> newDocuments = new HashMap<>();
+        Map<Long, PostingList> newPostings = new HashMap<>();
+        try {
+            loader.accept(student -> addDocument(newDocuments, newPostings, student));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                building = false;
+                pendingChanges.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            documents = newDocuments;
+            postings = newPostings;
+            building = false;
+            for (Runnable change : pendingChanges) {
+                change.run();
+            }
+            pendingChanges.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Students whose code, name or email contains the keyword, optionally
+     * restricted to one major. The result is a new, unordered list.
+     */
+    public List<Student> search(String keyword, String major) {
+        String needle = fold(keyword == null ? "" : keyword.trim());
+        String majorFilter = major == null || major.trim().isEmpty() ? null : major.trim();
+        List<Student> matches = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (needle.length() < GRAM) {
+                for (Document doc : documents.values()) {
+                    if (doc.matches(needle, majorFilter)) {
+                        matches.add(doc.student);
+                    }
+                }
+                return matches;
+            }
+
+            PostingList[] lists = postingsFor(needle);
+            if (lists == null) {
+                return matches;
+            }
+            // Walk the shortest list and probe the others
+            PostingList shortest = lists[0];
+            for (int i = 0; i < shortest.size; i++) {
+                int id = shortest.ids[i];
+                boolean inAll = true;
+                for (int j = 1; j < lists.length && inAll; j++) {
+                    inAll = lists[j].contains(id);
+                }
+                if (inAll) {
+                    Document doc = documents.get(id);
+                    if (doc != null && doc.matches(needle, majorFilter)) {
+                        matches.add(doc.student);
+                    }
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getGramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentAdded(Student student) {
+        apply(() -> addDocument(documents, postings, student));
+    }
+
+    @Override
+    public void onStudentUpdated(Student before, Student after) {
+        apply(() -> {
+            removeDocument(before.getId());
+            addDocument(documents, postings, after);
+        });
+    }
+
+    @Override
+    public void onStudentDeleted(Student student) {
+        apply(() -> removeDocument(student.getId()));
+    }
+
+    private void apply(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (building) {
+                pendingChanges.add(change);
+            } else {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Posting lists for every distinct gram of the needle, shortest first; null if any gram is unknown
+    private PostingList[] postingsFor(String needle) {
+        Map<Long, PostingList> found = new HashMap<>();
+        for (int i = 0; i + GRAM <= needle.length(); i++) {
+            long key = gramKey(needle, i);
+            if (!found.containsKey(key)) {
+                PostingList list = postings.get(key);
+                if (list == null) {
+                    return null;
+                }
+                found.put(key, list);
+            }
+        }
+        PostingList[] lists = found.values().toArray(new PostingList[0]);
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        return lists;
+    }
+
+    private static void addDocument(Map<Integer, Document> documents, Map<Long, PostingList> postings,
+                                    Student student) {
+        Document doc = new Document(student);
+        Document previous = documents.put(student.getId(), doc);
+        if (previous != null) {
+            forEachGram(previous, key -> {
+                PostingList list = postings.get(key);
+                if (list != null && list.remove(student.getId()) && list.size == 0) {
+                    postings.remove(key);
+                }
+            });
+        }
+        forEachGram(doc, key -> postings.computeIfAbsent(key, k -> new PostingList()).add(student.getId()));
+    }
+
+    private void removeDocument(int id) {
+        Document doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        forEachGram(doc, key -> {
+            PostingList list = postings.get(key);
+            if (list != null && list.remove(id) && list.size == 0) {
+                postings.remove(key);
+            }
+        });
+    }
+
+    private static void forEachGram(Document doc, Consumer<Long> action) {
+        for (String field : doc.fields) {
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                action.accept(gramKey(field, i));
+            }
+        }
+    }
+
+    private static long gramKey(String text, int offset) {
+        return ((long) text.charAt(offset) << 32)
+                | ((long) text.charAt(offset + 1) << 16)
+                | text.charAt(offset + 2);
+    }
+
+    // Lower-case and strip accents so "Nguyễn" is found by "nguyen"
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        boolean ascii = true;
+        for (int i = 0; i < text.length() && ascii; i++) {
+            ascii = text.charAt(i) < 128;
+        }
+        if (!ascii) {
+            text = Normalizer.normalize(text, Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}+", "")
+                    .replace('đ', 'd')
+                    .replace('Đ', 'D');
+        }
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Document {
+        final Student student;
+        final String[] fields;
+
+        Document(Student student) {
+            this.student = student;
+            this.fields = new String[]{
+                    fold(student.getStudentCode()),
+                    fold(student.getFullName()),
+                    fold(student.getEmail())
+            };
+        }
+
+        boolean matches(String needle, String major) {
+            if (major != null && (student.getMajor() == null || !major.equalsIgnoreCase(student.getMajor().trim()))) {
+                return false;
+            }
+            for (String field : fields) {
+                if (field.contains(needle)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Sorted, growable set of ids; ids usually arrive in increasing order
+    private static final class PostingList {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int pos = Arrays.binarySearch(ids, 0, size, id);
+                if (pos >= 0) {
+                    return;
+                }
+                insertAt(-pos - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void insertAt(int pos, int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+    }
+}
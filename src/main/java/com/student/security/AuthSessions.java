@@ -0,0 +1,169 @@
+package com.student.security;
+
+import com.student.dao.UserDAO;
+import com.student.model.User;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Where the signed-in user lives between requests.
+ *
+ * CONTAINER keeps a UserPrincipal in the HttpSession (one node, or sticky
+ * load balancing). TOKEN keeps nothing on the server: the principal travels
+ * in a signed, expiring cookie that any node with the same secret accepts,
+ * and the cookie is re-issued once half of its lifetime has passed. Each
+ * re-issue re-reads the account, so a deactivated user is signed out and a
+ * role change applies within one timeout, and no chain of re-issued cookies
+ * outlives the absolute lifetime counted from the password login.
+ */
+public class AuthSessions {
+
+    public static final String ATTRIBUTE = "authSessions";
+
+    // HttpSession attribute holding the principal in CONTAINER mode
+    static final String SESSION_ATTRIBUTE = "user";
+
+    public static final String COOKIE_NAME = "SM_AUTH";
+
+    public enum Mode {
+        CONTAINER, TOKEN
+    }
+
+    private final Mode mode;
+    private final int timeoutSeconds;
+    private final long maxLifetimeSeconds;
+    private final SessionTokenCodec codec;
+    private final UserDAO userDAO;
+
+    private AuthSessions(Mode mode, int timeoutSeconds, long maxLifetimeSeconds,
+                         SessionTokenCodec codec, UserDAO userDAO) {
+        this.mode = mode;
+        this.timeoutSeconds = timeoutSeconds;
+        this.maxLifetimeSeconds = maxLifetimeSeconds;
+        this.codec = codec;
+        this.userDAO = userDAO;
+    }
+
+    public static AuthSessions container(int timeoutSeconds) {
+        return new AuthSessions(Mode.CONTAINER, timeoutSeconds, 0, null, null);
+    }
+
+    // Token cookies re-validated against userDAO, valid at most maxLifetimeSeconds after login
+    public static AuthSessions token(int timeoutSeconds, long maxLifetimeSeconds, byte[] secret, UserDAO userDAO) {
+        return new AuthSessions(Mode.TOKEN, timeoutSeconds, maxLifetimeSeconds,
+                new SessionTokenCodec(secret), userDAO);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    // Principal stored by AuthFilter for this request, or null
+    public static UserPrincipal current(HttpServletRequest request) {
+        return (UserPrincipal) request.getAttribute(UserPrincipal.ATTRIBUTE);
+    }
+
+    /**
+     * Look up the signed-in user for a request; null when not logged in.
+     * In TOKEN mode an ageing cookie is refreshed on the response from the
+     * current account row.
+     */
+    public UserPrincipal resolve(HttpServletRequest request, HttpServletResponse response) {
+        if (mode == Mode.CONTAINER) {
+            HttpSession session = request.getSession(false);
+            Object principal = session != null ? session.getAttribute(SESSION_ATTRIBUTE) : null;
+            return principal instanceof UserPrincipal ? (UserPrincipal) principal : null;
+        }
+
+        String token = readCookie(request);
+        long now = System.currentTimeMillis() / 1000;
+        SessionTokenCodec.Decoded decoded = codec.decode(token, now);
+        if (decoded == null) {
+            return null;
+        }
+        long issuedAt = decoded.getIssuedAt();
+        long endOfLife = issuedAt + maxLifetimeSeconds;
+        if (now >= endOfLife) {
+            writeCookie(request, response, "", 0);
+            return null;
+        }
+        if (decoded.getExpiresAt() - now >= timeoutSeconds / 2) {
+            return decoded.getPrincipal();
+        }
+
+        // Sliding expiry, like the container's inactivity timeout, from the current account
+        // (a failed lookup signs the user out rather than extending an unchecked login)
+        User user = userDAO.getUserById(decoded.getPrincipal().getId());
+        if (user == null || !user.isActive()) {
+            writeCookie(request, response, "", 0);
+            return null;
+        }
+        UserPrincipal principal = UserPrincipal.from(user);
+        long expiresAt = Math.min(now + timeoutSeconds, endOfLife);
+        writeCookie(request, response, codec.encode(principal, issuedAt, expiresAt), (int) (expiresAt - now));
+        return principal;
+    }
+
+    // Start a fresh login for the authenticated user
+    public void signIn(HttpServletRequest request, HttpServletResponse response, User user) {
+        UserPrincipal principal = UserPrincipal.from(user);
+
+        if (mode == Mode.CONTAINER) {
+            // Invalidate old session (security), then create a new one
+            HttpSession oldSession = request.getSession(false);
+            if (oldSession != null) {
+                oldSession.invalidate();
+            }
+            HttpSession session = request.getSession(true);
+            session.setAttribute(SESSION_ATTRIBUTE, principal);
+            session.setMaxInactiveInterval(timeoutSeconds);
+            return;
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        long expiresAt = now + Math.min(timeoutSeconds, maxLifetimeSeconds);
+        writeCookie(request, response, codec.encode(principal, now, expiresAt), (int) (expiresAt - now));
+    }
+
+    public void signOut(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        if (mode == Mode.TOKEN) {
+            writeCookie(request, response, "", 0);
+        }
+    }
+
+    private static String readCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    // Written as a raw header: Cookie.setAttribute (SameSite) needs Servlet 6, Jetty 11 is Servlet 5
+    private static void writeCookie(HttpServletRequest request, HttpServletResponse response,
+                                    String value, int maxAge) {
+        String path = request.getContextPath();
+        StringBuilder header = new StringBuilder(COOKIE_NAME).append('=').append(value)
+                .append("; Path=").append(path.isEmpty() ? "/" : path)
+                .append("; Max-Age=").append(maxAge);
+        if (maxAge == 0) {
+            header.append("; Expires=Thu, 01 Jan 1970 00:00:00 GMT");
+        }
+        header.append("; HttpOnly; SameSite=Lax");
+        if (request.isSecure()) {
+            header.append("; Secure");
+        }
+        response.addHeader("Set-Cookie", header.toString());
+    }
+}
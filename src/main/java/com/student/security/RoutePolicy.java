@@ -0,0 +1,290 @@
+package com.student.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Access rules for every request path, compiled once at startup.
+ *
+ * A request is matched by hash lookups only: exact path, then first path
+ * segment (e.g. "/api"), then file extension, then the default rule. Within
+ * a path, rules can depend on the HTTP method and on the "action" query
+ * parameter. The action is read from the raw query string, so a POST body
+ * is never parsed just to authorize it; paths whose POSTs differ by action
+ * must therefore give POST a single method rule. Default actions apply to
+ * every path without a rule of its own, so an unlisted path never runs an
+ * admin action with less than admin access.
+ *
+ * The path is the one the container dispatches on (servlet path plus path
+ * info, decoded and normalized), never the raw request URI.
+ */
+public final class RoutePolicy {
+
+    public static final String ATTRIBUTE = "routePolicy";
+
+    // Request attribute carrying the rule matched by AuthFilter
+    public static final String RULE_ATTRIBUTE = RoutePolicy.class.getName() + ".rule";
+
+    public enum Access {
+        PUBLIC, AUTHENTICATED, ADMIN
+    }
+
+    private final Map<String, Route> paths;
+    private final Map<String, Route> segments;
+    private final Map<String, Rule> extensions;
+    private final Route fallback;
+    private final List<Rule> rules;
+
+    private RoutePolicy(Builder builder) {
+        this.paths = new HashMap<>(builder.paths);
+        this.segments = new HashMap<>(builder.segments);
+        this.extensions = new HashMap<>(builder.extensions);
+        this.fallback = builder.fallback;
+        this.rules = Collections.unmodifiableList(new ArrayList<>(builder.rules));
+    }
+
+    public static Builder builder(Access defaultAccess) {
+        return new Builder(defaultAccess);
+    }
+
+    // Rule for the request; counts a hit on it
+    public Rule match(HttpServletRequest request) {
+        Rule rule = match(request.getMethod(), pathOf(request), request.getQueryString());
+        rule.hits.increment();
+        return rule;
+    }
+
+    Rule match(String method, String path, String query) {
+        Route route = paths.get(path);
+        if (route == null) {
+            int slash = path.indexOf('/', 1);
+            route = segments.get(slash > 0 ? path.substring(0, slash) : path);
+        }
+        if (route != null) {
+            return route.select(method, query);
+        }
+        if (!fallback.actions.isEmpty()) {
+            Rule rule = fallback.actions.get(queryAction(query));
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        int dot = path.lastIndexOf('.');
+        if (dot > path.lastIndexOf('/')) {
+            Rule rule = extensions.get(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return fallback.otherwise;
+    }
+
+    // All rules in declaration order, with their counters
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    // Path the container maps to a servlet: decoded, normalized, without ;parameters
+    static String pathOf(HttpServletRequest request) {
+        String servletPath = request.getServletPath();
+        String pathInfo = request.getPathInfo();
+        if (servletPath == null) {
+            servletPath = "";
+        }
+        return pathInfo == null ? servletPath : servletPath + pathInfo;
+    }
+
+    // First "action" value in the query string, decoded like getParameter would
+    static String queryAction(String query) {
+        if (query == null || query.isEmpty()) {
+            return null;
+        }
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end < 0) {
+                end = query.length();
+            }
+            int equals = query.indexOf('=', start);
+            if (equals < 0 || equals > end) {
+                equals = end;
+            }
+            if ("action".equals(decode(query.substring(start, equals)))) {
+                return equals < end ? decode(query.substring(equals + 1, end)).toLowerCase(Locale.ROOT) : "";
+            }
+            start = end + 1;
+        }
+        return null;
+    }
+
+    private static String decode(String text) {
+        if (text.indexOf('%') < 0 && text.indexOf('+') < 0) {
+            return text;
+        }
+        try {
+            return URLDecoder.decode(text, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    /**
+     * One access decision with its counters.
+     */
+    public static final class Rule {
+        private final String name;
+        private final Access access;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder denials = new LongAdder();
+
+        Rule(String name, Access access) {
+            this.name = name;
+            this.access = access;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Access getAccess() {
+            return access;
+        }
+
+        public boolean allows(UserPrincipal user) {
+            switch (access) {
+                case PUBLIC:
+                    return true;
+                case AUTHENTICATED:
+                    return user != null;
+                default:
+                    return user != null && user.isAdmin();
+            }
+        }
+
+        public void recordDenial() {
+            denials.increment();
+        }
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getDenials() {
+            return denials.sum();
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + access + ")";
+        }
+    }
+
+    private static final class Route {
+        final Map<String, Rule> methods = new HashMap<>();
+        final Map<String, Rule> actions = new HashMap<>();
+        Rule otherwise;
+
+        Rule select(String method, String query) {
+            Rule rule = methods.get(method);
+            if (rule != null) {
+                return rule;
+            }
+            if (!actions.isEmpty()) {
+                rule = actions.get(queryAction(query));
+                if (rule != null) {
+                    return rule;
+                }
+            }
+            return otherwise;
+        }
+    }
+
+    /**
+     * Collects rules; later declarations for the same key replace earlier ones.
+     */
+    public static final class Builder {
+        private final Map<String, Route> paths = new HashMap<>();
+        private final Map<String, Route> segments = new HashMap<>();
+        private final Map<String, Rule> extensions = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>();
+        private final Route fallback = new Route();
+
+        private Builder(Access defaultAccess) {
+            fallback.otherwise = rule("default", defaultAccess);
+        }
+
+        // Rule for an exact path, e.g. "/login"
+        public Builder path(String path, Access access) {
+            route(paths, path).otherwise = rule(path, access);
+            return this;
+        }
+
+        // Rule for an exact path and HTTP method
+        public Builder path(String path, String method, Access access) {
+            route(paths, path).methods.put(method, rule(method + " " + path, access));
+            return this;
+        }
+
+        // Rule for an exact path and query-string action (any method without its own rule)
+        public Builder action(String path, String action, Access access) {
+            String key = action.toLowerCase(Locale.ROOT);
+            route(paths, path).actions.put(key, rule(path + "?action=" + key, access));
+            return this;
+        }
+
+        // Rule for a query-string action on every path without a rule of its own
+        public Builder defaultAction(String action, Access access) {
+            String key = action.toLowerCase(Locale.ROOT);
+            fallback.actions.put(key, rule("*?action=" + key, access));
+            return this;
+        }
+
+        // Rule for everything below a first path segment, e.g. "/api"
+        public Builder prefix(String segment, Access access) {
+            route(segments, segment).otherwise = rule(segment + "/*", access);
+            return this;
+        }
+
+        public Builder prefix(String segment, String method, Access access) {
+            route(segments, segment).methods.put(method, rule(method + " " + segment + "/*", access));
+            return this;
+        }
+
+        // Rule for a file extension without the dot, e.g. "css"
+        public Builder extension(String extension, Access access) {
+            String key = extension.toLowerCase(Locale.ROOT);
+            extensions.put(key, rule("*." + key, access));
+            return this;
+        }
+
+        public RoutePolicy build() {
+            return new RoutePolicy(this);
+        }
+
+        private Route route(Map<String, Route> table, String key) {
+            Route route = table.get(key);
+            if (route == null) {
+                route = new Route();
+                route.otherwise = fallback.otherwise;
+                table.put(key, route);
+            }
+            return route;
+        }
+
+        private Rule rule(String name, Access access) {
+            Rule rule = new Rule(name, access);
+            rules.add(rule);
+            return rule;
+        }
+    }
+}
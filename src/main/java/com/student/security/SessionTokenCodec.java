@@ -0,0 +1,152 @@
+package com.student.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Self-contained, HMAC-SHA256 signed login token.
+ *
+ * Format: base64url(payload) "." base64url(hmac(payload)), where the payload
+ * is a version byte, user id, issue time and expiry (epoch seconds), role,
+ * username and display name. Any node holding the same secret can verify it
+ * without shared session storage. Any other version is rejected.
+ */
+public final class SessionTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 2;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    // Mac instances are not thread-safe
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenCodec(byte[] secret) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("Session token secret must be at least 32 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    // Token for the principal, issued and valid until the given epoch seconds
+    public String encode(UserPrincipal principal, long issuedAtSeconds, long expiresAtSeconds) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(104);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeInt(principal.getId());
+            out.writeLong(issuedAtSeconds);
+            out.writeLong(expiresAtSeconds);
+            out.writeUTF(nullToEmpty(principal.getRole()));
+            out.writeUTF(nullToEmpty(principal.getUsername()));
+            out.writeUTF(nullToEmpty(principal.getFullName()));
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // cannot happen for an in-memory stream
+        }
+        byte[] payload = bytes.toByteArray();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verify the signature, version and expiry. Returns null for a malformed,
+     * forged, unknown-version or expired token.
+     */
+    public Decoded decode(String token, long nowSeconds) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload))) {
+                return null;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+            byte version = in.readByte();
+            if (version != VERSION) {
+                return null;
+            }
+            int id = in.readInt();
+            long issuedAt = in.readLong();
+            long expiresAt = in.readLong();
+            if (expiresAt <= nowSeconds) {
+                return null;
+            }
+            String role = in.readUTF();
+            String username = in.readUTF();
+            String fullName = in.readUTF();
+            return new Decoded(new UserPrincipal(id, username, role, fullName), issuedAt, expiresAt);
+        } catch (IllegalArgumentException | IOException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        mac.reset();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    // Secret given as text in configuration
+    public static byte[] secretBytes(String secret) {
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * A verified token.
+     */
+    public static final class Decoded {
+        private final UserPrincipal principal;
+        private final long issuedAt;
+        private final long expiresAt;
+
+        Decoded(UserPrincipal principal, long issuedAt, long expiresAt) {
+            this.principal = principal;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        public UserPrincipal getPrincipal() {
+            return principal;
+        }
+
+        // Epoch seconds of the login the token descends from
+        public long getIssuedAt() {
+            return issuedAt;
+        }
+
+        // Epoch seconds
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
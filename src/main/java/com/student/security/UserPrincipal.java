@@ -0,0 +1,68 @@
+package com.student.security;
+
+import com.student.model.User;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+/**
+ * The signed-in user as seen by filters, controllers and JSPs: only the
+ * fields needed for display and authorization (never the password hash).
+ */
+public final class UserPrincipal implements Principal, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Request attribute set by AuthFilter for the current user
+    public static final String ATTRIBUTE = "currentUser";
+
+    private final int id;
+    private final String username;
+    private final String role;
+    private final String fullName;
+
+    public UserPrincipal(int id, String username, String role, String fullName) {
+        this.id = id;
+        this.username = username;
+        this.role = role;
+        this.fullName = fullName;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getRole(), user.getFullName());
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public boolean isAdmin() {
+        return "admin".equalsIgnoreCase(role);
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{" +
+                "id=" + id +
+                ", username='" + username + '\'' +
+                ", role='" + role + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,201 @@
+package com.student.service;
+
+import jakarta.servlet.ServletContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stylesheets and scripts under /WEB-INF/static, loaded once at startup and
+ * served by StaticAssetController under a fingerprinted name such as
+ * static/css/app.3f9a1c0d2b.css. The name changes whenever the content does,
+ * so browsers may cache each URL for a year; pages link to the current name
+ * through the "assets" map, e.g. ${assets['css/app.css']}.
+ */
+public final class StaticAssets {
+
+    public static final String ATTRIBUTE = "staticAssets";
+
+    // Logical path -> versioned URL relative to the context root, for JSPs
+    public static final String URLS_ATTRIBUTE = "assets";
+
+    private static final String SOURCE_ROOT = "/WEB-INF/static/";
+    private static final String URL_PREFIX = "static/";
+    private static final int HASH_LENGTH = 10;
+
+    private final Map<String, Asset> byPath;
+    private final Map<String, Asset> byVersionedPath;
+    private final Map<String, String> urls;
+
+    private StaticAssets(Map<String, Asset> byPath) {
+        this.byPath = byPath;
+        this.byVersionedPath = new HashMap<>();
+        Map<String, String> urlMap = new TreeMap<>();
+        for (Asset asset : byPath.values()) {
+            byVersionedPath.put(asset.getVersionedPath(), asset);
+            urlMap.put(asset.getPath(), URL_PREFIX + asset.getVersionedPath());
+        }
+        this.urls = Collections.unmodifiableMap(urlMap);
+    }
+
+    public static StaticAssets load(ServletContext context) throws IOException {
+        Map<String, Asset> assets = new HashMap<>();
+        collect(context, SOURCE_ROOT, assets);
+        return new StaticAssets(assets);
+    }
+
+    private static void collect(ServletContext context, String dir, Map<String, Asset> into) throws IOException {
+        Set<String> entries = context.getResourcePaths(dir);
+        if (entries == null) {
+            return;
+        }
+        for (String entry : entries) {
+            if (entry.endsWith("/")) {
+                collect(context, entry, into);
+                continue;
+            }
+            try (InputStream in = context.getResourceAsStream(entry)) {
+                if (in == null) {
+                    continue;
+                }
+                String path = entry.substring(SOURCE_ROOT.length());
+                String contentType = context.getMimeType(path);
+                if (contentType == null) {
+                    contentType = "application/octet-stream";
+                } else if (contentType.startsWith("text/") || contentType.endsWith("javascript")) {
+                    contentType += ";charset=UTF-8";
+                }
+                into.put(path, new Asset(path, contentType, readAll(in)));
+            }
+        }
+    }
+
+    public Map<String, String> getUrls() {
+        return urls;
+    }
+
+    // Asset named by its current fingerprinted path (css/app.3f9a1c0d2b.css), or null
+    public Asset getVersioned(String versionedPath) {
+        return byVersionedPath.get(versionedPath);
+    }
+
+    /**
+     * Current version of the asset a path refers to: the plain path
+     * (css/app.css) or a fingerprinted one from an older deployment.
+     */
+    public Asset getCurrent(String path) {
+        Asset asset = byPath.get(path);
+        if (asset != null) {
+            return asset;
+        }
+        int ext = path.lastIndexOf('.');
+        int hash = ext > 0 ? path.lastIndexOf('.', ext - 1) : -1;
+        if (hash < 0 || ext - hash - 1 != HASH_LENGTH) {
+            return null;
+        }
+        return byPath.get(path.substring(0, hash) + path.substring(ext));
+    }
+
+    public int size() {
+        return byPath.size();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = in.read(chunk)) > 0) {
+            out.write(chunk, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * One file with its fingerprint and, for text, a gzipped copy made at
+     * startup (kept only when it is smaller).
+     */
+    public static final class Asset {
+        private final String path;
+        private final String versionedPath;
+        private final String contentType;
+        private final byte[] content;
+        private final byte[] gzipped;
+        private final String etag;
+
+        Asset(String path, String contentType, byte[] content) throws IOException {
+            String hash = sha256Hex(content).substring(0, HASH_LENGTH);
+            int ext = path.lastIndexOf('.');
+            int slash = path.lastIndexOf('/');
+            this.path = path;
+            this.versionedPath = ext > slash
+                    ? path.substring(0, ext) + "." + hash + path.substring(ext)
+                    : path + "." + hash;
+            this.contentType = contentType;
+            this.content = content;
+            // Weak: the gzipped and plain bodies share it
+            this.etag = "W/\"" + hash + "\"";
+            byte[] compressed = contentType.contains("charset") || contentType.endsWith("+xml") ? gzip(content) : null;
+            this.gzipped = compressed != null && compressed.length < content.length ? compressed : null;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getVersionedPath() {
+            return versionedPath;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        // Shared array, callers must not modify it
+        public byte[] getContent() {
+            return content;
+        }
+
+        // Null when the asset is not worth compressing
+        public byte[] getGzipped() {
+            return gzipped;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(9);
+                }
+            }) {
+                gzip.write(content);
+            }
+            return out.toByteArray();
+        }
+
+        private static String sha256Hex(byte[] content) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+                StringBuilder sb = new StringBuilder();
+                for (byte b : digest) {
+                    sb.append(String.format("%02x", b));
+                }
+                return sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.student.service;
+
+import com.student.dao.StudentChangeListener;
+import com.student.model.Student;
+import com.student.util.StudentJson;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process bus for student changes, fed by StudentDAO write notifications
+ * and drained by the Server-Sent Events connections of open list pages.
+ *
+ * Each change is serialized once as an SSE frame (id, event type, row JSON)
+ * and fanned out on a single dispatcher thread, so the request that wrote
+ * only pays for the encoding and events reach every subscriber in id order.
+ * The last replaySize events are kept so a reconnecting browser resumes
+ * from its Last-Event-ID; one that fell further behind is told to reload.
+ * The dispatcher also writes an SSE comment every heartbeat interval, which
+ * keeps idle connections open through proxies and finds dead clients.
+ */
+public class StudentEventBus implements StudentChangeListener {
+
+    public static final String ATTRIBUTE = "studentEventBus";
+
+    public static final String ADDED = "student-added";
+    public static final String UPDATED = "student-updated";
+    public static final String DELETED = "student-deleted";
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESET = "event: reset\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final ScheduledExecutorService dispatcher;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Guards lastId and recent: ids, the replay buffer and dispatch order agree
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Event> recent = new ArrayDeque<>();
+    // Starts at the boot time so ids from a previous run are never resumed
+    private long lastId = System.currentTimeMillis();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public StudentEventBus(int replaySize, long heartbeatMillis, int maxSubscribers) {
+        this.replaySize = Math.max(0, replaySize);
+        this.maxSubscribers = maxSubscribers;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "student-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onStudentAdded(Student student) {
+        publish(ADDED, student, student.getMajor(), null);
+    }
+
+    @Override
+    public void onStudentUpdated(Student before, Student after) {
+        publish(UPDATED, after, after.getMajor(), before.getMajor());
+    }
+
+    @Override
+    public void onStudentDeleted(Student student) {
+        publish(DELETED, student, student.getMajor(), null);
+    }
+
+    /**
+     * Connect a subscriber. Events after lastEventId are replayed first
+     * (none when lastEventId is negative); a subscriber that missed more
+     * than the replay buffer holds, or presents an id from another run,
+     * gets a "reset" event instead.
+     *
+     * @return false when maxSubscribers are already connected
+     */
+    public boolean subscribe(Subscriber subscriber, long lastEventId) {
+        lock.lock();
+        try {
+            if (subscribers.size() >= maxSubscribers) {
+                return false;
+            }
+            boolean reset = false;
+            List<Event> replay = new ArrayList<>();
+            if (lastEventId >= 0 && lastEventId != lastId) {
+                Event oldest = recent.peekFirst();
+                if (lastEventId > lastId || oldest == null || oldest.id > lastEventId + 1) {
+                    reset = true;
+                } else {
+                    for (Event event : recent) {
+                        if (event.id > lastEventId) {
+                            replay.add(event);
+                        }
+                    }
+                }
+            }
+            // Joins on the dispatcher after the events already queued there, so the
+            // replay (everything up to lastId) and live events neither overlap nor gap
+            boolean sendReset = reset;
+            dispatcher.execute(() -> {
+                if (sendReset) {
+                    subscriber.send(RESET);
+                }
+                for (Event event : replay) {
+                    deliver(subscriber, event);
+                }
+                subscribers.add(subscriber);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    // Id of the newest event; pages pass it back so no change between render and connect is lost
+    public long getLastEventId() {
+        lock.lock();
+        try {
+            return lastId;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Subscriber closed for falling too far behind (it reconnects and replays)
+    public void recordDropped() {
+        dropped.increment();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+        }
+        subscribers.clear();
+    }
+
+    private void publish(String type, Student row, String major, String previousMajor) {
+        byte[] json = toJson(row);
+        lock.lock();
+        try {
+            long id = ++lastId;
+            StringBuilder frame = new StringBuilder(json.length + 48)
+                    .append("id: ").append(id).append('\n')
+                    .append("event: ").append(type).append('\n')
+                    .append("data: ");
+            byte[] head = frame.toString().getBytes(StandardCharsets.UTF_8);
+            byte[] bytes = new byte[head.length + json.length + 2];
+            System.arraycopy(head, 0, bytes, 0, head.length);
+            System.arraycopy(json, 0, bytes, head.length, json.length);
+            bytes[bytes.length - 2] = '\n';
+            bytes[bytes.length - 1] = '\n';
+
+            Event event = new Event(id, bytes, major, previousMajor);
+            if (replaySize > 0) {
+                if (recent.size() == replaySize) {
+                    recent.removeFirst();
+                }
+                recent.addLast(event);
+            }
+            published.increment();
+            // Submitted under the lock so the dispatcher sees events in id order
+            dispatcher.execute(() -> {
+                for (Subscriber subscriber : subscribers) {
+                    deliver(subscriber, event);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; nobody is listening any more
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void deliver(Subscriber subscriber, Event event) {
+        String major = subscriber.getMajor();
+        if (major == null || major.equals(event.major) || major.equals(event.previousMajor)) {
+            subscriber.send(event.frame);
+        }
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.send(HEARTBEAT);
+        }
+    }
+
+    // JSON has no raw newlines, so it fits on one SSE data line
+    private static byte[] toJson(Student row) {
+        StringWriter out = new StringWriter(160);
+        try {
+            StudentJson.write(out, row);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One open event stream. send() must not block: it queues the frame
+     * for non-blocking output and returns.
+     */
+    public interface Subscriber {
+
+        // Only events for this major (before or after the change); null = all
+        String getMajor();
+
+        // Queue a frame; a closed subscriber unsubscribes itself instead
+        void send(byte[] frame);
+
+        void close();
+    }
+
+    private static final class Event {
+        final long id;
+        final byte[] frame;
+        final String major;
+        final String previousMajor;
+
+        Event(long id, byte[] frame, String major, String previousMajor) {
+            this.id = id;
+            this.frame = frame;
+            this.major = major;
+            this.previousMajor = previousMajor;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.student.service;
+
+import com.student.dao.StudentDAO;
+import com.student.model.ImportResult;
+import com.student.model.Student;
+import com.student.util.CsvReader;
+import com.student.validation.BatchValidation;
+import com.student.validation.StudentValidator;
+import com.student.validation.ValidationResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk CSV import of students. The file is parsed in fixed-size chunks;
+ * each chunk is checked in one pass with the same rules as the student form
+ * (StudentValidator.validateAll) and its valid rows are inserted through
+ * StudentDAO.addStudents, so only one chunk is held in memory at a time.
+ *
+ * Expected header: student_code, full_name, email (optional), major.
+ */
+public class StudentImportService {
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    private final StudentDAO studentDAO;
+    private final StudentValidator validator;
+
+    public StudentImportService(StudentDAO studentDAO, StudentValidator validator) {
+        this.studentDAO = studentDAO;
+        this.validator = validator;
+    }
+
+    public ImportResult importCsv(Reader reader, int batchSize) throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        int size = batchSize <= 0 ? DEFAULT_BATCH_SIZE : Math.min(batchSize, MAX_BATCH_SIZE);
+        ImportResult result = new ImportResult();
+        CsvReader csv = new CsvReader(reader);
+
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IOException("The file is empty");
+        }
+        int codeColumn = findColumn(header, "studentcode", "code");
+        int nameColumn = findColumn(header, "fullname", "name");
+        int emailColumn = findColumn(header, "email");
+        int majorColumn = findColumn(header, "major");
+        if (codeColumn < 0 || nameColumn < 0 || majorColumn < 0) {
+            throw new IOException("Header must contain student_code, full_name and major columns");
+        }
+
+        Chunk chunk = new Chunk(size, validator);
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            if (record.size() == 1 && record.get(0).trim().isEmpty()) {
+                continue; // blank line
+            }
+            chunk.add(csv.getRecordLine(), new Student(
+                    value(record, codeColumn),
+                    value(record, nameColumn),
+                    value(record, emailColumn),
+                    value(record, majorColumn)));
+            if (chunk.isFull()) {
+                importChunk(chunk, result);
+            }
+        }
+        importChunk(chunk, result);
+
+        result.setElapsedMillis(System.currentTimeMillis() - start);
+        return result;
+    }
+
+    // Validate the parsed rows, drop duplicates within the chunk and insert the rest
+    private void importChunk(Chunk chunk, ImportResult result) throws SQLException {
+        if (chunk.rows.isEmpty()) {
+            return;
+        }
+        BatchValidation checked = validator.validateAll(chunk.rows, chunk.validation);
+        List<Student> batch = chunk.batch;
+        Map<String, Integer> batchLines = chunk.batchLines;
+        for (int i = 0; i < chunk.rows.size(); i++) {
+            Student student = chunk.rows.get(i);
+            int line = chunk.lines[i];
+            if (!checked.get(i, chunk.errors)) {
+                result.addInvalid(line, student.getStudentCode(), chunk.errors.joinMessages("; "));
+                continue;
+            }
+            String key = student.getStudentCode().toUpperCase(Locale.ROOT);
+            if (batchLines.containsKey(key)) {
+                result.addDuplicate(line, student.getStudentCode());
+                continue;
+            }
+            batchLines.put(key, line);
+            batch.add(student);
+        }
+        insert(batch, batchLines, result);
+        chunk.clear();
+    }
+
+    private void insert(List<Student> batch, Map<String, Integer> batchLines, ImportResult result)
+            throws SQLException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Student> inserted = studentDAO.addStudents(batch);
+        Set<String> insertedCodes = new HashSet<>();
+        for (Student student : inserted) {
+            insertedCodes.add(student.getStudentCode().toUpperCase(Locale.ROOT));
+        }
+        result.addInserted(inserted.size());
+        for (Student student : batch) {
+            String key = student.getStudentCode().toUpperCase(Locale.ROOT);
+            if (!insertedCodes.contains(key)) {
+                result.addDuplicate(batchLines.get(key), student.getStudentCode());
+            }
+        }
+    }
+
+    // Index of the first header matching any name (case, spaces and underscores ignored)
+    private static int findColumn(List<String> header, String... names) {
+        for (int i = 0; i < header.size(); i++) {
+            String normalized = header.get(i).trim().toLowerCase(Locale.ROOT)
+                    .replace("_", "").replace(" ", "");
+            for (String name : names) {
+                if (normalized.equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static String value(List<String> record, int column) {
+        if (column < 0 || column >= record.size()) {
+            return null;
+        }
+        String value = record.get(column).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Parsed rows awaiting validation and insert, with buffers reused across chunks
+    private static final class Chunk {
+        final List<Student> rows;
+        final int[] lines;
+        final BatchValidation validation;
+        final ValidationResult errors = new ValidationResult();
+        final List<Student> batch;
+        final Map<String, Integer> batchLines = new HashMap<>();
+
+        Chunk(int size, StudentValidator validator) {
+            rows = new ArrayList<>(size);
+            lines = new int[size];
+            validation = new BatchValidation(validator);
+            batch = new ArrayList<>(size);
+        }
+
+        void add(int line, Student student) {
+            lines[rows.size()] = line;
+            rows.add(student);
+        }
+
+        boolean isFull() {
+            return rows.size() == lines.length;
+        }
+
+        void clear() {
+            rows.clear();
+            batch.clear();
+            batchLines.clear();
+        }
+    }
+}
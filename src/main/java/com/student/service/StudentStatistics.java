@@ -0,0 +1,226 @@
+package com.student.service;
+
+import com.student.dao.StudentChangeListener;
+import com.student.dao.StudentDAO;
+import com.student.model.Student;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory dashboard statistics. Counts are loaded once with aggregate
+ * queries and then kept current from StudentDAO write notifications, so
+ * reads never touch the database. A periodic reload corrects any drift
+ * caused by writes made outside this application.
+ *
+ * A reload queries without holding the counts' lock, so writes keep being
+ * applied meanwhile. Whether the queries saw such a write cannot be told,
+ * so a reload is discarded and retried when any StudentDAO write was in
+ * flight (counted from before its commit until its listeners returned) at
+ * any point while it queried; after MAX_RELOAD_ATTEMPTS busy attempts the
+ * incrementally kept counts stay in place until the next period (the very
+ * first load is always taken).
+ */
+public class StudentStatistics implements StudentChangeListener {
+
+    public static final String ATTRIBUTE = "studentStatistics";
+
+    // Longest enrollment window we can answer ("new in the last N days")
+    private static final int MAX_RECENT_DAYS = 30;
+
+    private static final int MAX_RELOAD_ATTEMPTS = 3;
+
+    private final StudentDAO studentDAO;
+    private final long maxAgeMillis;
+
+    // Guards the counts; never held while querying
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Held for a whole reload so only one runs at a time. It is held while
+    // querying the database, so it is a ReentrantLock rather than a monitor
+    // (a virtual thread blocked on JDBC inside synchronized would pin its
+    // carrier thread)
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    // Guarded by lock
+    private int totalStudents;
+    private final Map<String, Integer> countsByMajor = new TreeMap<>();
+    private final TreeMap<LocalDate, Integer> countsByDay = new TreeMap<>();
+    private long loadedAt;
+
+    public StudentStatistics(StudentDAO studentDAO, long maxAgeMillis) {
+        this.studentDAO = studentDAO;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    // Reload all counts from the database
+    public void refresh() {
+        reloadLock.lock();
+        try {
+            reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // Caller holds reloadLock
+    private void reload() {
+        for (int attempt = 1; ; attempt++) {
+            // Settled first: equal counts then mean no write was in flight at the second read
+            long settled = StudentDAO.getWritesSettled();
+            long started = StudentDAO.getWritesStarted();
+
+            LocalDate firstDay = LocalDate.now().minusDays(MAX_RECENT_DAYS - 1);
+            int total = studentDAO.countStudents();
+            Map<String, Integer> byMajor = studentDAO.countStudentsByMajor();
+            Map<LocalDate, Integer> byDay =
+                    studentDAO.countStudentsCreatedPerDay(Timestamp.valueOf(firstDay.atStartOfDay()));
+
+            lock.lock();
+            try {
+                boolean quiet = settled == started && StudentDAO.getWritesStarted() == started;
+                if (quiet || loadedAt == 0) {
+                    totalStudents = total;
+                    countsByMajor.clear();
+                    countsByMajor.putAll(byMajor);
+                    countsByDay.clear();
+                    countsByDay.putAll(byDay);
+                }
+                if (quiet || attempt == MAX_RELOAD_ATTEMPTS) {
+                    loadedAt = System.currentTimeMillis();
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public int getTotalStudents() {
+        ensureFresh();
+        lock.lock();
+        try {
+            return totalStudents;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Integer> getCountsByMajor() {
+        ensureFresh();
+        lock.lock();
+        try {
+            return Collections.unmodifiableMap(new TreeMap<>(countsByMajor));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Students created today and in the previous days - 1 days (days <= 30)
+    public int getEnrolledInLastDays(int days) {
+        ensureFresh();
+        lock.lock();
+        try {
+            int window = Math.max(1, Math.min(days, MAX_RECENT_DAYS));
+            LocalDate firstDay = LocalDate.now().minusDays(window - 1);
+            int count = 0;
+            for (int value : countsByDay.tailMap(firstDay, true).values()) {
+                count += value;
+            }
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onStudentAdded(Student student) {
+        lock.lock();
+        try {
+            totalStudents++;
+            increment(countsByMajor, student.getMajor(), 1);
+            incrementDay(student, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onStudentUpdated(Student before, Student after) {
+        lock.lock();
+        try {
+            String oldMajor = before.getMajor();
+            String newMajor = after.getMajor();
+            if (oldMajor == null ? newMajor != null : !oldMajor.equals(newMajor)) {
+                increment(countsByMajor, oldMajor, -1);
+                increment(countsByMajor, newMajor, 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onStudentDeleted(Student student) {
+        lock.lock();
+        try {
+            totalStudents--;
+            increment(countsByMajor, student.getMajor(), -1);
+            incrementDay(student, -1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Reload when the counts are missing or too old; callers wait for a reload in progress
+    private void ensureFresh() {
+        if (!isStale()) {
+            return;
+        }
+        reloadLock.lock();
+        try {
+            if (isStale()) {
+                reload();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    private boolean isStale() {
+        lock.lock();
+        try {
+            return loadedAt == 0 || System.currentTimeMillis() - loadedAt > maxAgeMillis;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void incrementDay(Student student, int delta) {
+        if (student.getCreatedAt() == null) {
+            return;
+        }
+        LocalDate day = student.getCreatedAt().toLocalDateTime().toLocalDate();
+        if (!day.isBefore(LocalDate.now().minusDays(MAX_RECENT_DAYS - 1))) {
+            increment(countsByDay, day, delta);
+        }
+        // Drop buckets that slid out of the window
+        countsByDay.headMap(LocalDate.now().minusDays(MAX_RECENT_DAYS - 1)).clear();
+    }
+
+    private static <K> void increment(Map<K, Integer> counts, K key, int delta) {
+        if (key == null) {
+            return;
+        }
+        int value = counts.getOrDefault(key, 0) + delta;
+        if (value > 0) {
+            counts.put(key, value);
+        } else {
+            counts.remove(key);
+        }
+    }
+}
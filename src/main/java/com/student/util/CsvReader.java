@@ -0,0 +1,105 @@
+package com.student.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming RFC 4180 CSV reader. Records are parsed one at a time from the
+ * underlying Reader, so input of any size is read in constant memory.
+ * Quoted fields may contain commas, doubled quotes and line breaks.
+ */
+public class CsvReader {
+
+    private final Reader in;
+    private final StringBuilder field = new StringBuilder();
+    private int lineNumber = 1;
+    private int recordLine;
+    private int pushback = -2;
+    private boolean first = true;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Read the next record, or return null at end of input.
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        if (first && c == '\uFEFF') {
+            c = read(); // skip UTF-8 byte order mark
+        }
+        first = false;
+
+        recordLine = lineNumber;
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int nextChar = read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = nextChar;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int nextChar = read();
+                    if (nextChar != '\n') {
+                        unread(nextChar);
+                    }
+                }
+                if (c != -1) {
+                    lineNumber++;
+                }
+                record.add(field.toString());
+                return record;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    // Line on which the last record returned by next() started (1-based)
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,178 @@
+package com.student.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON parser for flat request bodies: a single object whose values
+ * are strings, numbers, booleans or null. Nested values are rejected.
+ */
+public final class JsonReader {
+
+    private final Reader in;
+    private int current;
+
+    private JsonReader(Reader in) throws IOException {
+        this.in = in;
+        this.current = in.read();
+    }
+
+    public static Map<String, Object> parseObject(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        Map<String, Object> object = reader.readObject();
+        reader.skipWhitespace();
+        if (reader.current != -1) {
+            throw reader.error("Unexpected content after object");
+        }
+        return object;
+    }
+
+    private Map<String, Object> readObject() throws IOException {
+        skipWhitespace();
+        expect('{');
+        Map<String, Object> object = new LinkedHashMap<>();
+        skipWhitespace();
+        if (current == '}') {
+            next();
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            object.put(name, readValue());
+            skipWhitespace();
+            if (current == ',') {
+                next();
+            } else if (current == '}') {
+                next();
+                return object;
+            } else {
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private Object readValue() throws IOException {
+        switch (current) {
+            case '"':
+                return readString();
+            case 't':
+                readLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                readLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                readLiteral("null");
+                return null;
+            default:
+                if (current == '-' || (current >= '0' && current <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unsupported value");
+        }
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (current != '"') {
+            if (current == -1) {
+                throw error("Unterminated string");
+            }
+            if (current == '\\') {
+                next();
+                switch (current) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            next();
+                            hex[i] = (char) current;
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(new String(hex), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        break;
+                    default:
+                        value.append((char) current);
+                        break;
+                }
+            } else {
+                value.append((char) current);
+            }
+            next();
+        }
+        next();
+        return value.toString();
+    }
+
+    private Number readNumber() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (current == '-' || current == '+' || current == '.' || current == 'e' || current == 'E'
+                || (current >= '0' && current <= '9')) {
+            text.append((char) current);
+            next();
+        }
+        try {
+            String number = text.toString();
+            if (number.contains(".") || number.contains("e") || number.contains("E")) {
+                return Double.parseDouble(number);
+            }
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            throw error("Invalid number");
+        }
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (current != literal.charAt(i)) {
+                throw error("Invalid literal");
+            }
+            next();
+        }
+    }
+
+    private void expect(char c) throws IOException {
+        if (current != c) {
+            throw error("Expected '" + c + "'");
+        }
+        next();
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (current == ' ' || current == '\t' || current == '\n' || current == '\r') {
+            next();
+        }
+    }
+
+    private void next() throws IOException {
+        current = in.read();
+    }
+
+    private IOException error(String message) {
+        return new IOException("Invalid JSON: " + message);
+    }
+}
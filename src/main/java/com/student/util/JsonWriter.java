@@ -0,0 +1,61 @@
+package com.student.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON writer for flat objects and arrays.
+ * Callers are responsible for emitting commas between values.
+ */
+public final class JsonWriter {
+
+    private JsonWriter() {
+    }
+
+    // Write a JSON string literal (or null)
+    public static void writeString(Writer out, String value) throws IOException {
+        if (value == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                case '<':
+                    // Keep "</script>" from terminating an inline script block
+                    out.write("\\u003c");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                    break;
+            }
+        }
+        out.write('"');
+    }
+
+    // Write "name": as an object member prefix
+    public static void writeName(Writer out, String name) throws IOException {
+        writeString(out, name);
+        out.write(':');
+    }
+}
@@ -0,0 +1,242 @@
+package com.student.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming multipart/form-data reader. Parts are read in order straight
+ * from the request body, and a file part is exposed as an InputStream that
+ * ends at the next boundary, so an upload of any size is read in constant
+ * memory and never spooled to disk. A part's unread remainder is skipped
+ * when the next part is requested.
+ */
+public class MultipartReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_HEADER_LINE = 8192;
+    private static final int MAX_HEADERS = 16;
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=(?:\"([^\"]+)\"|([^;\\s]+))",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern NAME = Pattern.compile("\\bname=\"([^\"]*)\"");
+    private static final Pattern FILE_NAME = Pattern.compile("\\bfilename=\"([^\"]*)\"");
+
+    private final InputStream in;
+    // CRLF "--" boundary: every boundary after the first is preceded by a line break
+    private final byte[] delimiter;
+    private final byte[] buffer;
+    private final InputStream body = new PartStream();
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+    private boolean partEnded;
+    private boolean finished;
+    private String name;
+    private String fileName;
+
+    public MultipartReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, delimiter.length * 2)];
+        // The first boundary may open the body; a virtual line break lets it match like the rest
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        limit = 2;
+    }
+
+    /**
+     * Boundary of a multipart/form-data content type, or null for any
+     * other content type.
+     */
+    public static String boundaryOf(String contentType) {
+        if (contentType == null
+                || !contentType.toLowerCase(Locale.ROOT).startsWith("multipart/form-data")) {
+            return null;
+        }
+        Matcher matcher = BOUNDARY.matcher(contentType);
+        if (!matcher.find()) {
+            return null;
+        }
+        return matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+    }
+
+    /**
+     * Skip the rest of the current part and read the next part's headers.
+     * Returns false after the closing boundary.
+     */
+    public boolean next() throws IOException {
+        if (finished) {
+            return false;
+        }
+        byte[] skip = new byte[BUFFER_SIZE];
+        while (body.read(skip, 0, skip.length) != -1) {
+            // discard the rest of the part (or the preamble)
+        }
+
+        fill(2);
+        if (limit - position >= 2 && buffer[position] == '-' && buffer[position + 1] == '-') {
+            finished = true;
+            return false;
+        }
+        readLine(); // rest of the boundary line
+
+        name = null;
+        fileName = null;
+        for (int i = 0; ; i++) {
+            String header = readLine();
+            if (header.isEmpty()) {
+                break;
+            }
+            if (i == MAX_HEADERS) {
+                throw new IOException("Too many headers in a multipart part");
+            }
+            if (header.toLowerCase(Locale.ROOT).startsWith("content-disposition:")) {
+                name = match(NAME, header);
+                fileName = match(FILE_NAME, header);
+            }
+        }
+        partEnded = false;
+        return true;
+    }
+
+    // Form field name of the current part, or null
+    public String getName() {
+        return name;
+    }
+
+    // Uploaded file name of the current part, or null for a plain field
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * Body of the current part, ending at the next boundary. Closing it
+     * does not close the request.
+     */
+    public InputStream getBody() {
+        return body;
+    }
+
+    /**
+     * Body of the current part as UTF-8 text, for small form fields.
+     */
+    public String readText(int maxBytes) throws IOException {
+        ByteArrayOutputStream text = new ByteArrayOutputStream();
+        byte[] chunk = new byte[256];
+        int n;
+        while ((n = body.read(chunk, 0, chunk.length)) != -1) {
+            if (text.size() + n > maxBytes) {
+                throw new IOException("Form field " + name + " is longer than " + maxBytes + " bytes");
+            }
+            text.write(chunk, 0, n);
+        }
+        return new String(text.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String readLine() throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        while (true) {
+            fill(2);
+            if (limit - position < 2) {
+                throw new IOException("Multipart body ended inside part headers");
+            }
+            if (buffer[position] == '\r' && buffer[position + 1] == '\n') {
+                position += 2;
+                return new String(line.toByteArray(), StandardCharsets.UTF_8);
+            }
+            if (line.size() == MAX_HEADER_LINE) {
+                throw new IOException("Multipart header line too long");
+            }
+            line.write(buffer[position++]);
+        }
+    }
+
+    // Make at least the given number of bytes available, unless the input ends first
+    private void fill(int needed) throws IOException {
+        if (limit - position >= needed || endOfInput) {
+            return;
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < needed) {
+            int n = in.read(buffer, limit, buffer.length - limit);
+            if (n == -1) {
+                endOfInput = true;
+                return;
+            }
+            limit += n;
+        }
+    }
+
+    private int indexOfDelimiter() {
+        int last = limit - delimiter.length;
+        outer:
+        for (int i = position; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static String match(Pattern pattern, String header) {
+        Matcher matcher = pattern.matcher(header);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Reads up to the next delimiter. Bytes that could be the start of a
+     * delimiter split across reads are held back until more input arrives.
+     */
+    private class PartStream extends InputStream {
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (partEnded) {
+                return -1;
+            }
+            if (length == 0) {
+                return 0;
+            }
+            fill(delimiter.length);
+            int at = indexOfDelimiter();
+            int available;
+            if (at >= 0) {
+                available = at - position;
+            } else if (endOfInput) {
+                throw new IOException("Multipart body ended without a closing boundary");
+            } else {
+                available = limit - position - (delimiter.length - 1);
+            }
+            if (available == 0) {
+                position += delimiter.length;
+                partEnded = true;
+                return -1;
+            }
+            int n = Math.min(length, available);
+            System.arraycopy(buffer, position, target, offset, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // the request stream belongs to the container
+        }
+    }
+}
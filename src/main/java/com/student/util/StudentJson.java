@@ -0,0 +1,57 @@
+package com.student.util;
+
+import com.student.model.Student;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * JSON representation of a Student, shared by the REST API and exports.
+ */
+public final class StudentJson {
+
+    private StudentJson() {
+    }
+
+    // Write one student as a compact JSON object
+    public static void write(Writer out, Student student) throws IOException {
+        out.write('{');
+        JsonWriter.writeName(out, "id");
+        out.write(Integer.toString(student.getId()));
+        out.write(',');
+        JsonWriter.writeName(out, "studentCode");
+        JsonWriter.writeString(out, student.getStudentCode());
+        out.write(',');
+        JsonWriter.writeName(out, "fullName");
+        JsonWriter.writeString(out, student.getFullName());
+        out.write(',');
+        JsonWriter.writeName(out, "email");
+        JsonWriter.writeString(out, student.getEmail());
+        out.write(',');
+        JsonWriter.writeName(out, "major");
+        JsonWriter.writeString(out, student.getMajor());
+        out.write(',');
+        JsonWriter.writeName(out, "createdAt");
+        JsonWriter.writeString(out, student.getCreatedAt() != null ? student.getCreatedAt().toString() : null);
+        out.write('}');
+    }
+
+    // Build a Student from a parsed JSON object (id and createdAt are ignored)
+    public static Student read(Map<String, Object> json) {
+        Student student = new Student();
+        student.setStudentCode(text(json.get("studentCode")));
+        student.setFullName(text(json.get("fullName")));
+        student.setEmail(text(json.get("email")));
+        student.setMajor(text(json.get("major")));
+        return student;
+    }
+
+    private static String text(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+}
@@ -0,0 +1,67 @@
+package com.student.validation;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of {@link StudentValidator#validateAll} for a list of students,
+ * indexed like the list. Holds one int per record; messages are only
+ * materialized on request, into a caller-supplied ValidationResult.
+ * Reusable across batches (not thread-safe).
+ */
+public final class BatchValidation {
+
+    final StudentValidator validator;
+    private int[] failures = new int[0];
+    private int size;
+    private int invalidCount;
+
+    public BatchValidation(StudentValidator validator) {
+        this.validator = validator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getInvalidCount() {
+        return invalidCount;
+    }
+
+    public boolean isValid(int index) {
+        return failures[checkIndex(index)] == 0;
+    }
+
+    // Fill the result with the errors of one record; returns true when it is valid
+    public boolean get(int index, ValidationResult into) {
+        into.clear();
+        int packed = failures[checkIndex(index)];
+        if (packed != 0) {
+            validator.describe(packed, into);
+        }
+        return packed == 0;
+    }
+
+    void reset(int newSize) {
+        if (failures.length < newSize) {
+            failures = new int[newSize];
+        } else {
+            Arrays.fill(failures, 0, size, 0);
+        }
+        size = newSize;
+        invalidCount = 0;
+    }
+
+    void set(int index, int packed) {
+        failures[index] = packed;
+        if (packed != 0) {
+            invalidCount++;
+        }
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return index;
+    }
+}
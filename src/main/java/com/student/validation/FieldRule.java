@@ -0,0 +1,87 @@
+package com.student.validation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One check on a field value with a fixed error message. Rules are
+ * immutable, shared between threads and must not allocate on the valid
+ * path.
+ */
+public abstract class FieldRule {
+
+    private final String message;
+
+    protected FieldRule(String message) {
+        this.message = message;
+    }
+
+    public final String getMessage() {
+        return message;
+    }
+
+    // True when the value passes; value may be null
+    public abstract boolean test(String value);
+
+    // Not null and not only whitespace
+    public static FieldRule required(String message) {
+        return new FieldRule(message) {
+            @Override
+            public boolean test(String value) {
+                return !isBlank(value);
+            }
+        };
+    }
+
+    // At least min characters once surrounding whitespace is ignored
+    public static FieldRule minLength(int min, String message) {
+        return new FieldRule(message) {
+            @Override
+            public boolean test(String value) {
+                return value != null && trimmedLength(value) >= min;
+            }
+        };
+    }
+
+    // At most max characters as stored (whitespace included); null passes
+    public static FieldRule maxLength(int max, String message) {
+        return new FieldRule(message) {
+            @Override
+            public boolean test(String value) {
+                return value == null || value.length() <= max;
+            }
+        };
+    }
+
+    /**
+     * The whole value matches the pattern. The Pattern is compiled once; each
+     * thread reuses its own Matcher, so a check allocates nothing.
+     */
+    public static FieldRule matches(String regex, String message) {
+        Pattern pattern = Pattern.compile(regex);
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return new FieldRule(message) {
+            @Override
+            public boolean test(String value) {
+                return value != null && matchers.get().reset(value).matches();
+            }
+        };
+    }
+
+    static boolean isBlank(String value) {
+        return value == null || trimmedLength(value) == 0;
+    }
+
+    // Same as value.trim().length() without creating the trimmed string
+    static int trimmedLength(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end - start;
+    }
+}
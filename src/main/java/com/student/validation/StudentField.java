@@ -0,0 +1,48 @@
+package com.student.validation;
+
+import com.student.model.Student;
+
+/**
+ * Validated student input fields, with the names each client uses for them:
+ * the form/JSON field name and the request attribute the form JSP reads
+ * the error message from.
+ */
+public enum StudentField {
+    STUDENT_CODE("studentCode", "errorCode"),
+    FULL_NAME("fullName", "errorName"),
+    EMAIL("email", "errorEmail"),
+    MAJOR("major", "errorMajor");
+
+    private final String fieldName;
+    private final String errorAttribute;
+
+    StudentField(String fieldName, String errorAttribute) {
+        this.fieldName = fieldName;
+        this.errorAttribute = errorAttribute;
+    }
+
+    // Form parameter and JSON property name
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    // Request attribute shown next to the field on student-form.jsp
+    public String getErrorAttribute() {
+        return errorAttribute;
+    }
+
+    String valueOf(Student student) {
+        switch (this) {
+            case STUDENT_CODE:
+                return student.getStudentCode();
+            case FULL_NAME:
+                return student.getFullName();
+            case EMAIL:
+                return student.getEmail();
+            case MAJOR:
+                return student.getMajor();
+            default:
+                throw new IllegalStateException(name());
+        }
+    }
+}
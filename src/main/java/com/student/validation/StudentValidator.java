@@ -0,0 +1,174 @@
+package com.student.validation;
+
+import com.student.model.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Input rules for a student record, shared by the form, CSV import and
+ * REST API.
+ *
+ * Rules are declared per field and checked in order; the first failing rule
+ * gives the field's message. Internally a record's outcome is one int (the
+ * failed rule number of each field, four bits per field), which is what
+ * lets {@link #validateAll} check a whole batch with a single array and no
+ * per-record objects.
+ */
+public final class StudentValidator {
+
+    private static final StudentField[] FIELDS = StudentField.values();
+    private static final int BITS_PER_FIELD = 4;
+    private static final int MAX_RULES_PER_FIELD = (1 << BITS_PER_FIELD) - 1;
+
+    // The rules of the student form; maximum lengths are the column sizes of the students table
+    public static final StudentValidator DEFAULT = builder()
+            .field(StudentField.STUDENT_CODE,
+                    FieldRule.required("Student code is required"),
+                    FieldRule.maxLength(20, "Student code must be at most 20 characters"),
+                    FieldRule.matches("[A-Z]{2}[0-9]{3,}",
+                            "Use format: 2 uppercase letters + 3 digits (e.g., SV001)"))
+            .field(StudentField.FULL_NAME,
+                    FieldRule.minLength(2, "Full name must be at least 2 characters"),
+                    FieldRule.maxLength(100, "Full name must be at most 100 characters"))
+            .optionalField(StudentField.EMAIL,
+                    FieldRule.maxLength(100, "Email must be at most 100 characters"),
+                    FieldRule.matches("^[A-Za-z0-9+_.-]+@(.+)$", "Please provide a valid email address"))
+            .field(StudentField.MAJOR,
+                    FieldRule.required("Major is required"),
+                    FieldRule.maxLength(50, "Major must be at most 50 characters"))
+            .build();
+
+    // Indexed by field ordinal
+    private final FieldRule[][] rules;
+    private final boolean[] optional;
+
+    private StudentValidator(FieldRule[][] rules, boolean[] optional) {
+        this.rules = rules;
+        this.optional = optional;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public ValidationResult validate(Student student) {
+        ValidationResult result = new ValidationResult();
+        validate(student, result);
+        return result;
+    }
+
+    // Fill a (reused) result for the student; returns true when it is valid
+    public boolean validate(Student student, ValidationResult into) {
+        into.clear();
+        int failures = check(student);
+        if (failures != 0) {
+            describe(failures, into);
+        }
+        return failures == 0;
+    }
+
+    public BatchValidation validateAll(List<Student> students) {
+        return validateAll(students, new BatchValidation(this));
+    }
+
+    /**
+     * Check every student of the list into a reusable batch result. The only
+     * allocation is growing the batch's array when the list is larger than
+     * any batch it held before.
+     */
+    public BatchValidation validateAll(List<Student> students, BatchValidation into) {
+        if (into.validator != this) {
+            throw new IllegalArgumentException("Batch result belongs to another validator");
+        }
+        into.reset(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            into.set(i, check(students.get(i)));
+        }
+        return into;
+    }
+
+    // Message of the first rule the value fails for the field, or null when it passes
+    public String validateField(StudentField field, String value) {
+        int rule = failedRule(field.ordinal(), value);
+        return rule == 0 ? null : rules[field.ordinal()][rule - 1].getMessage();
+    }
+
+    // Packed failed-rule numbers (1-based, 0 = field valid)
+    int check(Student student) {
+        int failures = 0;
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (rules[f].length != 0) {
+                failures |= failedRule(f, FIELDS[f].valueOf(student)) << (f * BITS_PER_FIELD);
+            }
+        }
+        return failures;
+    }
+
+    private int failedRule(int field, String value) {
+        if (optional[field] && FieldRule.isBlank(value)) {
+            return 0;
+        }
+        FieldRule[] fieldRules = rules[field];
+        for (int r = 0; r < fieldRules.length; r++) {
+            if (!fieldRules[r].test(value)) {
+                return r + 1;
+            }
+        }
+        return 0;
+    }
+
+    void describe(int failures, ValidationResult into) {
+        for (int f = 0; f < FIELDS.length; f++) {
+            int rule = (failures >>> (f * BITS_PER_FIELD)) & MAX_RULES_PER_FIELD;
+            if (rule != 0) {
+                into.reject(FIELDS[f], rules[f][rule - 1].getMessage());
+            }
+        }
+    }
+
+    // Declared rules of a field, in check order
+    public List<FieldRule> getRules(StudentField field) {
+        return Collections.unmodifiableList(Arrays.asList(rules[field.ordinal()]));
+    }
+
+    /**
+     * Declares the rules of each field; fields without rules are not checked.
+     */
+    public static final class Builder {
+        private final Map<StudentField, List<FieldRule>> rules = new EnumMap<>(StudentField.class);
+        private final boolean[] optional = new boolean[FIELDS.length];
+
+        private Builder() {
+        }
+
+        // Rules applied to the value as given (null included)
+        public Builder field(StudentField field, FieldRule... fieldRules) {
+            List<FieldRule> list = rules.computeIfAbsent(field, f -> new ArrayList<>());
+            list.addAll(Arrays.asList(fieldRules));
+            if (list.size() > MAX_RULES_PER_FIELD) {
+                throw new IllegalArgumentException("At most " + MAX_RULES_PER_FIELD + " rules per field");
+            }
+            return this;
+        }
+
+        // Rules applied only when the value is not blank
+        public Builder optionalField(StudentField field, FieldRule... fieldRules) {
+            optional[field.ordinal()] = true;
+            return field(field, fieldRules);
+        }
+
+        public StudentValidator build() {
+            FieldRule[][] table = new FieldRule[FIELDS.length][];
+            for (StudentField field : FIELDS) {
+                List<FieldRule> list = rules.get(field);
+                table[field.ordinal()] = list == null ? new FieldRule[0] : list.toArray(new FieldRule[0]);
+            }
+            return new StudentValidator(table, optional.clone());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.student.validation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Field errors of one student record: at most one message per field, in
+ * field order. Instances can be reused with {@link #clear()} (the batch API
+ * does this), so checking a valid record allocates nothing.
+ */
+public final class ValidationResult {
+
+    private static final StudentField[] FIELDS = StudentField.values();
+
+    private final String[] messages = new String[FIELDS.length];
+    private int errorCount;
+
+    public boolean isValid() {
+        return errorCount == 0;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    // Message for the field, null when it is valid
+    public String getError(StudentField field) {
+        return messages[field.ordinal()];
+    }
+
+    public boolean hasError(StudentField field) {
+        return messages[field.ordinal()] != null;
+    }
+
+    public void clear() {
+        if (errorCount > 0) {
+            for (int i = 0; i < messages.length; i++) {
+                messages[i] = null;
+            }
+            errorCount = 0;
+        }
+    }
+
+    void reject(StudentField field, String message) {
+        if (messages[field.ordinal()] == null) {
+            errorCount++;
+        }
+        messages[field.ordinal()] = message;
+    }
+
+    // Error messages keyed by the form's error attribute names (errorCode, ...)
+    public Map<String, String> toAttributeMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (StudentField field : FIELDS) {
+            String message = messages[field.ordinal()];
+            if (message != null) {
+                map.put(field.getErrorAttribute(), message);
+            }
+        }
+        return map;
+    }
+
+    // Error messages keyed by field name (studentCode, ...), for JSON responses
+    public Map<String, String> toFieldMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (StudentField field : FIELDS) {
+            String message = messages[field.ordinal()];
+            if (message != null) {
+                map.put(field.getFieldName(), message);
+            }
+        }
+        return map;
+    }
+
+    // All messages in field order, e.g. for an import report line
+    public String joinMessages(String separator) {
+        StringBuilder sb = new StringBuilder();
+        for (String message : messages) {
+            if (message != null) {
+                if (sb.length() > 0) {
+                    sb.append(separator);
+                }
+                sb.append(message);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult" + toFieldMap();
+    }
+}
@@ -0,0 +1,15 @@
+-- One index per list ordering, "ORDER BY column, id", so a page is read in
+-- index order from the cursor position instead of sorting the whole table.
+-- student_code is already covered by its unique index. InnoDB appends the
+-- primary key to every secondary index anyway; naming id keeps the
+-- ordering explicit for other engines.
+CREATE INDEX idx_students_full_name ON students (full_name, id);
+CREATE INDEX idx_students_email ON students (email, id);
+CREATE INDEX idx_students_created_at ON students (created_at, id);
+
+-- The same orderings within one major (major filter, optionally with a sort)
+CREATE INDEX idx_students_major ON students (major, id);
+CREATE INDEX idx_students_major_code ON students (major, student_code);
+CREATE INDEX idx_students_major_full_name ON students (major, full_name, id);
+CREATE INDEX idx_students_major_email ON students (major, email, id);
+CREATE INDEX idx_students_major_created_at ON students (major, created_at, id);
@@ -0,0 +1,9 @@
+-- Shared version of the students table. StudentDAO bumps it in the same
+-- transaction as every write, so any node can tell with one primary-key read
+-- whether students changed since it cached a result.
+CREATE TABLE student_data_version (
+    id INT PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO student_data_version (id, version) VALUES (1, 0);
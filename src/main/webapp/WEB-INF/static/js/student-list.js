@@ -0,0 +1,146 @@
+// student-list.jsp: live updates (applies the changes pushed on
+// /events/students to the rows on screen instead of reloading the page)
+// and the admin's row selection for bulk actions.
+(function () {
+    'use strict';
+
+    var table = document.getElementById('student-table');
+    var template = document.getElementById('student-row-template');
+    if (!table || !template || !window.EventSource || !table.getAttribute('data-events')) {
+        return;
+    }
+    var tbody = table.tBodies[0];
+    var major = table.getAttribute('data-major');
+    // New rows go on top only in the default view (newest first, no search, first page)
+    var insertNew = table.getAttribute('data-insert') === 'true';
+    var notice = document.getElementById('live-notice');
+    var missed = 0;
+
+    var source = new EventSource(table.getAttribute('data-events'));
+
+    source.addEventListener('student-added', function (e) {
+        var student = JSON.parse(e.data);
+        if (findRow(student.id)) {
+            return;
+        }
+        if (insertNew) {
+            var empty = tbody.querySelector('.empty-message');
+            if (empty) {
+                tbody.removeChild(empty.parentNode);
+            }
+            tbody.insertBefore(highlight(buildRow(student)), tbody.firstChild);
+        } else {
+            showNotice(++missed + ' student(s) added or changed.');
+        }
+    });
+
+    source.addEventListener('student-updated', function (e) {
+        var student = JSON.parse(e.data);
+        var row = findRow(student.id);
+        if (!row) {
+            return;
+        }
+        if (major && student.major !== major) {
+            row.parentNode.removeChild(row);
+        } else {
+            tbody.replaceChild(highlight(buildRow(student)), row);
+        }
+    });
+
+    source.addEventListener('student-deleted', function (e) {
+        var row = findRow(JSON.parse(e.data).id);
+        if (row) {
+            row.parentNode.removeChild(row);
+        }
+    });
+
+    // Too many changes were missed while disconnected
+    source.addEventListener('reset', function () {
+        showNotice('The list has changed.');
+    });
+
+    source.onerror = function () {
+        // The browser retries by itself; CLOSED means it gave up (e.g. logged out)
+        if (source.readyState === EventSource.CLOSED) {
+            showNotice('Live updates stopped.');
+        }
+    };
+
+    function findRow(id) {
+        return tbody.querySelector('tr[data-id="' + id + '"]');
+    }
+
+    // A copy of the empty row the page rendered from the same tag as its own rows
+    function buildRow(student) {
+        var row = template.content.querySelector('tr').cloneNode(true);
+        row.setAttribute('data-id', student.id);
+        Array.prototype.forEach.call(row.querySelectorAll('[data-field]'), function (cell) {
+            var value = student[cell.getAttribute('data-field')];
+            cell.textContent = value == null ? '' : value;
+        });
+        var box = row.querySelector('input[name="ids"]');
+        if (box) {
+            box.value = student.id;
+        }
+        Array.prototype.forEach.call(row.querySelectorAll('a[href]'), function (a) {
+            a.setAttribute('href', a.getAttribute('href').replace(/([?&]id=)[^&]*/, '$1' + student.id));
+        });
+        return row;
+    }
+
+    function highlight(row) {
+        row.className = 'live-changed';
+        return row;
+    }
+
+    function showNotice(text) {
+        notice.querySelector('span').textContent = text + ' ';
+        notice.hidden = false;
+    }
+})();
+
+(function () {
+    'use strict';
+
+    var form = document.getElementById('bulk-form');
+    var table = document.getElementById('student-table');
+    if (!form || !table) {
+        return;
+    }
+    var selectAll = document.getElementById('select-all');
+    var count = document.getElementById('bulk-count');
+
+    function boxes() {
+        return table.querySelectorAll('tbody input[name="ids"]');
+    }
+
+    function selected() {
+        return table.querySelectorAll('tbody input[name="ids"]:checked').length;
+    }
+
+    function update() {
+        count.textContent = selected() + ' selected';
+    }
+
+    selectAll.addEventListener('change', function () {
+        Array.prototype.forEach.call(boxes(), function (box) {
+            box.checked = selectAll.checked;
+        });
+        update();
+    });
+
+    table.addEventListener('change', function (e) {
+        if (e.target.name === 'ids') {
+            update();
+        }
+    });
+
+    // Runs before the buttons' own confirm() handlers
+    form.addEventListener('click', function (e) {
+        if (e.target.type === 'submit' && selected() === 0) {
+            e.preventDefault();
+            e.stopImmediatePropagation();
+            alert('Select at least one student first.');
+        }
+    }, true);
+})();
@@ -0,0 +1,128 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8">
+    <title>Query Profiler</title>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/app.css']}">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/admin-queries.css']}">
+</head>
+<body>
+    <div class="navbar">
+        <h2>📚 Student Management System</h2>
+        <div class="navbar-right">
+            <a href="../dashboard">Dashboard</a>
+            <a href="../student?action=list">Students</a>
+            <a href="../logout">Logout</a>
+        </div>
+    </div>
+
+    <div class="container">
+        <h1>🐢 Query Profiler</h1>
+
+        <c:if test="${not empty param.message}">
+            <div class="alert alert-success">✅ <c:out value="${param.message}"/></div>
+        </c:if>
+
+        <c:choose>
+            <c:when test="${profiler.enabled}">
+                <p class="info-text">
+                    Slow threshold: ${profiler.slowQueryMillis} ms ·
+                    EXPLAIN capture: ${profiler.explainEnabled ? 'on' : 'off'} ·
+                    Window: ${profiler.windowMinutes} min (current and previous)
+                    <c:if test="${profiler.droppedShapes > 0}">
+                        · ${profiler.droppedShapes} executions of untracked shapes (shape limit reached)
+                    </c:if>
+                </p>
+                <form method="post" action="queries">
+                    <input type="hidden" name="action" value="reset">
+                    <button type="submit" class="btn">Clear statistics</button>
+                </form>
+            </c:when>
+            <c:otherwise>
+                <p class="info-text">The query profiler is off (db.profiler.enabled=false).</p>
+            </c:otherwise>
+        </c:choose>
+
+        <h3>Slowest query shapes</h3>
+        <table>
+            <thead>
+                <tr>
+                    <th>Statement</th>
+                    <th>Kind</th>
+                    <th>Calls</th>
+                    <th>Slow</th>
+                    <th>Mean ms</th>
+                    <th>Max ms</th>
+                    <th>Total ms</th>
+                    <th>Mean rows</th>
+                </tr>
+            </thead>
+            <tbody>
+                <c:forEach var="q" items="${topQueries}">
+                    <tr>
+                        <td>
+                            <code><c:out value="${q.shape}"/></code>
+                            <c:if test="${not empty q.slowest}">
+                                <div class="info-text">
+                                    Slowest: ${q.slowest.millis} ms, ${q.slowest.rows} rows,
+                                    params <code><c:out value="${q.slowest.parameters}"/></code>
+                                </div>
+                                <c:if test="${not empty q.slowest.plan}">
+                                    <pre><c:out value="${q.slowest.plan}"/></pre>
+                                </c:if>
+                            </c:if>
+                        </td>
+                        <td>${q.kind}</td>
+                        <td class="num">${q.count}</td>
+                        <td class="num">${q.slowCount}</td>
+                        <td class="num">${q.meanMillis}</td>
+                        <td class="num">${q.maxMillis}</td>
+                        <td class="num">${q.totalMillis}</td>
+                        <td class="num">${q.meanRows}</td>
+                    </tr>
+                </c:forEach>
+                <c:if test="${empty topQueries}">
+                    <tr>
+                        <td colspan="8" class="empty-message">No statements recorded yet</td>
+                    </tr>
+                </c:if>
+            </tbody>
+        </table>
+
+        <h3>Recent slow statements</h3>
+        <table>
+            <thead>
+                <tr>
+                    <th>Time</th>
+                    <th>Statement</th>
+                    <th>ms</th>
+                    <th>Rows</th>
+                </tr>
+            </thead>
+            <tbody>
+                <c:forEach var="s" items="${recentSlow}">
+                    <tr>
+                        <td class="num">${s.time}</td>
+                        <td>
+                            <code><c:out value="${s.shape}"/></code>
+                            <div class="info-text">params <code><c:out value="${s.parameters}"/></code></div>
+                            <c:if test="${not empty s.plan}">
+                                <pre><c:out value="${s.plan}"/></pre>
+                            </c:if>
+                        </td>
+                        <td class="num">${s.millis}</td>
+                        <td class="num">${s.rows}</td>
+                    </tr>
+                </c:forEach>
+                <c:if test="${empty recentSlow}">
+                    <tr>
+                        <td colspan="4" class="empty-message">No statement over ${profiler.slowQueryMillis} ms</td>
+                    </tr>
+                </c:if>
+            </tbody>
+        </table>
+    </div>
+</body>
+</html>
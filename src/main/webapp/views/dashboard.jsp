@@ -1,4 +1,4 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <!DOCTYPE html>
 <html>
@@ -6,177 +6,7 @@
     <meta charset="UTF-8">
     <meta name="viewport" content="width=device-width, initial-scale=1.0">
     <title>Dashboard - Student Management System</title>
-    <style>
-        * {
-            margin: 0;
-            padding: 0;
-            box-sizing: border-box;
-        }
-        
-        body {
-            font-family: 'Segoe UI', Tahoma, Geneva, Verdana, sans-serif;
-            background-color: #f5f5f5;
-        }
-        
-        .navbar {
-            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
-            color: white;
-            padding: 15px 30px;
-            display: flex;
-            justify-content: space-between;
-            align-items: center;
-            box-shadow: 0 2px 10px rgba(0, 0, 0, 0.1);
-        }
-        
-        .navbar h2 {
-            font-size: 24px;
-        }
-        
-        .navbar-right {
-            display: flex;
-            align-items: center;
-            gap: 20px;
-        }
-        
-        .user-info {
-            display: flex;
-            align-items: center;
-            gap: 12px;
-        }
-        
-        .role-badge {
-            padding: 4px 12px;
-            border-radius: 20px;
-            font-size: 12px;
-            font-weight: 600;
-            text-transform: uppercase;
-        }
-        
-        .role-admin {
-            background-color: #ff6b6b;
-            color: white;
-        }
-        
-        .role-user {
-            background-color: #4ecdc4;
-            color: white;
-        }
-        
-        .navbar-right a {
-            color: white;
-            text-decoration: none;
-            padding: 8px 16px;
-            border-radius: 6px;
-            transition: background-color 0.3s;
-        }
-        
-        .navbar-right a:hover {
-            background-color: rgba(255, 255, 255, 0.2);
-        }
-        
-        .container {
-            max-width: 1200px;
-            margin: 30px auto;
-            padding: 0 20px;
-        }
-        
-        .welcome-section {
-            background: white;
-            padding: 30px;
-            border-radius: 10px;
-            box-shadow: 0 2px 10px rgba(0, 0, 0, 0.1);
-            margin-bottom: 30px;
-        }
-        
-        .welcome-section h1 {
-            color: #333;
-            margin-bottom: 10px;
-        }
-        
-        .welcome-section p {
-            color: #666;
-            font-size: 16px;
-        }
-        
-        .stats-grid {
-            display: grid;
-            grid-template-columns: repeat(auto-fit, minmax(250px, 1fr));
-            gap: 20px;
-            margin-bottom: 30px;
-        }
-        
-        .stat-card {
-            background: white;
-            padding: 25px;
-            border-radius: 10px;
-            box-shadow: 0 2px 10px rgba(0, 0, 0, 0.1);
-            text-align: center;
-            transition: transform 0.3s, box-shadow 0.3s;
-        }
-        
-        .stat-card:hover {
-            transform: translateY(-5px);
-            box-shadow: 0 5px 20px rgba(0, 0, 0, 0.15);
-        }
-        
-        .stat-card .icon {
-            font-size: 48px;
-            margin-bottom: 15px;
-        }
-        
-        .stat-card .number {
-            font-size: 36px;
-            font-weight: bold;
-            color: #667eea;
-            margin-bottom: 10px;
-        }
-        
-        .stat-card .label {
-            color: #666;
-            font-size: 14px;
-            text-transform: uppercase;
-            letter-spacing: 1px;
-        }
-        
-        .actions-grid {
-            display: grid;
-            grid-template-columns: repeat(auto-fit, minmax(200px, 1fr));
-            gap: 20px;
-        }
-        
-        .action-card {
-            background: white;
-            padding: 25px;
-            border-radius: 10px;
-            box-shadow: 0 2px 10px rgba(0, 0, 0, 0.1);
-            text-align: center;
-            text-decoration: none;
-            color: #333;
-            transition: transform 0.3s, box-shadow 0.3s;
-            display: block;
-        }
-        
-        .action-card:hover {
-            transform: translateY(-5px);
-            box-shadow: 0 5px 20px rgba(0, 0, 0, 0.15);
-            color: #667eea;
-        }
-        
-        .action-card .icon {
-            font-size: 40px;
-            margin-bottom: 15px;
-        }
-        
-        .action-card h3 {
-            margin-bottom: 10px;
-            font-size: 18px;
-        }
-        
-        .action-card p {
-            color: #666;
-            font-size: 14px;
-        }
-    </style>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/dashboard.css']}">
 </head>
 <body>
     <!-- Navigation Bar -->
@@ -184,9 +14,9 @@
         <h2>📚 Student Management System</h2>
         <div class="navbar-right">
             <div class="user-info">
-                <span>Welcome, ${sessionScope.fullName}</span>
-                <span class="role-badge role-${sessionScope.role}">
-                    ${sessionScope.role}
+                <span>Welcome, ${currentUser.fullName}</span>
+                <span class="role-badge role-${currentUser.role}">
+                    ${currentUser.role}
                 </span>
             </div>
             <a href="student?action=list">Students</a>
@@ -197,7 +27,7 @@
     <div class="container">
         <!-- Welcome Section -->
         <div class="welcome-section">
-            <h1>Welcome back, ${sessionScope.fullName}! 👋</h1>
+            <h1>Welcome back, ${currentUser.fullName}! 👋</h1>
             <p>Manage your students and access all features from this dashboard.</p>
         </div>
         
@@ -208,6 +38,23 @@
                 <div class="number">${totalStudents}</div>
                 <div class="label">Total Students</div>
             </div>
+            <div class="stat-card">
+                <div class="icon">🆕</div>
+                <div class="number">${enrolledLast7Days}</div>
+                <div class="label">New in Last 7 Days</div>
+            </div>
+            <div class="stat-card">
+                <div class="icon">📅</div>
+                <div class="number">${enrolledLast30Days}</div>
+                <div class="label">New in Last 30 Days</div>
+            </div>
+            <c:forEach var="entry" items="${countsByMajor}">
+                <div class="stat-card">
+                    <div class="icon">🎓</div>
+                    <div class="number">${entry.value}</div>
+                    <div class="label">${entry.key}</div>
+                </div>
+            </c:forEach>
         </div>
         
         <!-- Quick Actions -->
@@ -218,12 +65,18 @@
                 <p>Browse and manage all student records</p>
             </a>
             
-            <c:if test="${sessionScope.role eq 'admin'}">
+            <c:if test="${currentUser.role eq 'admin'}">
                 <a href="student?action=new" class="action-card">
                     <div class="icon">➕</div>
                     <h3>Add Student</h3>
                     <p>Create a new student record</p>
                 </a>
+
+                <a href="admin/queries" class="action-card">
+                    <div class="icon">🐢</div>
+                    <h3>Query Profiler</h3>
+                    <p>Slowest SQL statements and their plans</p>
+                </a>
             </c:if>
             
             <a href="dashboard" class="action-card">
@@ -0,0 +1,76 @@
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <meta charset="UTF-8">
+    <title>Import Students</title>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/student-import.css']}">
+</head>
+<body>
+    <div class="container">
+        <h1>📥 Import Students</h1>
+
+        <c:if test="${not empty error}">
+            <div class="alert alert-error">❌ ${error}</div>
+        </c:if>
+
+        <c:if test="${not empty importResult}">
+            <div class="alert alert-success">
+                ✅ Processed ${importResult.total} rows in ${importResult.elapsedMillis} ms:
+                <strong>${importResult.inserted}</strong> inserted,
+                <strong>${importResult.duplicates}</strong> duplicate codes,
+                <strong>${importResult.invalid}</strong> invalid.
+            </div>
+
+            <c:if test="${not empty importResult.invalidRows}">
+                <h2>Invalid rows</h2>
+                <table>
+                    <tr><th>Line</th><th>Code</th><th>Problem</th></tr>
+                    <c:forEach var="row" items="${importResult.invalidRows}">
+                        <tr><td>${row.line}</td><td><c:out value="${row.studentCode}" /></td><td>${row.message}</td></tr>
+                    </c:forEach>
+                </table>
+            </c:if>
+
+            <c:if test="${not empty importResult.duplicateRows}">
+                <h2>Duplicate student codes</h2>
+                <table>
+                    <tr><th>Line</th><th>Code</th><th>Problem</th></tr>
+                    <c:forEach var="row" items="${importResult.duplicateRows}">
+                        <tr><td>${row.line}</td><td><c:out value="${row.studentCode}" /></td><td>${row.message}</td></tr>
+                    </c:forEach>
+                </table>
+            </c:if>
+
+            <c:if test="${importResult.truncated}">
+                <p class="hint">Only the first rejected rows are listed.</p>
+            </c:if>
+        </c:if>
+
+        <%-- The action rides in the query string: the upload is read as a stream, not parsed
+             into parameters, and batchSize comes before the file so it is known when rows arrive --%>
+        <form action="student?action=import" method="POST" enctype="multipart/form-data">
+            <div class="form-group">
+                <label for="batchSize">Batch Size:</label>
+                <input type="number" id="batchSize" name="batchSize" min="1" max="5000" value="${batchSize}">
+                <p class="hint">Rows inserted per database transaction.</p>
+            </div>
+
+            <div class="form-group">
+                <label for="file">CSV File:</label>
+                <input type="file" id="file" name="file" accept=".csv,text/csv" required>
+                <p class="hint">
+                    First line must be a header with <code>student_code</code>, <code>full_name</code>,
+                    <code>email</code> (optional) and <code>major</code> columns.
+                </p>
+            </div>
+
+            <div class="form-actions">
+                <button type="submit" class="btn">Import</button>
+                <a href="student?action=list" class="btn btn-cancel">Back to List</a>
+            </div>
+        </form>
+    </div>
+</body>
+</html>
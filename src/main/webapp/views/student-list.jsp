@@ -1,203 +1,18 @@
-<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8"%>
+<%@ page language="java" contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" session="false"%>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/functions" prefix="fn" %>
+<%@ taglib tagdir="/WEB-INF/tags" prefix="sm" %>
+<%-- The streaming list mode includes this page twice: listPart "header" (up to <tbody>),
+     then "footer" once StudentController has written the rows with student-rows.jsp --%>
+<c:if test="${listPart ne 'footer'}">
 <!DOCTYPE html>
 <html>
 <head>
     <meta charset="UTF-8">
     <title>Student List</title>
-    <style>
-        body {
-            font-family: Arial, sans-serif;
-            margin: 0;
-            padding: 0;
-            background-color: #f5f5f5;
-        }
-        .navbar {
-            background: linear-gradient(135deg, #667eea 0%, #764ba2 100%);
-            color: white;
-            padding: 15px 30px;
-            display: flex;
-            justify-content: space-between;
-            align-items: center;
-            box-shadow: 0 2px 4px rgba(0,0,0,0.1);
-        }
-        .navbar h2 {
-            margin: 0;
-            font-size: 24px;
-        }
-        .navbar-right {
-            display: flex;
-            align-items: center;
-            gap: 20px;
-        }
-        .navbar-right a {
-            color: white;
-            text-decoration: none;
-            padding: 8px 15px;
-            border-radius: 4px;
-            transition: background 0.3s;
-        }
-        .navbar-right a:hover {
-            background: rgba(255,255,255,0.2);
-        }
-        .user-info {
-            display: flex;
-            align-items: center;
-            gap: 10px;
-        }
-        .role-badge {
-            padding: 4px 12px;
-            border-radius: 12px;
-            font-size: 12px;
-            font-weight: bold;
-            text-transform: uppercase;
-        }
-        .role-badge.role-admin {
-            background-color: #ff6b6b;
-        }
-        .role-badge.role-user {
-            background-color: #4ecdc4;
-        }
-        .container {
-            max-width: 1200px;
-            margin: 20px auto;
-            background-color: white;
-            padding: 20px;
-            border-radius: 8px;
-            box-shadow: 0 2px 4px rgba(0,0,0,0.1);
-        }
-        h1 {
-            color: #333;
-            border-bottom: 3px solid #4CAF50;
-            padding-bottom: 10px;
-        }
-        .alert {
-            padding: 12px;
-            border-radius: 4px;
-            margin-bottom: 20px;
-            border: 1px solid;
-        }
-        .alert-success {
-            background-color: #d4edda;
-            color: #155724;
-            border-color: #c3e6cb;
-        }
-        .alert-error {
-            background-color: #f8d7da;
-            color: #721c24;
-            border-color: #f5c6cb;
-        }
-        .btn {
-            display: inline-block;
-            padding: 10px 20px;
-            background-color: #4CAF50;
-            color: white;
-            text-decoration: none;
-            border-radius: 4px;
-            border: none;
-            cursor: pointer;
-        }
-        .btn-secondary {
-            background-color: #2196F3;
-        }
-        .btn-light {
-            background-color: #e0e0e0;
-            color: #333;
-        }
-        .btn:hover {
-            background-color: #45a049;
-        }
-        .btn-secondary:hover {
-            background-color: #0b7dda;
-        }
-        .btn-light:hover {
-            background-color: #cacaca;
-        }
-        .btn-edit {
-            background-color: #2196F3;
-            padding: 6px 12px;
-            font-size: 14px;
-        }
-        .btn-edit:hover {
-            background-color: #0b7dda;
-        }
-        .btn-delete {
-            background-color: #f44336;
-            padding: 6px 12px;
-            font-size: 14px;
-        }
-        .btn-delete:hover {
-            background-color: #da190b;
-        }
-        table {
-            width: 100%;
-            border-collapse: collapse;
-            margin-top: 20px;
-        }
-        th, td {
-            padding: 12px;
-            text-align: left;
-            border-bottom: 1px solid #ddd;
-        }
-        th {
-            background-color: #4CAF50;
-            color: white;
-            font-weight: bold;
-        }
-        tr:hover {
-            background-color: #f5f5f5;
-        }
-        .actions {
-            white-space: nowrap;
-        }
-        .actions a {
-            margin-right: 8px;
-        }
-        .empty-message {
-            text-align: center;
-            padding: 40px;
-            color: #666;
-            font-style: italic;
-        }
-        .controls {
-            display: flex;
-            flex-wrap: wrap;
-            gap: 20px;
-            margin-bottom: 20px;
-            align-items: flex-end;
-        }
-        .search-box, .filter-box {
-            flex: 1;
-            min-width: 280px;
-        }
-        .search-box form,
-        .filter-box form {
-            display: flex;
-            gap: 10px;
-            flex-wrap: wrap;
-            align-items: center;
-        }
-        .search-box input[type="text"],
-        .filter-box select {
-            flex: 1;
-            padding: 10px;
-            border: 1px solid #ddd;
-            border-radius: 4px;
-            font-size: 16px;
-        }
-        .info-text {
-            margin-top: 8px;
-            color: #555;
-        }
-        th a {
-            color: white;
-            text-decoration: none;
-        }
-        .sort-indicator {
-            margin-left: 4px;
-            font-size: 12px;
-        }
-    </style>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/app.css']}">
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/${assets['css/student-list.css']}">
+    <script src="${pageContext.request.contextPath}/${assets['js/student-list.js']}" defer></script>
 </head>
 <body>
     <!-- Navigation Bar -->
@@ -205,9 +20,9 @@
         <h2>📚 Student Management System</h2>
         <div class="navbar-right">
             <div class="user-info">
-                <span>Welcome, ${sessionScope.fullName}</span>
-                <span class="role-badge role-${sessionScope.role}">
-                    ${sessionScope.role}
+                <span>Welcome, ${currentUser.fullName}</span>
+                <span class="role-badge role-${currentUser.role}">
+                    ${currentUser.role}
                 </span>
             </div>
             <a href="dashboard">Dashboard</a>
@@ -228,15 +43,29 @@
             <div class="alert alert-error">❌ ${param.error}</div>
         </c:if>
 
+        <!-- Shown by student-list.js when pushed changes cannot be applied in place -->
+        <div id="live-notice" class="alert live-notice" hidden><span></span><a href="">Reload</a></div>
+
         <!-- Add new student button - Admin only -->
-        <c:if test="${sessionScope.role eq 'admin'}">
+        <c:if test="${currentUser.role eq 'admin'}">
             <a href="student?action=new" class="btn">➕ Add New Student</a>
+            <a href="student?action=import" class="btn btn-secondary">📥 Import CSV</a>
+            <c:url var="exportUrl" value="student">
+                <c:param name="action" value="export" />
+                <c:param name="keyword" value="${keyword}" />
+                <c:param name="major" value="${selectedMajor}" />
+                <c:param name="sortBy" value="${sortBy}" />
+                <c:param name="order" value="${order}" />
+            </c:url>
+            <a href="${exportUrl}&format=csv" class="btn btn-light">⬇️ Export CSV</a>
+            <a href="${exportUrl}&format=json" class="btn btn-light">⬇️ Export JSON</a>
         </c:if>
 
         <div class="controls">
             <div class="search-box">
                 <form action="student" method="get">
                     <input type="hidden" name="action" value="search">
+                    <c:if test="${streaming}"><input type="hidden" name="stream" value="true"></c:if>
                     <input type="text" name="keyword" placeholder="Search by code, name, or email" value="${keyword}">
                     <button type="submit" class="btn btn-secondary">🔍 Search</button>
                     <c:if test="${not empty keyword}">
@@ -251,6 +80,7 @@
             <div class="filter-box">
                 <form action="student" method="get">
                     <input type="hidden" name="action" value="filter">
+                    <c:if test="${streaming}"><input type="hidden" name="stream" value="true"></c:if>
                     <label for="majorFilter">Filter by Major:</label>
                     <select id="majorFilter" name="major">
                         <option value="" ${empty selectedMajor ? 'selected="selected"' : ''}>All Majors</option>
@@ -270,12 +100,45 @@
             </div>
         </div>
 
-        <table>
+        <!-- Bulk actions on the ticked rows - Admin only -->
+        <c:if test="${currentUser.role eq 'admin'}">
+            <div class="bulk-actions">
+                <form id="bulk-form" action="student" method="post">
+                    <span id="bulk-count" class="info-text">0 selected</span>
+                    <input type="text" name="newMajor" placeholder="New major" maxlength="50">
+                    <button type="submit" name="action" value="bulkUpdateMajor" class="btn btn-secondary">Change Major</button>
+                    <button type="submit" name="action" value="bulkDelete" class="btn btn-delete"
+                            onclick="return confirm('Are you sure you want to delete the selected students?')">🗑️ Delete Selected</button>
+                </form>
+                <c:if test="${not empty keyword or not empty selectedMajor}">
+                    <form action="student" method="post"
+                          onsubmit="return confirm('Are you sure you want to delete every student matching this search or filter?')">
+                        <input type="hidden" name="action" value="bulkDeleteMatching">
+                        <input type="hidden" name="keyword" value="<c:out value='${keyword}'/>">
+                        <input type="hidden" name="major" value="<c:out value='${selectedMajor}'/>">
+                        <button type="submit" class="btn btn-delete">🗑️ Delete All Matching</button>
+                    </form>
+                </c:if>
+            </div>
+        </c:if>
+
+        <!-- Live updates: the event stream resumes from the changes made after this page was read -->
+        <c:if test="${not empty eventsSince}">
+            <c:url var="eventsUrl" value="events/students">
+                <c:param name="since" value="${eventsSince}" />
+                <c:param name="major" value="${selectedMajor}" />
+            </c:url>
+        </c:if>
+        <table id="student-table" data-events="${eventsUrl}" data-major="${fn:escapeXml(selectedMajor)}"
+               data-insert="${empty keyword and sortBy eq 'id' and order eq 'desc' and (streaming or empty page.previousCursor)}">
             <thead>
                 <tr>
+                    <c:if test="${currentUser.role eq 'admin'}">
+                        <th class="select"><input type="checkbox" id="select-all" title="Select all"></th>
+                    </c:if>
                     <th>
                         <c:set var="idOrder" value="${sortBy == 'id' && order == 'asc' ? 'desc' : 'asc'}" />
-                        <a href="student?action=sort&sortBy=id&order=${idOrder}">ID
+                        <a href="student?action=sort&sortBy=id&order=${idOrder}${streaming ? '&stream=true' : ''}">ID
                             <c:if test="${sortBy == 'id'}">
                                 <span class="sort-indicator">${order == 'asc' ? '▲' : '▼'}</span>
                             </c:if>
@@ -283,7 +146,7 @@
                     </th>
                     <th>
                         <c:set var="codeOrder" value="${sortBy == 'student_code' && order == 'asc' ? 'desc' : 'asc'}" />
-                        <a href="student?action=sort&sortBy=student_code&order=${codeOrder}">Code
+                        <a href="student?action=sort&sortBy=student_code&order=${codeOrder}${streaming ? '&stream=true' : ''}">Code
                             <c:if test="${sortBy == 'student_code'}">
                                 <span class="sort-indicator">${order == 'asc' ? '▲' : '▼'}</span>
                             </c:if>
@@ -291,7 +154,7 @@
                     </th>
                     <th>
                         <c:set var="nameOrder" value="${sortBy == 'full_name' && order == 'asc' ? 'desc' : 'asc'}" />
-                        <a href="student?action=sort&sortBy=full_name&order=${nameOrder}">Name
+                        <a href="student?action=sort&sortBy=full_name&order=${nameOrder}${streaming ? '&stream=true' : ''}">Name
                             <c:if test="${sortBy == 'full_name'}">
                                 <span class="sort-indicator">${order == 'asc' ? '▲' : '▼'}</span>
                             </c:if>
@@ -299,7 +162,7 @@
                     </th>
                     <th>
                         <c:set var="emailOrder" value="${sortBy == 'email' && order == 'asc' ? 'desc' : 'asc'}" />
-                        <a href="student?action=sort&sortBy=email&order=${emailOrder}">Email
+                        <a href="student?action=sort&sortBy=email&order=${emailOrder}${streaming ? '&stream=true' : ''}">Email
                             <c:if test="${sortBy == 'email'}">
                                 <span class="sort-indicator">${order == 'asc' ? '▲' : '▼'}</span>
                             </c:if>
@@ -307,52 +170,100 @@
                     </th>
                     <th>
                         <c:set var="majorOrder" value="${sortBy == 'major' && order == 'asc' ? 'desc' : 'asc'}" />
-                        <a href="student?action=sort&sortBy=major&order=${majorOrder}">Major
+                        <a href="student?action=sort&sortBy=major&order=${majorOrder}${streaming ? '&stream=true' : ''}">Major
                             <c:if test="${sortBy == 'major'}">
                                 <span class="sort-indicator">${order == 'asc' ? '▲' : '▼'}</span>
                             </c:if>
                         </a>
                     </th>
-                    <c:if test="${sessionScope.role eq 'admin'}">
+                    <c:if test="${currentUser.role eq 'admin'}">
                         <th>Actions</th>
                     </c:if>
                 </tr>
             </thead>
             <tbody>
-                <c:choose>
-                    <c:when test="${not empty students}">
-                        <c:forEach var="student" items="${students}">
-                            <tr>
-                                <td>${student.id}</td>
-                                <td>${student.studentCode}</td>
-                                <td>${student.fullName}</td>
-                                <td>${student.email}</td>
-                                <td>${student.major}</td>
-                                <c:if test="${sessionScope.role eq 'admin'}">
-                                    <td class="actions">
-                                        <a href="student?action=edit&id=${student.id}" class="btn btn-edit">✏️ Edit</a>
-                                        <a href="student?action=delete&id=${student.id}" 
-                                           class="btn btn-delete" 
-                                           onclick="return confirm('Are you sure you want to delete this student?')">🗑️ Delete</a>
-                                    </td>
-                                </c:if>
-                            </tr>
-                        </c:forEach>
-                    </c:when>
-                    <c:otherwise>
+</c:if>
+<c:if test="${empty listPart}">
+                        <jsp:include page="student-rows.jsp" />
+</c:if>
+<c:if test="${listPart ne 'header'}">
+                    <c:if test="${streaming ? streamedRows == 0 : empty students}">
                         <tr>
-                            <td colspan="${sessionScope.role eq 'admin' ? '6' : '5'}" class="empty-message">
+                            <td colspan="${currentUser.role eq 'admin' ? '7' : '5'}" class="empty-message">
                                 No students found. 
-                                <c:if test="${sessionScope.role eq 'admin'}">
+                                <c:if test="${currentUser.role eq 'admin'}">
                                     Click "Add New Student" to get started.
                                 </c:if>
                             </td>
                         </tr>
-                    </c:otherwise>
-                </c:choose>
+                    </c:if>
             </tbody>
         </table>
+
+        <!-- Row markup for live updates, cloned by student-list.js -->
+        <template id="student-row-template">
+            <jsp:useBean id="templateStudent" class="com.student.model.Student" />
+            <sm:student-row student="${templateStudent}" admin="${currentUser.role eq 'admin'}" />
+        </template>
+
+        <!-- All rows on one page: count and a way back to paging -->
+        <c:if test="${streaming}">
+            <div class="pagination">
+                <p class="info-text">Showing all ${streamedRows} students</p>
+                <c:url var="pagedUrl" value="student">
+                    <c:param name="action" value="${listAction}" />
+                    <c:param name="keyword" value="${keyword}" />
+                    <c:param name="major" value="${selectedMajor}" />
+                    <c:param name="sortBy" value="${sortBy}" />
+                    <c:param name="order" value="${order}" />
+                </c:url>
+                <a href="${pagedUrl}" class="btn btn-light">Show pages</a>
+            </div>
+        </c:if>
+
+        <!-- Page navigation (keyset cursors) -->
+        <c:if test="${not streaming and (not empty page.previousCursor or not empty page.nextCursor)}">
+            <div class="pagination">
+                <div>
+                    <c:if test="${not empty page.previousCursor}">
+                        <c:url var="previousUrl" value="student">
+                            <c:param name="action" value="${listAction}" />
+                            <c:param name="keyword" value="${keyword}" />
+                            <c:param name="major" value="${selectedMajor}" />
+                            <c:param name="sortBy" value="${sortBy}" />
+                            <c:param name="order" value="${order}" />
+                            <c:param name="pageSize" value="${pageSize}" />
+                            <c:param name="cursor" value="${page.previousCursor}" />
+                        </c:url>
+                        <a href="${previousUrl}" class="btn btn-light">◀ Previous</a>
+                    </c:if>
+                </div>
+                <div>
+                    <c:if test="${not empty page.nextCursor}">
+                        <c:url var="allUrl" value="student">
+                            <c:param name="action" value="${listAction}" />
+                            <c:param name="keyword" value="${keyword}" />
+                            <c:param name="major" value="${selectedMajor}" />
+                            <c:param name="sortBy" value="${sortBy}" />
+                            <c:param name="order" value="${order}" />
+                            <c:param name="stream" value="true" />
+                        </c:url>
+                        <a href="${allUrl}" class="btn btn-light">Show all</a>
+                        <c:url var="nextUrl" value="student">
+                            <c:param name="action" value="${listAction}" />
+                            <c:param name="keyword" value="${keyword}" />
+                            <c:param name="major" value="${selectedMajor}" />
+                            <c:param name="sortBy" value="${sortBy}" />
+                            <c:param name="order" value="${order}" />
+                            <c:param name="pageSize" value="${pageSize}" />
+                            <c:param name="cursor" value="${page.nextCursor}" />
+                        </c:url>
+                        <a href="${nextUrl}" class="btn btn-light">Next ▶</a>
+                    </c:if>
+                </div>
+            </div>
+        </c:if>
     </div>
 </body>
 </html>
-
+</c:if>
@@ -0,0 +1,15 @@
+<%@ page language="java" pageEncoding="UTF-8" session="false"%>
+<%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
+<%@ taglib tagdir="/WEB-INF/tags" prefix="sm" %>
+<%-- Table rows for ${students}, each from the student-row tag. Included by
+     student-list.jsp, and batch by batch by the streaming list mode (HtmlStudentRowWriter),
+     which also sets rowsMessage for a notice row spanning the table --%>
+<c:set var="admin" value="${currentUser.role eq 'admin'}" />
+<c:forEach var="student" items="${students}">
+    <sm:student-row student="${student}" admin="${admin}" />
+</c:forEach>
+<c:if test="${not empty rowsMessage}">
+                            <tr>
+                                <td colspan="${admin ? '7' : '5'}" class="empty-message"><c:out value="${rowsMessage}" /></td>
+                            </tr>
+</c:if>